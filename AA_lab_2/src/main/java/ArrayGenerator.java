@@ -0,0 +1,281 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Seeded generator for the input arrays used by the sorting benchmarks.
+ * The same (distribution, n, seed) triple always produces the same array, and large
+ * arrays are filled in parallel, one SplittableRandom per fixed-size chunk.
+ */
+public class ArrayGenerator {
+    public enum Distribution {
+        RANDOM,
+        SORTED,
+        REVERSE_SORTED,
+        FEW_UNIQUE,
+        ORGAN_PIPE,
+        SAWTOOTH,
+        K_SORTED,
+        ZIPFIAN,
+        GAUSSIAN,
+        ALL_EQUAL,
+        MEDIAN_OF_3_KILLER
+    }
+
+    // chunk size is fixed so the output does not depend on the number of cores
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    private static final int FEW_UNIQUE_VALUES = 10;
+    private static final int K_SORTED_DISTANCE = 10;
+    private static final int ZIPF_MAX_RANKS = 1 << 16;
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    /**
+     * Generates an array of size n following the given distribution.
+     *
+     * @param distribution The shape of the data
+     * @param n The size of the array
+     * @param seed The seed, equal seeds give equal arrays
+     * @return The generated array
+     */
+    public static int[] generate(Distribution distribution, int n, long seed) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Array size cannot be negative");
+        }
+
+        if (distribution == Distribution.MEDIAN_OF_3_KILLER) {
+            return medianOfThreeKiller(n);
+        }
+
+        int[] arr = new int[n];
+        double[] zipfTable = distribution == Distribution.ZIPFIAN ? zipfCumulative(n) : null;
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (n >= PARALLEL_THRESHOLD) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        chunkIndexes.forEach(c -> {
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(n, from + CHUNK_SIZE);
+            fillChunk(distribution, arr, 0, from, to, n, chunkRandom(seed, c), zipfTable);
+        });
+
+        return arr;
+    }
+
+    /**
+     * Streams the same values as generate(distribution, n, seed) while only holding
+     * one chunk in memory at a time.
+     */
+    public static IntStream stream(Distribution distribution, int n, long seed) {
+        if (distribution == Distribution.MEDIAN_OF_3_KILLER) {
+            return Arrays.stream(medianOfThreeKiller(n));
+        }
+
+        double[] zipfTable = distribution == Distribution.ZIPFIAN ? zipfCumulative(n) : null;
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        return IntStream.range(0, chunks).flatMap(c -> {
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(n, from + CHUNK_SIZE);
+            int[] buffer = new int[to - from];
+            fillChunk(distribution, buffer, -from, from, to, n, chunkRandom(seed, c), zipfTable);
+            return Arrays.stream(buffer);
+        });
+    }
+
+    // every chunk gets its own generator derived from the seed, so chunks can be filled in any order
+    private static SplittableRandom chunkRandom(long seed, int chunk) {
+        return new SplittableRandom(seed + 0x9E3779B97F4A7C15L * (chunk + 1));
+    }
+
+    /**
+     * Fills positions [from, to) of the logical array into dest[from + offset .. to + offset).
+     */
+    private static void fillChunk(Distribution distribution, int[] dest, int offset, int from, int to, int n,
+                                  SplittableRandom random, double[] zipfTable) {
+        switch (distribution) {
+            case RANDOM:
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = random.nextInt();
+                }
+                break;
+            case SORTED:
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = i + 1;
+                }
+                break;
+            case REVERSE_SORTED:
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = n - i;
+                }
+                break;
+            case FEW_UNIQUE:
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = random.nextInt(FEW_UNIQUE_VALUES);
+                }
+                break;
+            case ORGAN_PIPE:
+                // 0, 1, ..., n/2, ..., 1, 0
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = Math.min(i, n - 1 - i);
+                }
+                break;
+            case SAWTOOTH: {
+                int period = Math.max(1, (int) Math.sqrt(n));
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = i % period;
+                }
+                break;
+            }
+            case K_SORTED:
+                // a[i] = i + r with r in [0, k]: only elements less than k apart can be inverted,
+                // so every element is at most k positions away from its sorted position
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = i + random.nextInt(K_SORTED_DISTANCE + 1);
+                }
+                break;
+            case ZIPFIAN:
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = zipfRank(zipfTable, random.nextDouble());
+                }
+                break;
+            case GAUSSIAN: {
+                double deviation = Math.max(1.0, n / 8.0);
+                for (int i = from; i < to; i++) {
+                    dest[i + offset] = (int) Math.round(random.nextGaussian() * deviation);
+                }
+                break;
+            }
+            case ALL_EQUAL:
+                Arrays.fill(dest, from + offset, to + offset, 7);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported distribution: " + distribution);
+        }
+    }
+
+    // cumulative probabilities of ranks 1..r with P(rank) ~ 1 / rank^s
+    private static double[] zipfCumulative(int n) {
+        int ranks = Math.max(1, Math.min(n, ZIPF_MAX_RANKS));
+        double[] cumulative = new double[ranks];
+        double sum = 0;
+
+        for (int r = 0; r < ranks; r++) {
+            sum += 1.0 / Math.pow(r + 1, ZIPF_EXPONENT);
+            cumulative[r] = sum;
+        }
+        for (int r = 0; r < ranks; r++) {
+            cumulative[r] /= sum;
+        }
+
+        return cumulative;
+    }
+
+    private static int zipfRank(double[] cumulative, double u) {
+        int position = Arrays.binarySearch(cumulative, u);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return Math.min(position, cumulative.length - 1);
+    }
+
+    /**
+     * Builds an input that drives QuickSorter.quickSortMot into its quadratic case.
+     * It replays quickSortMot on item ids and decides comparison outcomes lazily
+     * (McIlroy's "antiqsort" adversary), so the result matches the exact pivot
+     * selection and partition scheme in QuickSorter. The construction itself costs
+     * O(n^2), same as the sort it defeats.
+     */
+    public static int[] medianOfThreeKiller(int n) {
+        int[] values = new int[n];
+        int gas = n;
+        Arrays.fill(values, gas);
+
+        int[] items = new int[n];
+        for (int i = 0; i < n; i++) {
+            items[i] = i;
+        }
+
+        Adversary adversary = new Adversary(values, gas);
+
+        // explicit stack instead of recursion, the adversarial recursion depth is linear
+        int[] stack = new int[2 * Math.max(1, n) + 2];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+
+        while (top > 0) {
+            int high = stack[--top];
+            int low = stack[--top];
+            if (low >= high) {
+                continue;
+            }
+
+            // same steps as QuickSorter.medianOfThree
+            int mid = low + (high - low) / 2;
+            if (adversary.less(items[mid], items[low])) QuickSorter.swap(items, low, mid);
+            if (adversary.less(items[high], items[low])) QuickSorter.swap(items, low, high);
+            if (adversary.less(items[high], items[mid])) QuickSorter.swap(items, mid, high);
+
+            // same steps as QuickSorter.partitionMot
+            int pivot = items[mid];
+            QuickSorter.swap(items, mid, high);
+            int i = low - 1;
+            for (int j = low; j < high; j++) {
+                if (adversary.less(items[j], pivot)) {
+                    i++;
+                    QuickSorter.swap(items, i, j);
+                }
+            }
+            QuickSorter.swap(items, i + 1, high);
+            int pivotIndex = i + 1;
+
+            stack[top++] = low;
+            stack[top++] = pivotIndex - 1;
+            stack[top++] = pivotIndex + 1;
+            stack[top++] = high;
+        }
+
+        // anything still undecided is larger than every frozen value
+        for (int i = 0; i < n; i++) {
+            if (values[i] == gas) {
+                values[i] = adversary.nextSolid++;
+            }
+        }
+
+        return values;
+    }
+
+    private static class Adversary {
+        final int[] values;
+        final int gas;
+        int nextSolid;
+        int candidate = -1;
+
+        Adversary(int[] values, int gas) {
+            this.values = values;
+            this.gas = gas;
+        }
+
+        boolean less(int x, int y) {
+            if (values[x] == gas && values[y] == gas) {
+                if (x == candidate) {
+                    values[x] = nextSolid++;
+                } else {
+                    values[y] = nextSolid++;
+                }
+            }
+
+            if (values[x] == gas) {
+                candidate = x;
+            } else if (values[y] == gas) {
+                candidate = y;
+            }
+
+            return values[x] < values[y];
+        }
+    }
+}
@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -14,6 +13,9 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 public class Main {
+    // same seed -> same arrays, so runs can be compared with each other
+    public static final long SEED = 42;
+
     public static void main(String[] args) {
         ///Change Array here
 
@@ -50,35 +52,24 @@ public class Main {
         //functNames.add("Insertion Sort");
         functNames.add("Shell Sort");
 
-        measureAndPlotExecutionTime(sorters, functNames, nValues);
+        ///Change distribution here
+        //// RANDOM, SORTED, REVERSE_SORTED, FEW_UNIQUE, ORGAN_PIPE, SAWTOOTH, K_SORTED,
+        //// ZIPFIAN, GAUSSIAN, ALL_EQUAL, MEDIAN_OF_3_KILLER (the killer is O(n^2) to build, keep n small)
+        ArrayGenerator.Distribution distribution = ArrayGenerator.Distribution.RANDOM;
+
+        measureAndPlotExecutionTime(sorters, functNames, nValues, distribution);
     }
 
     public static int[] randomArray(int n) {
-        Random random = new Random();
-        int[] randomNumbers = new int[n];
-
-        for (int i = 0; i < n; i++) {
-            int randomNumber = random.nextInt();
-            randomNumbers[i] = randomNumber;
-        }
-
-        return randomNumbers;
+        return ArrayGenerator.generate(ArrayGenerator.Distribution.RANDOM, n, SEED);
     }
 
     public static int[] sortedArray(int n) {
-        int[] arr = new int[n];
-        for (int i = 0; i < n; i++) {
-            arr[i] = i + 1;
-        }
-        return arr;
+        return ArrayGenerator.generate(ArrayGenerator.Distribution.SORTED, n, SEED);
     }
 
     public static int[] reverseSortedArray(int n) {
-        int[] arr = new int[n];
-        for (int i = 0; i < n; i++) {
-            arr[i] = n - i;
-        }
-        return arr;
+        return ArrayGenerator.generate(ArrayGenerator.Distribution.REVERSE_SORTED, n, SEED);
     }
 
 
@@ -95,7 +86,8 @@ public class Main {
         return elapsedTime;
     }
 
-    public static void measureAndPlotExecutionTime(List<Consumer<int[]>> functions, List<String> funcNames, int[] nValues) {
+    public static void measureAndPlotExecutionTime(List<Consumer<int[]>> functions, List<String> funcNames, int[] nValues,
+                                                   ArrayGenerator.Distribution distribution) {
         double[] executionTimes = new double[nValues.length];
 
         if (functions.size() != funcNames.size()) {
@@ -109,7 +101,7 @@ public class Main {
             seriesArray[i] = new XYSeries(funcNames.get(i));
         }
 
-        System.out.printf("Execution time (ms):\n");
+        System.out.printf("Execution time (ms) on " + distribution + " arrays:\n");
         System.out.printf("%21s", "n values:");
         for (int h = 0; h < nValues.length; h++) {
             int exponent = (int) Math.floor(Math.log10(nValues[h]));
@@ -124,8 +116,8 @@ public class Main {
             String funcName = funcNames.get(j);
 
             for (int i = 0; i < nValues.length; i++) {
-                ///Chage function here
-                int[] arr = randomArray(nValues[i]);
+                // same seed for every sorter, so they all get identical data
+                int[] arr = ArrayGenerator.generate(distribution, nValues[i], SEED);
 
                 double executionTime = measureTime(arr, func, funcName);
                 executionTimes[i] = executionTime;
@@ -0,0 +1,49 @@
+package lab_3.BFS;
+
+/**
+ * Output of the BFS engines that work on vertex ids.
+ * Unreached vertices have level -1 and parent -1; the source is its own parent.
+ */
+public class BFSResult {
+    private final int[] levels;
+    private final int[] parents;
+    private final int maxFrontier;
+    private final int visitedCount;
+    private final int depth;
+
+    public BFSResult(int[] levels, int[] parents, int maxFrontier, int visitedCount, int depth) {
+        this.levels = levels;
+        this.parents = parents;
+        this.maxFrontier = maxFrontier;
+        this.visitedCount = visitedCount;
+        this.depth = depth;
+    }
+
+    public int[] getLevels() {
+        return levels;
+    }
+
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * @return The size of the largest level. The FIFO queue of BreadthFirstSearch.bfs holds
+     * the tail of one level plus the head of the next one, so its maximum size is at least
+     * this value and at most the sum of two consecutive levels.
+     */
+    public int getMaxFrontier() {
+        return maxFrontier;
+    }
+
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * @return The number of levels, i.e. the eccentricity of the source plus one
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
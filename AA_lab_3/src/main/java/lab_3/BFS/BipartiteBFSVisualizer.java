@@ -11,7 +11,7 @@ import java.util.*;
 import java.util.List;
 
 import static lab_3.BFS.BreadthFirstSearch.bfsWithOutput;
-import static lab_3.Bipartite.BipartiteGraphGenerator.getBipartitePartitions;
+import static lab_3.Bipartite.TwoColoring.getBipartitePartitions;
 
 /**
  * A specialized visualizer for BFS traversal on bipartite graphs that renders the two vertex sets
@@ -594,7 +594,7 @@ public class BipartiteBFSVisualizer extends JFrame {
         // Cast to String for visualization
         String start = (String) startNode;
 
-        Set<String>[] partitions = getBipartitePartitions(graph);
+        Set<String>[] partitions = getBipartitePartitions(graph, start);
 
         BipartiteVisualizeBFS(graph, start, partitions);
     }
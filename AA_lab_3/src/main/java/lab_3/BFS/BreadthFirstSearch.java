@@ -34,6 +34,17 @@ public class BreadthFirstSearch {
         return maxQueueSize;
     }
 
+    /**
+     * Direction-optimizing BFS on the id snapshot of the graph (see DirectionOptimizingBFS).
+     * The snapshot is built on every call; to time only the search, build it once with
+     * IndexedGraph.of and call DirectionOptimizingBFS.search directly.
+     *
+     * @return The size of the largest BFS level
+     */
+    public static <V> int bfsDirectionOptimizing(Graph<V> graph, V startNode) {
+        return DirectionOptimizingBFS.search(graph, startNode).getMaxFrontier();
+    }
+
     public static <V> int bfsWithOutput(Graph<V> graph, V startNode) {
         Set<V> visited = new HashSet<>();
         Queue<V> queue = new LinkedList<>();
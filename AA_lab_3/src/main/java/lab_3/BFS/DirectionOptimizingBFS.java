@@ -0,0 +1,179 @@
+package lab_3.BFS;
+
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Direction-optimizing BFS (Beamer, Asanovic, Patterson).
+ *
+ * Small frontiers are expanded top-down (every frontier vertex scans its out-edges).
+ * Once the frontier has more outgoing edges than the unexplored part of the graph / alpha,
+ * the search switches to bottom-up: every unvisited vertex scans its in-edges and stops at
+ * the first parent found in the frontier. On dense graphs that skips most of the edges the
+ * middle levels would otherwise check. It switches back to top-down when the frontier
+ * shrinks below n / beta.
+ */
+public class DirectionOptimizingBFS {
+    // default tuning values from the original paper
+    public static final int ALPHA = 14;
+    public static final int BETA = 24;
+
+    /**
+     * Runs the search on a Graph by first building its id snapshot.
+     *
+     * @param graph The graph to search
+     * @param startNode The source vertex
+     * @param <V> Type of vertices
+     * @return The levels and parents, indexed by the ids of IndexedGraph.of(graph)
+     */
+    public static <V> BFSResult search(Graph<V> graph, V startNode) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int source = indexed.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start vertex not found in graph");
+        }
+        return search(indexed, source);
+    }
+
+    public static BFSResult search(IndexedGraph<?> graph, int source) {
+        return search(graph, source, ALPHA, BETA);
+    }
+
+    /**
+     * @param graph The CSR graph
+     * @param source The source id
+     * @param alpha Switch to bottom-up when frontier edges > unexplored edges / alpha
+     * @param beta Switch back to top-down when the frontier has fewer than n / beta vertices
+     * @return The levels and parents of every vertex
+     */
+    public static BFSResult search(IndexedGraph<?> graph, int source, int alpha, int beta) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source id out of range");
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(levels, -1);
+        Arrays.fill(parents, -1);
+
+        long[] visited = new long[(n + 63) >>> 6];
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        long[] frontierBits = null;
+        long[] nextBits = null;
+
+        levels[source] = 0;
+        parents[source] = source;
+        visited[source >>> 6] |= 1L << source;
+        frontier[0] = source;
+        int frontierSize = 1;
+        int visitedCount = 1;
+        int maxFrontier = 1;
+        int level = 0;
+
+        // edges leaving the current frontier and edges leaving still unvisited vertices
+        long scoutCount = graph.degree(source);
+        long edgesToCheck = graph.edgeCount() - scoutCount;
+
+        while (frontierSize > 0) {
+            if (scoutCount > edgesToCheck / alpha) {
+                IndexedGraph<?> incoming = graph.transpose();
+                int[] inOffsets = incoming.getOffsets();
+                int[] inTargets = incoming.getTargets();
+
+                if (frontierBits == null) {
+                    frontierBits = new long[visited.length];
+                    nextBits = new long[visited.length];
+                }
+                Arrays.fill(frontierBits, 0);
+                for (int i = 0; i < frontierSize; i++) {
+                    int v = frontier[i];
+                    frontierBits[v >>> 6] |= 1L << v;
+                }
+
+                int previousSize;
+                do {
+                    previousSize = frontierSize;
+                    Arrays.fill(nextBits, 0);
+                    frontierSize = 0;
+
+                    for (int word = 0; word < visited.length; word++) {
+                        long unvisited = ~visited[word];
+                        while (unvisited != 0) {
+                            int v = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                            unvisited &= unvisited - 1;
+                            if (v >= n) {
+                                break;
+                            }
+
+                            for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                                int u = inTargets[e];
+                                if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                                    parents[v] = u;
+                                    levels[v] = level + 1;
+                                    visited[word] |= 1L << v;
+                                    nextBits[word] |= 1L << v;
+                                    frontierSize++;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+
+                    long[] swap = frontierBits;
+                    frontierBits = nextBits;
+                    nextBits = swap;
+                    level++;
+                    visitedCount += frontierSize;
+                    maxFrontier = Math.max(maxFrontier, frontierSize);
+                } while (frontierSize > 0 && (frontierSize >= previousSize || frontierSize > n / beta));
+
+                // back to a queue for the top-down steps
+                frontierSize = 0;
+                for (int word = 0; word < frontierBits.length; word++) {
+                    long bits = frontierBits[word];
+                    while (bits != 0) {
+                        frontier[frontierSize++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                    }
+                }
+
+                scoutCount = 1;
+            } else {
+                edgesToCheck -= scoutCount;
+                scoutCount = 0;
+                int nextSize = 0;
+
+                for (int i = 0; i < frontierSize; i++) {
+                    int u = frontier[i];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = targets[e];
+                        if ((visited[v >>> 6] & (1L << v)) == 0) {
+                            visited[v >>> 6] |= 1L << v;
+                            parents[v] = u;
+                            levels[v] = level + 1;
+                            next[nextSize++] = v;
+                            scoutCount += offsets[v + 1] - offsets[v];
+                        }
+                    }
+                }
+
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+                frontierSize = nextSize;
+                level++;
+                visitedCount += nextSize;
+                maxFrontier = Math.max(maxFrontier, nextSize);
+            }
+        }
+
+        return new BFSResult(levels, parents, maxFrontier, visitedCount, level);
+    }
+}
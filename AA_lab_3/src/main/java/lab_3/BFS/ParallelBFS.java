@@ -0,0 +1,195 @@
+package lab_3.BFS;
+
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous parallel BFS.
+ *
+ * Every level the frontier is cut into chunks that are expanded in parallel on a ForkJoinPool.
+ * Each chunk writes the vertices it discovers into its own buffer, and the buffers are
+ * concatenated into the next frontier once all chunks are done (the level barrier).
+ * A vertex is claimed with a CAS on a shared AtomicLongArray bitmap, so exactly one chunk
+ * discovers it and writes its level and parent.
+ */
+public class ParallelBFS {
+    // frontiers smaller than this are expanded on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+    // chunks per pool thread, a few more than one helps with skewed degrees
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    public static <V> BFSResult search(Graph<V> graph, V startNode) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int source = indexed.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start vertex not found in graph");
+        }
+        return search(indexed, source, ForkJoinPool.commonPool());
+    }
+
+    public static BFSResult search(IndexedGraph<?> graph, int source) {
+        return search(graph, source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph The CSR graph
+     * @param source The source id
+     * @param pool The pool that expands the frontiers
+     * @return The levels and parents of every vertex
+     */
+    public static BFSResult search(IndexedGraph<?> graph, int source, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source id out of range");
+        }
+
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(levels, -1);
+        Arrays.fill(parents, -1);
+
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        visited.set(source >>> 6, 1L << source);
+        levels[source] = 0;
+        parents[source] = source;
+
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        frontier[0] = source;
+        int frontierSize = 1;
+        int visitedCount = 1;
+        int maxFrontier = 1;
+        int level = 0;
+
+        int chunkCount = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<LevelChunk> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            chunks.add(new LevelChunk(graph, visited, levels, parents));
+        }
+
+        while (frontierSize > 0) {
+            int nextSize;
+
+            if (frontierSize < SEQUENTIAL_THRESHOLD) {
+                LevelChunk chunk = chunks.get(0);
+                chunk.prepare(frontier, 0, frontierSize, level + 1);
+                chunk.compute();
+                System.arraycopy(chunk.buffer, 0, next, 0, chunk.size);
+                nextSize = chunk.size;
+            } else {
+                int used = Math.min(chunkCount, (frontierSize + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+                int step = (frontierSize + used - 1) / used;
+                List<LevelChunk> tasks = new ArrayList<>(used);
+                for (int c = 0; c < used; c++) {
+                    int from = c * step;
+                    int to = Math.min(frontierSize, from + step);
+                    if (from >= to) {
+                        break;
+                    }
+                    LevelChunk chunk = chunks.get(c);
+                    chunk.prepare(frontier, from, to, level + 1);
+                    tasks.add(chunk);
+                }
+
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+
+                // level barrier: concatenate the local buffers
+                nextSize = 0;
+                for (LevelChunk chunk : tasks) {
+                    System.arraycopy(chunk.buffer, 0, next, nextSize, chunk.size);
+                    nextSize += chunk.size;
+                }
+            }
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            level++;
+            visitedCount += nextSize;
+            maxFrontier = Math.max(maxFrontier, nextSize);
+        }
+
+        return new BFSResult(levels, parents, maxFrontier, visitedCount, level);
+    }
+
+    /**
+     * Expands frontier[from..to) into its own buffer. The buffer is kept between levels
+     * and only grows, so steady-state levels do not allocate.
+     */
+    private static class LevelChunk extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicLongArray visited;
+        private final int[] levels;
+        private final int[] parents;
+
+        private int[] frontier;
+        private int from;
+        private int to;
+        private int nextLevel;
+        private int[] buffer = new int[64];
+        private int size;
+
+        LevelChunk(IndexedGraph<?> graph, AtomicLongArray visited, int[] levels, int[] parents) {
+            this.offsets = graph.getOffsets();
+            this.targets = graph.getTargets();
+            this.visited = visited;
+            this.levels = levels;
+            this.parents = parents;
+        }
+
+        void prepare(int[] frontier, int from, int to, int nextLevel) {
+            reinitialize();
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.nextLevel = nextLevel;
+            this.size = 0;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (claim(v)) {
+                        levels[v] = nextLevel;
+                        parents[v] = u;
+                        if (size == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, size * 2);
+                        }
+                        buffer[size++] = v;
+                    }
+                }
+            }
+        }
+
+        // test-and-set on the bitmap; a plain read first avoids the CAS for visited vertices
+        private boolean claim(int v) {
+            int word = v >>> 6;
+            long bit = 1L << v;
+            long current = visited.get(word);
+            while ((current & bit) == 0) {
+                if (visited.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+                current = visited.get(word);
+            }
+            return false;
+        }
+    }
+}
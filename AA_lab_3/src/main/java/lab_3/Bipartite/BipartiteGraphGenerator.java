@@ -298,23 +298,6 @@ public class BipartiteGraphGenerator {
         return generateConnectedBipartiteGraph(n, m, sizeOfU, labels);
     }
 
-    @SuppressWarnings("unchecked")
-    public static <V> Set<V>[] getBipartitePartitions(Graph<V> graph) {
-        Set<V> setU = new HashSet<>();
-        Set<V> setV = new HashSet<>();
-
-        for (V vertex : graph.getVertices()) {
-            String name = vertex.toString();
-            if (name.startsWith("U")) {
-                setU.add(vertex);
-            } else if (name.startsWith("V")) {
-                setV.add(vertex);
-            }
-        }
-
-        return new Set[]{setU, setV};
-    }
-
     public static void main(String[] args) {
         try {
             // Generate a bipartite graph with 10 vertices (4 in set U, 6 in set V) and 15 edges
@@ -323,7 +306,7 @@ public class BipartiteGraphGenerator {
             System.out.println("Generated random connected bipartite graph:");
             bipartiteGraph.printGraph();
 
-            Set<String>[] partitions = getBipartitePartitions(bipartiteGraph);
+            Set<String>[] partitions = TwoColoring.getBipartitePartitions(bipartiteGraph);
             System.out.println("Set U: " + partitions[0]);
             System.out.println("Set V: " + partitions[1]);
             javax.swing.SwingUtilities.invokeLater(() ->
@@ -0,0 +1,408 @@
+package lab_3.Bipartite;
+
+import lab_3.Graph.ComponentLabeling;
+import lab_3.Graph.ConnectedComponents;
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bipartiteness test on IndexedGraph ids: every component is 2-colored by the parity of its
+ * BFS levels from its smallest id, which lands in side U. Edge direction is ignored.
+ *
+ * If some edge joins two vertices of equal parity the graph is not bipartite, and the two BFS
+ * tree paths from its endpoints up to their common ancestor close an odd cycle, which is
+ * returned as the witness.
+ */
+public class TwoColoring {
+    // frontiers and vertex ranges smaller than this are handled on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+    // chunks per pool thread, a few more than one helps with skewed degrees
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final boolean[] inU;
+    private final int[] oddCycle;
+
+    private TwoColoring(boolean[] inU, int[] oddCycle) {
+        this.inU = inU;
+        this.oddCycle = oddCycle;
+    }
+
+    public static TwoColoring sequential(IndexedGraph<?> graph) {
+        return sequential(graph, 0);
+    }
+
+    /**
+     * Sequential BFS over all components, stopping at the first odd cycle.
+     *
+     * @param graph The CSR graph
+     * @param first Id colored first, so it lands in side U whatever its position
+     * @return The coloring, or the odd cycle
+     */
+    public static TwoColoring sequential(IndexedGraph<?> graph, int first) {
+        int n = graph.vertexCount();
+        int[][] adjacency = undirectedAdjacency(graph);
+        int[] offsets = adjacency[0];
+        int[] targets = adjacency[1];
+
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(levels, -1);
+
+        for (int i = -1; i < n; i++) {
+            int start = i == -1 ? first : i;
+            if (start >= n || levels[start] != -1) {
+                continue;
+            }
+            levels[start] = 0;
+            parents[start] = start;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int x = queue[head++];
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int y = targets[e];
+                    if (levels[y] == -1) {
+                        levels[y] = levels[x] + 1;
+                        parents[y] = x;
+                        queue[tail++] = y;
+                    } else if (((levels[x] ^ levels[y]) & 1) == 0) {
+                        return new TwoColoring(null, oddCycle(parents, x, y));
+                    }
+                }
+            }
+        }
+
+        return new TwoColoring(sides(levels), null);
+    }
+
+    public static TwoColoring parallel(IndexedGraph<?> graph) {
+        return parallel(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel version for large graphs: the components are labeled with the parallel union-find,
+     * a level-synchronous BFS starts from the smallest id of all of them at once, and the edges
+     * are then checked for equal parity in parallel.
+     *
+     * @param graph The CSR graph
+     * @param pool The pool running the BFS levels and the edge check
+     * @return The same coloring as sequential, or an odd cycle
+     */
+    public static TwoColoring parallel(IndexedGraph<?> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[][] adjacency = undirectedAdjacency(graph);
+        int[] offsets = adjacency[0];
+        int[] targets = adjacency[1];
+
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(levels, -1);
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+
+        // components are numbered in order of their smallest id, so the first vertex seen with
+        // the next label is the root of that component
+        ComponentLabeling components = ConnectedComponents.parallel(graph, pool);
+        int[] labels = components.getLabels();
+        int[] frontier = new int[n];
+        int frontierSize = 0;
+        for (int v = 0; v < n; v++) {
+            if (labels[v] == frontierSize) {
+                levels[v] = 0;
+                parents[v] = v;
+                visited.set(v >>> 6, visited.get(v >>> 6) | (1L << v));
+                frontier[frontierSize++] = v;
+            }
+        }
+
+        int[] next = new int[n];
+        int chunkCount = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<LevelChunk> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            chunks.add(new LevelChunk(offsets, targets, visited, levels, parents));
+        }
+
+        while (frontierSize > 0) {
+            int used = frontierSize < SEQUENTIAL_THRESHOLD ? 1
+                    : Math.min(chunkCount, (frontierSize + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+            int step = (frontierSize + used - 1) / used;
+            List<LevelChunk> tasks = new ArrayList<>(used);
+            for (int c = 0; c < used && c * step < frontierSize; c++) {
+                LevelChunk chunk = chunks.get(c);
+                chunk.prepare(frontier, c * step, Math.min(frontierSize, (c + 1) * step));
+                tasks.add(chunk);
+            }
+
+            if (tasks.size() == 1) {
+                tasks.get(0).compute();
+            } else {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+            }
+
+            // level barrier: concatenate the local buffers
+            int nextSize = 0;
+            for (LevelChunk chunk : tasks) {
+                System.arraycopy(chunk.buffer, 0, next, nextSize, chunk.size);
+                nextSize += chunk.size;
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+
+        AtomicInteger conflict = new AtomicInteger(-1);
+        pool.invoke(new ParityCheck(offsets, targets, levels, conflict, 0, n));
+        int x = conflict.get();
+        if (x == -1) {
+            return new TwoColoring(sides(levels), null);
+        }
+        for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+            if (((levels[x] ^ levels[targets[e]]) & 1) == 0) {
+                return new TwoColoring(null, oddCycle(parents, x, targets[e]));
+            }
+        }
+        throw new IllegalStateException("Conflicting vertex has no conflicting edge");
+    }
+
+    /**
+     * Partitions of a bipartite graph, found by 2-coloring its structure.
+     *
+     * @return {U, V}, U holding the smallest id of every component
+     * @throws IllegalArgumentException if the graph has an odd cycle
+     */
+    public static <V> Set<V>[] getBipartitePartitions(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        return sequential(indexed).toPartitions(indexed);
+    }
+
+    /**
+     * @param anchor Vertex whose component is oriented so that it lands in U, e.g. a traversal's start
+     */
+    public static <V> Set<V>[] getBipartitePartitions(Graph<V> graph, V anchor) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int first = indexed.indexOf(anchor);
+        if (first < 0) {
+            throw new IllegalArgumentException("Anchor vertex not found in graph");
+        }
+        return sequential(indexed, first).toPartitions(indexed);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the graph has an odd cycle
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Set<V>[] toPartitions(IndexedGraph<V> graph) {
+        if (!isBipartite()) {
+            List<V> cycle = new ArrayList<>();
+            for (int v : oddCycle) {
+                cycle.add(graph.vertexAt(v));
+            }
+            throw new IllegalArgumentException("Graph is not bipartite, odd cycle: " + cycle);
+        }
+        Set<V> setU = new HashSet<>();
+        Set<V> setV = new HashSet<>();
+        for (int v = 0; v < inU.length; v++) {
+            (inU[v] ? setU : setV).add(graph.vertexAt(v));
+        }
+        return new Set[]{setU, setV};
+    }
+
+    public boolean isBipartite() {
+        return oddCycle == null;
+    }
+
+    /**
+     * @return Side of every id, true for U; null if the graph is not bipartite
+     */
+    public boolean[] getSides() {
+        return inU;
+    }
+
+    /**
+     * @return Ids of an odd cycle in order, the last one adjacent to the first; null if the graph is bipartite
+     */
+    public int[] getOddCycle() {
+        return oddCycle;
+    }
+
+    private static boolean[] sides(int[] levels) {
+        boolean[] inU = new boolean[levels.length];
+        for (int v = 0; v < levels.length; v++) {
+            inU[v] = (levels[v] & 1) == 0;
+        }
+        return inU;
+    }
+
+    /**
+     * Edge x - y joins two vertices of equal parity, hence of equal level: climbing the BFS tree
+     * from both in lockstep meets at their common ancestor after the same number of steps,
+     * so x .. ancestor .. y has an odd number of vertices.
+     */
+    private static int[] oddCycle(int[] parents, int x, int y) {
+        int steps = 0;
+        for (int a = x, b = y; a != b; a = parents[a], b = parents[b]) {
+            steps++;
+        }
+        int[] cycle = new int[2 * steps + 1];
+        int a = x;
+        int b = y;
+        for (int i = 0; i < steps; i++) {
+            cycle[i] = a;
+            cycle[2 * steps - i] = b;
+            a = parents[a];
+            b = parents[b];
+        }
+        cycle[steps] = a;
+        return cycle;
+    }
+
+    /**
+     * Edges stored in both directions, the graph itself when it is undirected.
+     */
+    private static int[][] undirectedAdjacency(IndexedGraph<?> graph) {
+        if (!graph.isDirected()) {
+            return new int[][]{graph.getOffsets(), graph.getTargets()};
+        }
+        IndexedGraph<?> reverse = graph.transpose();
+        int n = graph.vertexCount();
+        int[] forwardOffsets = graph.getOffsets();
+        int[] forwardTargets = graph.getTargets();
+        int[] reverseOffsets = reverse.getOffsets();
+        int[] reverseTargets = reverse.getTargets();
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[2 * forwardTargets.length];
+        for (int v = 0; v < n; v++) {
+            int forward = forwardOffsets[v + 1] - forwardOffsets[v];
+            int backward = reverseOffsets[v + 1] - reverseOffsets[v];
+            System.arraycopy(forwardTargets, forwardOffsets[v], targets, offsets[v], forward);
+            System.arraycopy(reverseTargets, reverseOffsets[v], targets, offsets[v] + forward, backward);
+            offsets[v + 1] = offsets[v] + forward + backward;
+        }
+        return new int[][]{offsets, targets};
+    }
+
+    /**
+     * Expands frontier[from..to) into its own buffer; a vertex is claimed with a CAS on
+     * the shared bitmap, so exactly one chunk writes its level and parent.
+     */
+    private static class LevelChunk extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicLongArray visited;
+        private final int[] levels;
+        private final int[] parents;
+        private int[] frontier;
+        private int from;
+        private int to;
+        private int[] buffer = new int[64];
+        private int size;
+
+        LevelChunk(int[] offsets, int[] targets, AtomicLongArray visited, int[] levels, int[] parents) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.visited = visited;
+            this.levels = levels;
+            this.parents = parents;
+        }
+
+        void prepare(int[] frontier, int from, int to) {
+            reinitialize();
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.size = 0;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                int x = frontier[i];
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int y = targets[e];
+                    if (claim(y)) {
+                        levels[y] = levels[x] + 1;
+                        parents[y] = x;
+                        if (size == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, size * 2);
+                        }
+                        buffer[size++] = y;
+                    }
+                }
+            }
+        }
+
+        // test-and-set on the bitmap; a plain read first avoids the CAS for visited vertices
+        private boolean claim(int v) {
+            int word = v >>> 6;
+            long bit = 1L << v;
+            long current = visited.get(word);
+            while ((current & bit) == 0) {
+                if (visited.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+                current = visited.get(word);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Looks for a vertex of [from, to) with a neighbor of equal parity, splitting the range in halves.
+     */
+    private static class ParityCheck extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] levels;
+        private final AtomicInteger conflict;
+        private final int from;
+        private final int to;
+
+        ParityCheck(int[] offsets, int[] targets, int[] levels, AtomicInteger conflict, int from, int to) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.levels = levels;
+            this.conflict = conflict;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (conflict.get() != -1) {
+                return;
+            }
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParityCheck(offsets, targets, levels, conflict, from, middle),
+                        new ParityCheck(offsets, targets, levels, conflict, middle, to));
+                return;
+            }
+            for (int x = from; x < to; x++) {
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    if (((levels[x] ^ levels[targets[e]]) & 1) == 0) {
+                        conflict.compareAndSet(-1, x);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
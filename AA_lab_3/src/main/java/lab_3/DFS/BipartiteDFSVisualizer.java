@@ -10,7 +10,7 @@ import java.awt.event.*;
 import java.util.*;
 import java.util.List;
 
-import static lab_3.Bipartite.BipartiteGraphGenerator.getBipartitePartitions;
+import static lab_3.Bipartite.TwoColoring.getBipartitePartitions;
 import static lab_3.DFS.DepthFirstSearch.dfsWithOutput;
 
 /**
@@ -596,7 +596,7 @@ public class BipartiteDFSVisualizer extends JFrame {
         // Cast to String for visualization
         String start = (String) startNode;
 
-        Set<String>[] partitions = getBipartitePartitions(graph);
+        Set<String>[] partitions = getBipartitePartitions(graph, start);
 
         BipartiteVisualizeDFS(graph, start, partitions);
     }
@@ -2,6 +2,7 @@ package lab_3.DFS;
 
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphVisualizer;
 import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
 
 import javax.swing.*;
 import java.util.*;
@@ -37,6 +38,21 @@ public class DepthFirstSearch {
         return maxStackSize;
     }
 
+    /**
+     * Real DFS order (vertices are marked when entered, not when pushed) on the id snapshot
+     * of the graph, see IterativeDFS.
+     *
+     * @return The maximum stack depth, which for a real DFS is the length of the longest tree path
+     */
+    public static <V> int dfsIterative(Graph<V> graph, V startNode) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int source = indexed.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start vertex not found in graph");
+        }
+        return new IterativeDFS(indexed).search(source).getMaxStackDepth();
+    }
+
     public static <V> int dfsWithOutput(Graph<V> graph, V startNode) {
         Set<V> visited = new HashSet<>();
         Stack<V> stack = new Stack<>();
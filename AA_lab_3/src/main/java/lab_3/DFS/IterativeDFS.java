@@ -0,0 +1,254 @@
+package lab_3.DFS;
+
+import lab_3.Graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first search over the ids of an IndexedGraph, without recursion and without boxing.
+ *
+ * Unlike DepthFirstSearch.dfs, a vertex is marked when it is actually entered (not when it
+ * is pushed), so the visit order, the discovery/finish times and the tree are the ones of a
+ * real recursive DFS. The explicit stack holds vertex ids and every vertex keeps a cursor
+ * into its CSR adjacency range, so a step costs O(1) and allocates nothing.
+ *
+ * Times come from one clock shared by discovery and finish events (0 .. 2n - 1), so
+ * u is an ancestor of v exactly when discovery[u] < discovery[v] < finish[v] < finish[u].
+ *
+ * The engine keeps its state between searches: calling search on several roots (or
+ * searchAll) builds a DFS forest. Call reset() to start over.
+ */
+public class IterativeDFS {
+    public static final byte UNCLASSIFIED = 0;
+    public static final byte TREE = 1;
+    public static final byte BACK = 2;
+    public static final byte FORWARD = 3;
+    public static final byte CROSS = 4;
+
+    /**
+     * Callbacks fired during the search. Implementations are called on the hot path,
+     * so they should not allocate either.
+     */
+    public interface Visitor {
+        default void discover(int vertex, int parent) {
+        }
+
+        default void finish(int vertex, int parent) {
+        }
+
+        default void edge(int from, int to, int edgeIndex, byte type) {
+        }
+    }
+
+    private static final Visitor NO_VISITOR = new Visitor() {
+    };
+
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final boolean isDirected;
+
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] parents;
+    private final int[] preorder;
+    private final int[] postorder;
+    private final byte[] edgeTypes;
+    private final int[] stack;
+    private final int[] cursor;
+    // undirected graphs only: whether the edge back to the parent has been skipped already
+    private final long[] parentEdgeSeen;
+
+    private int clock;
+    private int preorderSize;
+    private int postorderSize;
+    private int maxStackDepth;
+
+    public IterativeDFS(IndexedGraph<?> graph) {
+        this.n = graph.vertexCount();
+        this.offsets = graph.getOffsets();
+        this.targets = graph.getTargets();
+        this.isDirected = graph.isDirected();
+
+        this.discovery = new int[n];
+        this.finish = new int[n];
+        this.parents = new int[n];
+        this.preorder = new int[n];
+        this.postorder = new int[n];
+        this.edgeTypes = new byte[targets.length];
+        this.stack = new int[n];
+        this.cursor = new int[n];
+        this.parentEdgeSeen = new long[(n + 63) >>> 6];
+
+        reset();
+    }
+
+    /**
+     * Forgets every search done so far.
+     */
+    public void reset() {
+        Arrays.fill(discovery, -1);
+        Arrays.fill(finish, -1);
+        Arrays.fill(parents, -1);
+        Arrays.fill(edgeTypes, UNCLASSIFIED);
+        Arrays.fill(parentEdgeSeen, 0);
+        clock = 0;
+        preorderSize = 0;
+        postorderSize = 0;
+        maxStackDepth = 0;
+    }
+
+    public IterativeDFS search(int root) {
+        return search(root, NO_VISITOR);
+    }
+
+    /**
+     * Runs a DFS from root. Vertices discovered by earlier searches are not entered again.
+     *
+     * @param root The id to start from
+     * @param visitor Callbacks for the search events
+     * @return this engine, for chaining the getters
+     */
+    public IterativeDFS search(int root, Visitor visitor) {
+        if (root < 0 || root >= n) {
+            throw new IllegalArgumentException("Root id out of range");
+        }
+        if (discovery[root] >= 0) {
+            return this;
+        }
+
+        int top = 0;
+        enter(root, -1, visitor);
+        stack[top++] = root;
+        if (top > maxStackDepth) {
+            maxStackDepth = top;
+        }
+
+        while (top > 0) {
+            int u = stack[top - 1];
+            int e = cursor[u];
+
+            if (e < offsets[u + 1]) {
+                cursor[u] = e + 1;
+                int v = targets[e];
+                byte type = classify(u, v);
+                edgeTypes[e] = type;
+                visitor.edge(u, v, e, type);
+
+                if (type == TREE && discovery[v] < 0) {
+                    enter(v, u, visitor);
+                    stack[top++] = v;
+                    if (top > maxStackDepth) {
+                        maxStackDepth = top;
+                    }
+                }
+            } else {
+                top--;
+                finish[u] = clock++;
+                postorder[postorderSize++] = u;
+                visitor.finish(u, parents[u]);
+            }
+        }
+
+        return this;
+    }
+
+    public IterativeDFS searchAll() {
+        return searchAll(NO_VISITOR);
+    }
+
+    /**
+     * Runs a DFS from every vertex that is still undiscovered, in id order.
+     */
+    public IterativeDFS searchAll(Visitor visitor) {
+        for (int v = 0; v < n; v++) {
+            if (discovery[v] < 0) {
+                search(v, visitor);
+            }
+        }
+        return this;
+    }
+
+    private void enter(int v, int parent, Visitor visitor) {
+        discovery[v] = clock++;
+        parents[v] = parent;
+        cursor[v] = offsets[v];
+        preorder[preorderSize++] = v;
+        visitor.discover(v, parent);
+    }
+
+    private byte classify(int u, int v) {
+        if (discovery[v] < 0) {
+            return TREE;
+        }
+
+        if (isDirected) {
+            if (finish[v] < 0) {
+                return BACK;
+            }
+            return discovery[u] < discovery[v] ? FORWARD : CROSS;
+        }
+
+        // undirected: the first copy of the edge back to the parent is the tree edge itself,
+        // every other edge to an already discovered vertex is a back edge
+        if (v == parents[u] && (parentEdgeSeen[u >>> 6] & (1L << u)) == 0) {
+            parentEdgeSeen[u >>> 6] |= 1L << u;
+            return TREE;
+        }
+        return BACK;
+    }
+
+    /**
+     * @return Discovery time of every vertex, -1 if it was not reached
+     */
+    public int[] getDiscovery() {
+        return discovery;
+    }
+
+    /**
+     * @return Finish time of every vertex, -1 if it was not reached
+     */
+    public int[] getFinish() {
+        return finish;
+    }
+
+    /**
+     * @return DFS tree parent of every vertex, -1 for roots and unreached vertices
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * @return Vertices in discovery order; only the first getVisitedCount() entries are valid
+     */
+    public int[] getPreorder() {
+        return preorder;
+    }
+
+    /**
+     * @return Vertices in finish order; only the first getVisitedCount() entries are valid
+     */
+    public int[] getPostorder() {
+        return postorder;
+    }
+
+    /**
+     * @return Type of every CSR edge (TREE, BACK, FORWARD, CROSS), UNCLASSIFIED if never scanned.
+     * In undirected graphs both copies of an edge get the same type.
+     */
+    public byte[] getEdgeTypes() {
+        return edgeTypes;
+    }
+
+    public int getVisitedCount() {
+        return preorderSize;
+    }
+
+    /**
+     * @return The deepest the stack got, i.e. the recursion depth a recursive DFS would reach
+     */
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+}
@@ -0,0 +1,248 @@
+package lab_3.Graph;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Adjacency list of one vertex of a Graph: a plain array of neighbors, and once the degree
+ * passes PROMOTION_THRESHOLD an open-addressing hash index on top of it (linear probing over
+ * an int[] of positions), so contains, indexOf and remove(Object) no longer scan the array.
+ *
+ * remove(Object) moves the last neighbor into the freed position instead of shifting the
+ * rest (swap-remove), so it is O(1) but does not keep the order of the remaining neighbors.
+ * Everything else behaves like an ArrayList, duplicates included. share() shares the index
+ * along with the array, both are copied on the first write.
+ *
+ * @param <V> Type of vertices
+ */
+public class AdaptiveAdjacencyList<V> extends CopyOnWriteList<V> {
+    // below this degree a linear scan is as fast as hashing and needs no extra memory
+    static final int PROMOTION_THRESHOLD = 16;
+
+    // position + 1 of an element, 0 for an empty slot; null while the list is small
+    private int[] slots;
+
+    public AdaptiveAdjacencyList() {
+    }
+
+    public AdaptiveAdjacencyList(Collection<? extends V> neighbors) {
+        super(neighbors);
+        if (size > PROMOTION_THRESHOLD) {
+            rebuildIndex();
+        }
+    }
+
+    private AdaptiveAdjacencyList(AdaptiveAdjacencyList<V> other) {
+        super(other);
+        this.slots = other.slots;
+    }
+
+    @Override
+    public AdaptiveAdjacencyList<V> share() {
+        return new AdaptiveAdjacencyList<>(this);
+    }
+
+    @Override
+    void prepareWrite(int minCapacity) {
+        if (shared && slots != null) {
+            slots = slots.clone();
+        }
+        super.prepareWrite(minCapacity);
+    }
+
+    @Override
+    public boolean add(V vertex) {
+        prepareWrite(size + 1);
+        elements[size++] = vertex;
+        modCount++;
+
+        if (slots != null) {
+            if (2 * size > slots.length) {
+                rebuildIndex();
+            } else {
+                insertSlot(size - 1);
+            }
+        } else if (size > PROMOTION_THRESHOLD) {
+            rebuildIndex();
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int index, V vertex) {
+        Objects.checkIndex(index, size + 1);
+        if (index == size) {
+            add(vertex);
+            return;
+        }
+        prepareWrite(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = vertex;
+        size++;
+        modCount++;
+        if (slots != null || size > PROMOTION_THRESHOLD) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public V set(int index, V vertex) {
+        V previous = get(index);
+        prepareWrite(size);
+        if (slots != null) {
+            deleteSlot(findSlot(index));
+            elements[index] = vertex;
+            insertSlot(index);
+        } else {
+            elements[index] = vertex;
+        }
+        return previous;
+    }
+
+    /**
+     * Order-preserving removal, as List requires for removal by position.
+     */
+    @Override
+    public V remove(int index) {
+        V previous = super.remove(index);
+        if (slots != null) {
+            rebuildIndex();
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the first occurrence of the vertex and moves the last neighbor into its position.
+     */
+    @Override
+    public boolean remove(Object vertex) {
+        int index = indexOf(vertex);
+        if (index < 0) {
+            return false;
+        }
+
+        prepareWrite(size);
+        int last = size - 1;
+        if (slots != null) {
+            // the slots are fixed while the elements are still in place, probing needs their hashes
+            deleteSlot(findSlot(index));
+            if (index != last) {
+                slots[findSlot(last)] = index + 1;
+            }
+        }
+        elements[index] = elements[last];
+        elements[last] = null;
+        size--;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object vertex) {
+        return indexOf(vertex) >= 0;
+    }
+
+    /**
+     * @return Lowest position holding the vertex, -1 if there is none
+     */
+    @Override
+    public int indexOf(Object vertex) {
+        if (slots == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(elements[i], vertex)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // duplicates sit in the same probe run, keep the smallest position
+        int mask = slots.length - 1;
+        int lowest = -1;
+        for (int slot = home(vertex, mask); slots[slot] != 0; slot = (slot + 1) & mask) {
+            int position = slots[slot] - 1;
+            if (Objects.equals(elements[position], vertex) && (lowest == -1 || position < lowest)) {
+                lowest = position;
+            }
+        }
+        return lowest;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super V> filter) {
+        boolean removed = super.removeIf(filter);
+        if (removed && slots != null) {
+            rebuildIndex();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        slots = null;
+    }
+
+    private static int home(Object vertex, int mask) {
+        int hash = Objects.hashCode(vertex) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Sizes the table to at least twice the degree (load at most 1/2) and reinserts every position.
+     */
+    private void rebuildIndex() {
+        if (size <= PROMOTION_THRESHOLD / 2) {
+            // shrunk well below the threshold, go back to scanning
+            slots = null;
+            return;
+        }
+        int capacity = Integer.highestOneBit(Math.max(4 * size - 1, 1)) << 1;
+        slots = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            insertSlot(i);
+        }
+    }
+
+    private void insertSlot(int position) {
+        int mask = slots.length - 1;
+        int slot = home(elements[position], mask);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = position + 1;
+    }
+
+    private int findSlot(int position) {
+        int mask = slots.length - 1;
+        int slot = home(elements[position], mask);
+        while (slots[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion: later entries of the probe run move up into the hole when their
+     * home slot allows it, so lookups never need tombstones.
+     */
+    private void deleteSlot(int hole) {
+        int mask = slots.length - 1;
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (slots[slot] == 0) {
+                break;
+            }
+            int home = home(elements[slots[slot] - 1], mask);
+            // the entry stays if its home lies cyclically in (hole, slot]
+            boolean stays = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!stays) {
+                slots[hole] = slots[slot];
+                hole = slot;
+            }
+        }
+        slots[hole] = 0;
+    }
+}
@@ -0,0 +1,70 @@
+package lab_3.Graph;
+
+import java.util.*;
+
+/**
+ * Assignment of every vertex id to a component id in 0..count-1, as produced by the
+ * connected and strongly connected component engines.
+ */
+public class ComponentLabeling {
+    private final int[] labels;
+    private final int count;
+    private int[] sizes;
+
+    public ComponentLabeling(int[] labels, int count) {
+        this.labels = labels;
+        this.count = count;
+    }
+
+    /**
+     * @return The component id of every vertex id
+     */
+    public int[] getLabels() {
+        return labels;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of vertices in every component (computed once, on first use)
+     */
+    public int[] getSizes() {
+        if (sizes == null) {
+            int[] counted = new int[count];
+            for (int label : labels) {
+                counted[label]++;
+            }
+            sizes = counted;
+        }
+        return sizes;
+    }
+
+    public int getLargestSize() {
+        int largest = 0;
+        for (int size : getSizes()) {
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    /**
+     * Converts the labels back to sets of vertices of the original graph.
+     *
+     * @param graph The snapshot the labels were computed on
+     * @param <V> Type of vertices
+     * @return One set per component, in component id order
+     */
+    public <V> List<Set<V>> toVertexSets(IndexedGraph<V> graph) {
+        int[] componentSizes = getSizes();
+        List<Set<V>> components = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            components.add(new HashSet<>(componentSizes[c] * 2));
+        }
+        for (int v = 0; v < labels.length; v++) {
+            components.get(labels[v]).add(graph.vertexAt(v));
+        }
+        return components;
+    }
+}
@@ -0,0 +1,280 @@
+package lab_3.Graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Connected components on IndexedGraph ids. Edge direction is ignored, so for directed
+ * graphs these are the weakly connected components.
+ *
+ * Both modes are union-find forests over an int parent array; components are numbered
+ * in order of their smallest vertex id, so both modes return identical labelings.
+ */
+public class ConnectedComponents {
+    // Afforest: number of neighbors per vertex linked before sampling the largest component
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLE_SIZE = 1024;
+    // vertex ranges smaller than this are not split further
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+    /**
+     * @param graph The graph
+     * @param <V> Type of vertices
+     * @return One set of vertices per component
+     */
+    public static <V> List<Set<V>> findComponents(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        return sequential(indexed).toVertexSets(indexed);
+    }
+
+    public static boolean isConnected(IndexedGraph<?> graph) {
+        return graph.vertexCount() == 0 || sequential(graph).getCount() == 1;
+    }
+
+    /**
+     * Union-find with union by smaller id and path halving, one pass over the CSR edges.
+     *
+     * @param graph The CSR graph
+     * @return The component of every vertex
+     */
+    public static ComponentLabeling sequential(IndexedGraph<?> graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] parent = identity(n);
+
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                union(parent, u, targets[e]);
+            }
+        }
+
+        return compact(parent);
+    }
+
+    /**
+     * Union-find over a plain edge list, without building a graph first.
+     *
+     * @param n Number of vertices
+     * @param from One endpoint of every edge
+     * @param to Other endpoint of every edge
+     * @return The component of every vertex
+     */
+    public static ComponentLabeling fromEdges(int n, int[] from, int[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+
+        int[] parent = identity(n);
+        for (int e = 0; e < from.length; e++) {
+            union(parent, from[e], to[e]);
+        }
+        return compact(parent);
+    }
+
+    public static ComponentLabeling parallel(IndexedGraph<?> graph) {
+        return parallel(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Afforest (Sutton et al.): lock-free Shiloach-Vishkin style linking where the first
+     * few neighbors of every vertex are linked first, the largest component is estimated
+     * by sampling, and the remaining edges are only processed for vertices outside it.
+     * On graphs with a giant component most edges are never touched.
+     *
+     * @param graph The CSR graph
+     * @param pool The pool running the linking rounds
+     * @return The component of every vertex
+     */
+    public static ComponentLabeling parallel(IndexedGraph<?> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        AtomicIntegerArray parent = new AtomicIntegerArray(identity(n));
+
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            forEachVertex(pool, n, u -> {
+                if (offsets[u] + r < offsets[u + 1]) {
+                    link(parent, u, targets[offsets[u] + r]);
+                }
+            });
+            forEachVertex(pool, n, u -> compress(parent, u));
+        }
+
+        int largest = sampleFrequentComponent(parent, n);
+
+        // an edge with one endpoint inside the sampled component is only seen from the
+        // other endpoint, so directed graphs also need the reversed edges here
+        IndexedGraph<?> reverse = graph.isDirected() ? graph.transpose() : null;
+        forEachVertex(pool, n, u -> {
+            if (parent.get(u) == largest) {
+                return;
+            }
+            for (int e = offsets[u] + NEIGHBOR_ROUNDS; e < offsets[u + 1]; e++) {
+                link(parent, u, targets[e]);
+            }
+            if (reverse != null) {
+                int[] reverseOffsets = reverse.getOffsets();
+                int[] reverseTargets = reverse.getTargets();
+                for (int e = reverseOffsets[u]; e < reverseOffsets[u + 1]; e++) {
+                    link(parent, u, reverseTargets[e]);
+                }
+            }
+        });
+        forEachVertex(pool, n, u -> compress(parent, u));
+
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = parent.get(v);
+        }
+        return compact(roots);
+    }
+
+    private static int[] identity(int n) {
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+        return parent;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    // the root with the larger id is hung below the smaller one, so every root is its component's minimum
+    private static void union(int[] parent, int u, int v) {
+        int a = find(parent, u);
+        int b = find(parent, v);
+        if (a < b) {
+            parent[b] = a;
+        } else if (b < a) {
+            parent[a] = b;
+        }
+    }
+
+    /**
+     * Lock-free link: only roots are ever rewritten, and only to point to a smaller id,
+     * so concurrent links can not create cycles.
+     */
+    private static void link(AtomicIntegerArray parent, int u, int v) {
+        int p1 = parent.get(u);
+        int p2 = parent.get(v);
+
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int parentOfHigh = parent.get(high);
+
+            if (parentOfHigh == low) {
+                return;
+            }
+            if (parentOfHigh == high && parent.compareAndSet(high, high, low)) {
+                return;
+            }
+
+            p1 = parent.get(parentOfHigh);
+            p2 = parent.get(low);
+        }
+    }
+
+    private static void compress(AtomicIntegerArray parent, int u) {
+        int p = parent.get(u);
+        int grandparent = parent.get(p);
+        while (p != grandparent) {
+            parent.set(u, grandparent);
+            p = grandparent;
+            grandparent = parent.get(p);
+        }
+    }
+
+    // the most frequent root among a fixed random sample of vertices
+    private static int sampleFrequentComponent(AtomicIntegerArray parent, int n) {
+        if (n == 0) {
+            return -1;
+        }
+
+        SplittableRandom random = new SplittableRandom(n);
+        int[] sample = new int[Math.min(SAMPLE_SIZE, n)];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = parent.get(random.nextInt(n));
+        }
+        Arrays.sort(sample);
+
+        int best = sample[0];
+        int bestCount = 0;
+        for (int i = 0; i < sample.length; ) {
+            int j = i;
+            while (j < sample.length && sample[j] == sample[i]) {
+                j++;
+            }
+            if (j - i > bestCount) {
+                bestCount = j - i;
+                best = sample[i];
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    // turns a forest (every vertex pointing somewhere in its tree) into labels 0..count-1 by smallest vertex
+    private static ComponentLabeling compact(int[] parent) {
+        int n = parent.length;
+        int[] labels = new int[n];
+        int count = 0;
+
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            // roots are the minimum of their component, so the root was labeled before v
+            labels[v] = root == v ? count++ : labels[root];
+        }
+
+        return new ComponentLabeling(labels, count);
+    }
+
+    private static void forEachVertex(ForkJoinPool pool, int n, IntConsumer body) {
+        if (n < SEQUENTIAL_THRESHOLD) {
+            for (int v = 0; v < n; v++) {
+                body.accept(v);
+            }
+        } else {
+            pool.invoke(new VertexRange(0, n, body));
+        }
+    }
+
+    private static class VertexRange extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        VertexRange(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int v = from; v < to; v++) {
+                    body.accept(v);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new VertexRange(from, middle, body), new VertexRange(middle, to, body));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package lab_3.Graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Array-backed list (ArrayList semantics) whose array can be shared: share() returns a second
+ * list over the same array in O(1), and the first write to either list copies the array for it.
+ * Graph and WeightedGraph snapshots share every adjacency list this way, so a copy of a graph
+ * only pays for the lists that are modified afterwards.
+ *
+ * A list does not know when its twin has copied the array, so both keep the shared flag and
+ * the second one to be written copies too: at most one copy more than needed.
+ *
+ * @param <E> Type of elements
+ */
+public class CopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 4;
+
+    Object[] elements;
+    int size;
+    // true while elements may be read by another list
+    boolean shared;
+
+    public CopyOnWriteList() {
+        this.elements = new Object[INITIAL_CAPACITY];
+    }
+
+    public CopyOnWriteList(int capacity) {
+        this.elements = new Object[Math.max(1, capacity)];
+    }
+
+    public CopyOnWriteList(Collection<? extends E> elements) {
+        this.elements = elements.toArray(new Object[Math.max(INITIAL_CAPACITY, elements.size())]);
+        this.size = elements.size();
+    }
+
+    /**
+     * Shares the array of other, both lists copy it on their next write.
+     */
+    CopyOnWriteList(CopyOnWriteList<E> other) {
+        this.elements = other.elements;
+        this.size = other.size;
+        this.shared = true;
+        other.shared = true;
+    }
+
+    /**
+     * @return A list with the same elements that shares the array with this one, O(1)
+     */
+    public CopyOnWriteList<E> share() {
+        return new CopyOnWriteList<>(this);
+    }
+
+    /**
+     * Called before every write: gives this list its own array, of at least minCapacity.
+     */
+    void prepareWrite(int minCapacity) {
+        if (shared || minCapacity > elements.length) {
+            int capacity = minCapacity > elements.length
+                    ? Math.max(minCapacity, 2 * elements.length) : elements.length;
+            elements = Arrays.copyOf(elements, capacity);
+            shared = false;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        prepareWrite(size + 1);
+        elements[size++] = element;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        prepareWrite(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = get(index);
+        prepareWrite(size);
+        elements[index] = element;
+        return previous;
+    }
+
+    @Override
+    public E remove(int index) {
+        E previous = get(index);
+        prepareWrite(size);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * One pass over the list; the array is only copied if something is removed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        int first = 0;
+        while (first < size && !filter.test((E) elements[first])) {
+            first++;
+        }
+        if (first == size) {
+            return false;
+        }
+
+        prepareWrite(size);
+        int kept = first;
+        for (int i = first + 1; i < size; i++) {
+            if (!filter.test((E) elements[i])) {
+                elements[kept++] = elements[i];
+            }
+        }
+        Arrays.fill(elements, kept, size, null);
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            elements = new Object[INITIAL_CAPACITY];
+            shared = false;
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
+        size = 0;
+        modCount++;
+    }
+}
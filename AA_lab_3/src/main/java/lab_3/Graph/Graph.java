@@ -2,36 +2,95 @@ package lab_3.Graph;
 
 import java.util.*;
 
+/**
+ * Copies are copy-on-write snapshots: the copy constructor and copy() share the adjacency map
+ * with the original in O(1). The first access that could modify it (anything but hasEdge,
+ * isDirected and printGraph) gives the graph its own map in O(V), whose lists still share
+ * their arrays with the original (see CopyOnWriteList), and a list is only copied when it is
+ * written.
+ *
+ * @param <V> Type of vertices
+ */
 public class Graph<V> {
-    private final Map<V, List<V>> adjacencyList;
+    private Map<V, List<V>> adjacencyList;
     private final boolean isDirected;
+    // true while adjacencyList may be read by another graph
+    private volatile boolean sharesAdjacency;
 
     public Graph(boolean isDirected) {
         this.adjacencyList = new HashMap<>();
         this.isDirected = isDirected;
     }
 
+    /**
+     * Snapshot of other in O(1), later changes to either graph are not seen by the other.
+     */
     public Graph(Graph<V> other) {
         this.isDirected = other.isDirected();
-        this.adjacencyList = new HashMap<>();
-        for (V vertex : other.getVertices()) {
-            this.adjacencyList.put(vertex, new ArrayList<>(other.getAdjacencyList().get(vertex)));
+        this.adjacencyList = other.shareAdjacency();
+        this.sharesAdjacency = true;
+    }
+
+    /**
+     * @return A copy-on-write snapshot of the graph, O(1)
+     */
+    public Graph<V> copy() {
+        return new Graph<>(this);
+    }
+
+    private synchronized Map<V, List<V>> shareAdjacency() {
+        sharesAdjacency = true;
+        return adjacencyList;
+    }
+
+    /**
+     * @return The adjacency map, after giving the graph its own copy of it if it was shared
+     */
+    private Map<V, List<V>> adjacency() {
+        if (sharesAdjacency) {
+            unshareAdjacency();
         }
+        return adjacencyList;
     }
 
+    private synchronized void unshareAdjacency() {
+        if (!sharesAdjacency) {
+            return;
+        }
+        Map<V, List<V>> own = new HashMap<>(Math.max(16, (int) (adjacencyList.size() / 0.75f) + 1));
+        for (Map.Entry<V, List<V>> entry : adjacencyList.entrySet()) {
+            List<V> neighbors = entry.getValue();
+            own.put(entry.getKey(), neighbors instanceof AdaptiveAdjacencyList<V> list
+                    ? list.share() : new AdaptiveAdjacencyList<>(neighbors));
+        }
+        adjacencyList = own;
+        sharesAdjacency = false;
+    }
 
     public void addVertex(V vertex) {
-        adjacencyList.putIfAbsent(vertex, new ArrayList<>());
+        adjacency().computeIfAbsent(vertex, v -> new AdaptiveAdjacencyList<>());
     }
 
     public void addEdge(V from, V to) {
-        adjacencyList.putIfAbsent(from, new ArrayList<>());
-        adjacencyList.putIfAbsent(to, new ArrayList<>());
+        Map<V, List<V>> adjacency = adjacency();
+        adjacency.computeIfAbsent(to, v -> new AdaptiveAdjacencyList<>());
+        adjacency.computeIfAbsent(from, v -> new AdaptiveAdjacencyList<>()).add(to);
+    }
 
-        adjacencyList.get(from).add(to);
+    /**
+     * @return true if there is an edge from -> to; O(1) once from has a high degree
+     */
+    public boolean hasEdge(V from, V to) {
+        List<V> fromList = adjacencyList.get(from);
+        return fromList != null && fromList.contains(to);
     }
 
+    /**
+     * Removes one from -> to edge (and one to -> from edge if undirected). The last neighbor
+     * takes the place of the removed one, so the order of the other neighbors may change.
+     */
     public void removeEdge(V from, V to) {
+        Map<V, List<V>> adjacencyList = adjacency();
         List<V> fromList = adjacencyList.get(from);
         if (fromList != null) {
             fromList.remove(to);
@@ -46,11 +105,11 @@ public class Graph<V> {
     }
 
     public Set<V> getVertices() {
-        return adjacencyList.keySet();
+        return adjacency().keySet();
     }
 
     public Map<V, List<V>> getAdjacencyList() {
-        return adjacencyList;
+        return adjacency();
     }
 
     public boolean isDirected() {
@@ -63,45 +122,15 @@ public class Graph<V> {
         }
     }
 
+    /**
+     * Finds the connected components of the graph (weakly connected for directed graphs).
+     *
+     * @param graph The graph
+     * @param <V> Type of vertices
+     * @return One set of vertices per component
+     */
     public static <V> List<Set<V>> findDisconnectedComponents(Graph<V> graph) {
-        List<Set<V>> components = new ArrayList<>();
-        Set<V> allNodes = new HashSet<>(graph.getAdjacencyList().keySet());
-        Set<V> visited = new HashSet<>();
-
-        // Iterate through all nodes in the graph
-        for (V node : allNodes) {
-            // If we haven't visited this node yet, it belongs to a new component
-            if (!visited.contains(node)) {
-                Set<V> componentNodes = new HashSet<>();
-                // Find all nodes in this connected component
-                findConnectedComponent(graph, node, componentNodes);
-                // Add all nodes from this component to our visited set
-                visited.addAll(componentNodes);
-                // Add this component to our list of components
-                components.add(componentNodes);
-            }
-        }
-
-        return components;
-    }
-
-    private static <V> void findConnectedComponent(Graph<V> graph, V startNode, Set<V> visited) {
-        Stack<V> stack = new Stack<>();
-        stack.push(startNode);
-
-        while (!stack.isEmpty()) {
-            V current = stack.pop();
-            if (!visited.contains(current)) {
-                visited.add(current);
-
-                List<V> neighbors = graph.getAdjacencyList().getOrDefault(current, new ArrayList<>());
-                for (V neighbor : neighbors) {
-                    if (!visited.contains(neighbor)) {
-                        stack.push(neighbor);
-                    }
-                }
-            }
-        }
+        return ConnectedComponents.findComponents(graph);
     }
 
     // Example usage:
@@ -0,0 +1,191 @@
+package lab_3.Graph;
+
+import java.util.*;
+
+/**
+ * Read-only snapshot of a Graph where vertices are mapped to ids 0..n-1 and the
+ * adjacency is stored in compressed sparse row (CSR) form:
+ * the neighbors of vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1].
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class IndexedGraph<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexToIndex;
+    private final int[] offsets;
+    private final int[] targets;
+    private final boolean isDirected;
+    private IndexedGraph<V> transpose;
+
+    /**
+     * Creates a snapshot from already built CSR arrays.
+     *
+     * @param vertices Vertex labels, the label of id i is vertices.get(i)
+     * @param offsets Array of size n + 1 with the start of every adjacency range
+     * @param targets Concatenated adjacency ranges
+     * @param isDirected Whether the graph is directed
+     */
+    public IndexedGraph(List<V> vertices, int[] offsets, int[] targets, boolean isDirected) {
+        if (offsets.length != vertices.size() + 1) {
+            throw new IllegalArgumentException("Offsets array must have n + 1 entries");
+        }
+
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.isDirected = isDirected;
+        this.vertexToIndex = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            vertexToIndex.put(vertices.get(i), i);
+        }
+    }
+
+    /**
+     * Builds the snapshot of a graph. Neighbor order is the same as in the adjacency lists.
+     *
+     * @param graph The graph to index
+     * @param <V> Type of vertices
+     * @return The CSR snapshot of the graph
+     */
+    public static <V> IndexedGraph<V> of(Graph<V> graph) {
+        Map<V, List<V>> adjacencyList = graph.getAdjacencyList();
+        List<V> vertices = new ArrayList<>(adjacencyList.keySet());
+        int n = vertices.size();
+
+        Map<V, Integer> index = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + adjacencyList.get(vertices.get(i)).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            for (V neighbor : adjacencyList.get(vertices.get(i))) {
+                targets[position++] = index.get(neighbor);
+            }
+        }
+
+        return new IndexedGraph<>(vertices, offsets, targets, graph.isDirected());
+    }
+
+    /**
+     * Builds an unlabeled snapshot (labels are the ids themselves) from an edge list.
+     *
+     * @param n Number of vertices
+     * @param from Source of every edge
+     * @param to Target of every edge
+     * @param isDirected If false, every edge is stored in both directions
+     * @return The CSR graph
+     */
+    public static IndexedGraph<Integer> fromEdges(int n, int[] from, int[] to, boolean isDirected) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < from.length; e++) {
+            offsets[from[e] + 1]++;
+            if (!isDirected) {
+                offsets[to[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < from.length; e++) {
+            targets[next[from[e]]++] = to[e];
+            if (!isDirected) {
+                targets[next[to[e]]++] = from[e];
+            }
+        }
+
+        List<Integer> labels = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            labels.add(i);
+        }
+
+        return new IndexedGraph<>(labels, offsets, targets, isDirected);
+    }
+
+    /**
+     * Returns the graph with every edge reversed (built once, then cached).
+     * For undirected graphs the adjacency is symmetric, so the graph itself is returned.
+     */
+    public IndexedGraph<V> transpose() {
+        if (!isDirected) {
+            return this;
+        }
+
+        if (transpose == null) {
+            int n = vertexCount();
+            int[] reverseOffsets = new int[n + 1];
+            for (int target : targets) {
+                reverseOffsets[target + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                reverseOffsets[i + 1] += reverseOffsets[i];
+            }
+
+            int[] reverseTargets = new int[targets.length];
+            int[] next = Arrays.copyOf(reverseOffsets, n);
+            for (int v = 0; v < n; v++) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    reverseTargets[next[targets[e]]++] = v;
+                }
+            }
+
+            transpose = new IndexedGraph<>(vertices, reverseOffsets, reverseTargets, true);
+            transpose.transpose = this;
+        }
+
+        return transpose;
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    /**
+     * @return The id of the vertex, or -1 if it is not part of the graph
+     */
+    public int indexOf(V vertex) {
+        Integer index = vertexToIndex.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    public V vertexAt(int index) {
+        return vertices.get(index);
+    }
+
+    public List<V> getVertices() {
+        return vertices;
+    }
+}
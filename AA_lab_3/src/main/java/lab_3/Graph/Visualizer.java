@@ -6,7 +6,7 @@ import lab_3.DirectedAndUndirected.DirectedUndirectedGraphVisualizer;
 import javax.swing.*;
 import java.util.Set;
 
-import static lab_3.Bipartite.BipartiteGraphGenerator.getBipartitePartitions;
+import static lab_3.Bipartite.TwoColoring.getBipartitePartitions;
 
 public class Visualizer {
     public static void visualizeDirectedAndUndirected(Graph<String> graph){
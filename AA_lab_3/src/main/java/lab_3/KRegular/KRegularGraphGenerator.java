@@ -1,6 +1,7 @@
 package lab_3.KRegular;
 
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphVisualizer;
+import lab_3.Graph.ConnectedComponents;
 import lab_3.Graph.Graph;
 
 import java.util.*;
@@ -85,23 +86,27 @@ public class KRegularGraphGenerator {
     private static <V extends Comparable<V>> boolean generateConfigurationModel(Graph<V> graph, V[] vertices, int k, Random random) {
         int n = vertices.length;
 
-        // Create k stubs for each vertex
-        List<V> stubs = new ArrayList<>(n * k);
+        // Create k stubs for each vertex (stubs hold vertex positions, so the edges can be kept as ints)
+        List<Integer> stubs = new ArrayList<>(n * k);
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < k; j++) {
-                stubs.add(vertices[i]);
+                stubs.add(i);
             }
         }
 
         // Shuffle the stubs
         Collections.shuffle(stubs, random);
 
+        int edgeCount = stubs.size() / 2;
+        int[] edgeFrom = new int[edgeCount];
+        int[] edgeTo = new int[edgeCount];
+
         // Match stubs to form edges
         for (int i = 0; i < stubs.size(); i += 2) {
             if (i + 1 >= stubs.size()) break; // Safety check
 
-            V v1 = stubs.get(i);
-            V v2 = stubs.get(i + 1);
+            V v1 = vertices[stubs.get(i)];
+            V v2 = vertices[stubs.get(i + 1)];
 
             // Skip self-loops and multiple edges
             if (v1.equals(v2) || edgeExists(graph, v1, v2)) {
@@ -110,10 +115,12 @@ public class KRegularGraphGenerator {
             }
 
             addUndirectedEdge(graph, v1, v2);
+            edgeFrom[i / 2] = stubs.get(i);
+            edgeTo[i / 2] = stubs.get(i + 1);
         }
 
-        // Check if the graph is connected
-        return isConnected(graph, vertices[0], vertices);
+        // Check if the graph is connected (union-find over the matched pairs, no traversal of the graph)
+        return ConnectedComponents.fromEdges(n, edgeFrom, edgeTo).getCount() == 1;
     }
 
     /**
@@ -137,31 +144,6 @@ public class KRegularGraphGenerator {
         graph.removeEdge(v2, v1);
     }
 
-    /**
-     * Checks if the graph is connected using BFS
-     */
-    private static <V> boolean isConnected(Graph<V> graph, V start, V[] allVertices) {
-        Set<V> visited = new HashSet<>();
-        Queue<V> queue = new LinkedList<>();
-
-        queue.add(start);
-        visited.add(start);
-
-        while (!queue.isEmpty()) {
-            V current = queue.poll();
-
-            for (V neighbor : graph.getAdjacencyList().get(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                }
-            }
-        }
-
-        // Check if all vertices were visited
-        return visited.size() == allVertices.length;
-    }
-
     /**
      * Helper method to check if an edge exists in the graph
      */
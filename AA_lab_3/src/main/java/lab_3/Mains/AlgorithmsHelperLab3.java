@@ -0,0 +1,148 @@
+package lab_3.Mains;
+
+import lab_3.BFS.DirectionOptimizingBFS;
+import lab_3.BFS.ParallelBFS;
+import lab_3.Graph.ComponentLabeling;
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+import lab_3.Matching.BipartiteCSR;
+import lab_3.Matching.HopcroftKarp;
+import lab_3.SCC.ParallelSCC;
+import lab_3.SCC.StronglyConnectedComponents;
+import lab_3.SCC.TopologicalSort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+public class AlgorithmsHelperLab3 {
+    // id snapshots are built together with the graphs, so the timed runs only measure the algorithm
+    private static final Map<Graph<?>, IndexedGraph<?>> snapshots = new WeakHashMap<>();
+    // keyed by the graph, not by its snapshot: a view holds its snapshot, which would keep a snapshot key alive
+    private static final Map<Graph<?>, BipartiteCSR<?>> bipartiteViews = new WeakHashMap<>();
+
+    /**
+     * Builds and remembers the id snapshot of a generated graph.
+     * The graph must not be modified afterwards, otherwise the snapshot is stale.
+     */
+    public static <V> IndexedGraph<V> prepareSnapshot(Graph<V> graph) {
+        IndexedGraph<V> snapshot = IndexedGraph.of(graph);
+        snapshots.put(graph, snapshot);
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> IndexedGraph<V> getSnapshot(Graph<V> graph) {
+        IndexedGraph<V> snapshot = (IndexedGraph<V>) snapshots.get(graph);
+        return snapshot != null ? snapshot : prepareSnapshot(graph);
+    }
+
+    public static Integer runDirectionOptimizingBFS(Graph<String> graph, String startNode) {
+        IndexedGraph<String> snapshot = getSnapshot(graph);
+        return DirectionOptimizingBFS.search(snapshot, snapshot.indexOf(startNode)).getMaxFrontier();
+    }
+
+    public static Integer runParallelBFS(Graph<String> graph, String startNode) {
+        IndexedGraph<String> snapshot = getSnapshot(graph);
+        return ParallelBFS.search(snapshot, snapshot.indexOf(startNode)).getMaxFrontier();
+    }
+
+    // the SCC runs return the number of components; the start node is not used
+
+    public static Integer runTarjanSCC(Graph<String> graph, String startNode) {
+        return StronglyConnectedComponents.tarjan(getSnapshot(graph)).getCount();
+    }
+
+    public static Integer runKosarajuSCC(Graph<String> graph, String startNode) {
+        return StronglyConnectedComponents.kosaraju(getSnapshot(graph)).getCount();
+    }
+
+    public static Integer runParallelSCC(Graph<String> graph, String startNode) {
+        return ParallelSCC.search(getSnapshot(graph)).getCount();
+    }
+
+    /**
+     * Components, condensation DAG and its topological order, i.e. the full pipeline
+     * for ordering a directed graph that may contain cycles.
+     */
+    public static Integer runCondensationTopologicalSort(Graph<String> graph, String startNode) {
+        IndexedGraph<String> snapshot = getSnapshot(graph);
+        ComponentLabeling components = StronglyConnectedComponents.tarjan(snapshot);
+        IndexedGraph<Integer> dag = StronglyConnectedComponents.condensation(snapshot, components);
+        return TopologicalSort.kahn(dag).length;
+    }
+
+    // the matching runs return the size of a maximum matching; the start node is not used
+
+    public static Integer runHopcroftKarp(Graph<String> graph, String startNode) {
+        return HopcroftKarp.maximumMatching(getBipartiteView(graph)).getMatchingSize();
+    }
+
+    public static Integer runParallelHopcroftKarp(Graph<String> graph, String startNode) {
+        return HopcroftKarp.maximumMatching(getBipartiteView(graph), ForkJoinPool.commonPool()).getMatchingSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> BipartiteCSR<V> getBipartiteView(Graph<V> graph) {
+        IndexedGraph<V> snapshot = getSnapshot(graph);
+        BipartiteCSR<V> view = (BipartiteCSR<V>) bipartiteViews.get(graph);
+        if (view == null || view.getGraph() != snapshot) {
+            view = BipartiteCSR.of(snapshot);
+            bipartiteViews.put(graph, view);
+        }
+        return view;
+    }
+
+    /**
+     * Prints how much faster the parallel BFS gets with more cores:
+     * every cell is (time on 1 thread) / (time on p threads) for the graph of that column.
+     */
+    public static void printParallelBFSSpeedup(Graph<String>[] graphs, int[] xValues, String xLabel, String startNode,
+                                               int functionNamesSpace, int cellsSpace) {
+        int maxCores = Runtime.getRuntime().availableProcessors();
+        List<Integer> coreCounts = new ArrayList<>();
+        for (int p = 1; p < maxCores; p *= 2) {
+            coreCounts.add(p);
+        }
+        coreCounts.add(maxCores);
+
+        double[][] nanos = new double[coreCounts.size()][graphs.length];
+        for (int c = 0; c < coreCounts.size(); c++) {
+            ForkJoinPool pool = new ForkJoinPool(coreCounts.get(c));
+            try {
+                for (int i = 0; i < graphs.length; i++) {
+                    IndexedGraph<String> snapshot = getSnapshot(graphs[i]);
+                    int source = snapshot.indexOf(startNode);
+
+                    // best of a few runs, single runs on small graphs are mostly noise
+                    long best = Long.MAX_VALUE;
+                    for (int run = 0; run < 3; run++) {
+                        long startTime = System.nanoTime();
+                        ParallelBFS.search(snapshot, source, pool);
+                        best = Math.min(best, System.nanoTime() - startTime);
+                    }
+                    nanos[c][i] = best;
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        System.out.println("\nParallel BFS speedup vs cores (time on 1 core / time on p cores):");
+        System.out.printf("%" + functionNamesSpace + "s", xLabel);
+        for (int xValue : xValues) {
+            System.out.printf("%" + cellsSpace + "d", xValue);
+        }
+        System.out.println("\n");
+
+        for (int c = 0; c < coreCounts.size(); c++) {
+            System.out.printf("%" + functionNamesSpace + "s", coreCounts.get(c) + (coreCounts.get(c) == 1 ? " core" : " cores"));
+            for (int i = 0; i < graphs.length; i++) {
+                System.out.printf("%" + cellsSpace + ".2f", nanos[0][i] / nanos[c][i]);
+            }
+            System.out.println();
+        }
+    }
+}
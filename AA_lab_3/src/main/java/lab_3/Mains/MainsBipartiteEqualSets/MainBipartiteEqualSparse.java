@@ -4,6 +4,7 @@ import lab_3.BFS.BreadthFirstSearch;
 import lab_3.Bipartite.BipartiteGraphVisualizer;
 import lab_3.DFS.DepthFirstSearch;
 import lab_3.Graph.Graph;
+import lab_3.Mains.AlgorithmsHelperLab3;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -21,7 +22,7 @@ import java.util.function.BiFunction;
 import static lab_3.BFS.BipartiteBFSVisualizer.visualizeBipartiteBFS;
 import static lab_3.BFS.BreadthFirstSearch.bfsWithOutput;
 import static lab_3.Bipartite.BipartiteGraphGenerator.generateStringLabelBipartiteGraph;
-import static lab_3.Bipartite.BipartiteGraphGenerator.getBipartitePartitions;
+import static lab_3.Bipartite.TwoColoring.getBipartitePartitions;
 import static lab_3.DFS.BipartiteDFSVisualizer.visualizeBipartiteDFS;
 import static lab_3.DFS.DepthFirstSearch.dfsWithOutput;
 
@@ -32,10 +33,12 @@ public class MainBipartiteEqualSparse {
         List<BiFunction<Graph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(DepthFirstSearch::dfs);
         functions.add(BreadthFirstSearch::bfs);
+        functions.add(AlgorithmsHelperLab3::runParallelBFS);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("lab_3/DFS");
         functNames.add("lab_3/BFS");
+        functNames.add("Par. BFS");
 
         int functionNamesSpace = 10;
         int cellsSpace = 12;
@@ -57,6 +60,7 @@ public class MainBipartiteEqualSparse {
             int m = (int) mFloat;
 
             graphs[i] = generateStringLabelBipartiteGraph(n, m, n/2);
+            AlgorithmsHelperLab3.prepareSnapshot(graphs[i]);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
@@ -118,7 +122,7 @@ public class MainBipartiteEqualSparse {
                     graph.printGraph();
                     break;
                 case 2:
-                    Set<String>[] partitions = getBipartitePartitions(graph);
+                    Set<String>[] partitions = getBipartitePartitions(graph, "U1");
                     javax.swing.SwingUtilities.invokeLater(() ->
                             BipartiteGraphVisualizer.visualizeBipartiteGraph(graph, partitions[0], partitions[1]));
                     break;
@@ -222,6 +226,8 @@ public class MainBipartiteEqualSparse {
             System.out.println();
         }
 
+        AlgorithmsHelperLab3.printParallelBFSSpeedup(graphs, nValues, "n values:", "U1", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset));
     }
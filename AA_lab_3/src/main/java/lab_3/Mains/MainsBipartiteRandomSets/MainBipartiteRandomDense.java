@@ -4,6 +4,7 @@ import lab_3.BFS.BreadthFirstSearch;
 import lab_3.Bipartite.BipartiteGraphVisualizer;
 import lab_3.DFS.DepthFirstSearch;
 import lab_3.Graph.Graph;
+import lab_3.Mains.AlgorithmsHelperLab3;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -18,7 +19,7 @@ import java.util.function.BiFunction;
 import static lab_3.BFS.BipartiteBFSVisualizer.visualizeBipartiteBFS;
 import static lab_3.BFS.BreadthFirstSearch.bfsWithOutput;
 import static lab_3.Bipartite.BipartiteGraphGenerator.generateStringLabelBipartiteGraph;
-import static lab_3.Bipartite.BipartiteGraphGenerator.getBipartitePartitions;
+import static lab_3.Bipartite.TwoColoring.getBipartitePartitions;
 import static lab_3.DFS.BipartiteDFSVisualizer.visualizeBipartiteDFS;
 import static lab_3.DFS.DepthFirstSearch.dfsWithOutput;
 
@@ -30,10 +31,16 @@ public class MainBipartiteRandomDense {
         List<BiFunction<Graph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(DepthFirstSearch::dfs);
         functions.add(BreadthFirstSearch::bfs);
+        functions.add(AlgorithmsHelperLab3::runParallelBFS);
+        functions.add(AlgorithmsHelperLab3::runHopcroftKarp);
+        functions.add(AlgorithmsHelperLab3::runParallelHopcroftKarp);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("lab_3/DFS");
         functNames.add("lab_3/BFS");
+        functNames.add("Par. BFS");
+        functNames.add("Hopcroft-Karp");
+        functNames.add("Par. H-K");
 
         int functionNamesSpace = 15;
         int cellsSpace = 12;
@@ -63,6 +70,7 @@ public class MainBipartiteRandomDense {
             int m = Math.max((int) mFloat, n - 1);
 
             graphs[i] = generateStringLabelBipartiteGraph(n, m, u);
+            AlgorithmsHelperLab3.prepareSnapshot(graphs[i]);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs, uArray);
@@ -124,7 +132,7 @@ public class MainBipartiteRandomDense {
                     graph.printGraph();
                     break;
                 case 2:
-                    Set<String>[] partitions = getBipartitePartitions(graph);
+                    Set<String>[] partitions = getBipartitePartitions(graph, "U1");
                     SwingUtilities.invokeLater(() ->
                             BipartiteGraphVisualizer.visualizeBipartiteGraph(graph, partitions[0], partitions[1]));
                     break;
@@ -211,7 +219,7 @@ public class MainBipartiteRandomDense {
             System.out.println();
         }
 
-        System.out.println("\nMaximum stack/queue size:");
+        System.out.println("\nMaximum stack/queue size (matching size for the H-K rows):");
         System.out.printf("%" + functionNamesSpace + "s", "nValues/sizeOfU");
 
         for (int i=0; i< nValues.length; i++) {
@@ -229,6 +237,8 @@ public class MainBipartiteRandomDense {
             System.out.println();
         }
 
+        AlgorithmsHelperLab3.printParallelBFSSpeedup(graphs, nValues, "n values:", "U1", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset));
     }
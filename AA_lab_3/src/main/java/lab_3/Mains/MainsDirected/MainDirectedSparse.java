@@ -5,6 +5,8 @@ import lab_3.DFS.DepthFirstSearch;
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphVisualizer;
 import lab_3.Graph.Graph;
+import lab_3.Mains.AlgorithmsHelperLab3;
+import lab_3.SCC.StronglyConnectedComponents;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -16,6 +18,7 @@ import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import static lab_3.BFS.BFSVisualizer.visualizeBFS;
@@ -30,10 +33,20 @@ public class MainDirectedSparse {
         List<BiFunction<Graph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(DepthFirstSearch::dfs);
         functions.add(BreadthFirstSearch::bfs);
+        functions.add(AlgorithmsHelperLab3::runParallelBFS);
+        functions.add(AlgorithmsHelperLab3::runTarjanSCC);
+        functions.add(AlgorithmsHelperLab3::runKosarajuSCC);
+        functions.add(AlgorithmsHelperLab3::runParallelSCC);
+        functions.add(AlgorithmsHelperLab3::runCondensationTopologicalSort);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("lab_3/DFS");
         functNames.add("lab_3/BFS");
+        functNames.add("Par. BFS");
+        functNames.add("Tarjan");
+        functNames.add("Kosaraju");
+        functNames.add("Par. SCC");
+        functNames.add("Topo (DAG)");
 
         int functionNamesSpace = 10;
         int cellsSpace = 12;
@@ -54,6 +67,7 @@ public class MainDirectedSparse {
             int m = (int) mFloat;
 
             graphs[i] = DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, m, true);
+            AlgorithmsHelperLab3.prepareSnapshot(graphs[i]);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
@@ -105,6 +119,7 @@ public class MainDirectedSparse {
             System.out.println("\t4. Output how BFS traverses it");
             System.out.println("\t5. Show how DFS traverses it (Visual)");
             System.out.println("\t6. Show how BFS traverses it (Visual)");
+            System.out.println("\t7. Show strongly connected components");
             System.out.println("\t0. Exit graph options");
             System.out.print("Enter your choice: ");
 
@@ -133,6 +148,13 @@ public class MainDirectedSparse {
                 case 6:
                     visualizeBFS(graph, "A");
                     break;
+                case 7:
+                    List<Set<String>> components = StronglyConnectedComponents.findStronglyConnectedComponents(graph);
+                    System.out.println("\nStrongly connected components (" + components.size() + "):");
+                    for (Set<String> component : components) {
+                        System.out.println(component);
+                    }
+                    break;
                 case 0:
                     break;
                 default:
@@ -199,7 +221,7 @@ public class MainDirectedSparse {
             System.out.println();
         }
 
-        System.out.println("\nMaximum stack/queue size:");
+        System.out.println("\nMaximum stack/queue size (number of components for the SCC rows):");
         System.out.printf("%" + functionNamesSpace + "s", "n values:");
 
         for (int nValue : nValues) {
@@ -217,6 +239,8 @@ public class MainDirectedSparse {
             System.out.println();
         }
 
+        AlgorithmsHelperLab3.printParallelBFSSpeedup(graphs, nValues, "n values:", "A", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset));
     }
@@ -5,6 +5,7 @@ import lab_3.DFS.DepthFirstSearch;
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphVisualizer;
 import lab_3.Graph.Graph;
 import lab_3.KRegular.KRegularGraphGenerator;
+import lab_3.Mains.AlgorithmsHelperLab3;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -31,10 +32,12 @@ public class Main3Regular {
         List<BiFunction<Graph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(DepthFirstSearch::dfs);
         functions.add(BreadthFirstSearch::bfs);
+        functions.add(AlgorithmsHelperLab3::runParallelBFS);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("lab_3/DFS");
         functNames.add("lab_3/BFS");
+        functNames.add("Par. BFS");
 
         int functionNamesSpace = 20;
         int cellsSpace = 12;
@@ -49,6 +52,7 @@ public class Main3Regular {
 
         for (int i = 0; i < lines; i++) {
             graphs[i] = KRegularGraphGenerator.generateStringLabelKRegularGraph(nValues[i], k);
+            AlgorithmsHelperLab3.prepareSnapshot(graphs[i]);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
@@ -212,6 +216,8 @@ public class Main3Regular {
             System.out.println();
         }
 
+        AlgorithmsHelperLab3.printParallelBFSSpeedup(graphs, nValues, "n values:", "A", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset));
     }
@@ -0,0 +1,167 @@
+package lab_3.Matching;
+
+import lab_3.Bipartite.TwoColoring;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Bipartite view of an undirected IndexedGraph: the vertices of side U get ids 0..uCount-1,
+ * those of side V ids 0..vCount-1, and the edges are stored twice in CSR form, from U to V
+ * (ids in V) and from V to U (ids in U).
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class BipartiteCSR<V> {
+    private final IndexedGraph<V> graph;
+    private final int[] uVertices;
+    private final int[] vVertices;
+    private final int[] uOffsets;
+    private final int[] uTargets;
+    private final int[] vOffsets;
+    private final int[] vTargets;
+
+    private BipartiteCSR(IndexedGraph<V> graph, boolean[] inU) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Bipartite view requires an undirected graph");
+        }
+        this.graph = graph;
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // id of every graph vertex within its own side
+        int[] sideIndex = new int[n];
+        int uCount = 0;
+        for (int x = 0; x < n; x++) {
+            if (inU[x]) {
+                sideIndex[x] = uCount++;
+            }
+        }
+        int vCount = n - uCount;
+        this.uVertices = new int[uCount];
+        this.vVertices = new int[vCount];
+        for (int x = 0, u = 0, v = 0; x < n; x++) {
+            if (inU[x]) {
+                uVertices[u++] = x;
+            } else {
+                sideIndex[x] = v;
+                vVertices[v++] = x;
+            }
+        }
+
+        this.uOffsets = new int[uCount + 1];
+        this.vOffsets = new int[vCount + 1];
+        for (int x = 0; x < n; x++) {
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                if (inU[x] == inU[targets[e]]) {
+                    throw new IllegalArgumentException("Edge " + graph.vertexAt(x) + " - "
+                            + graph.vertexAt(targets[e]) + " joins two vertices of the same side");
+                }
+            }
+            if (inU[x]) {
+                uOffsets[sideIndex[x] + 1] = offsets[x + 1] - offsets[x];
+            } else {
+                vOffsets[sideIndex[x] + 1] = offsets[x + 1] - offsets[x];
+            }
+        }
+        for (int u = 0; u < uCount; u++) {
+            uOffsets[u + 1] += uOffsets[u];
+        }
+        for (int v = 0; v < vCount; v++) {
+            vOffsets[v + 1] += vOffsets[v];
+        }
+
+        this.uTargets = new int[uOffsets[uCount]];
+        this.vTargets = new int[vOffsets[vCount]];
+        for (int x = 0; x < n; x++) {
+            int[] sideTargets = inU[x] ? uTargets : vTargets;
+            int position = inU[x] ? uOffsets[sideIndex[x]] : vOffsets[sideIndex[x]];
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                sideTargets[position++] = sideIndex[targets[e]];
+            }
+        }
+    }
+
+    /**
+     * Splits the graph into its two sides by 2-coloring every connected component from its
+     * smallest id, which goes to U. Isolated vertices go to U.
+     *
+     * @param graph An undirected bipartite graph
+     * @return The bipartite view
+     * @throws IllegalArgumentException if the graph is directed or has an odd cycle
+     */
+    public static <V> BipartiteCSR<V> of(IndexedGraph<V> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Bipartite view requires an undirected graph");
+        }
+        TwoColoring coloring = TwoColoring.sequential(graph);
+        if (!coloring.isBipartite()) {
+            throw new IllegalArgumentException("Graph is not bipartite");
+        }
+        return new BipartiteCSR<>(graph, coloring.getSides());
+    }
+
+    /**
+     * @param inU Side of every vertex id, true for U
+     * @throws IllegalArgumentException if an edge joins two vertices of the same side
+     */
+    public static <V> BipartiteCSR<V> of(IndexedGraph<V> graph, boolean[] inU) {
+        if (inU.length != graph.vertexCount()) {
+            throw new IllegalArgumentException("Side array must have one entry per vertex");
+        }
+        return new BipartiteCSR<>(graph, Arrays.copyOf(inU, inU.length));
+    }
+
+    public IndexedGraph<V> getGraph() {
+        return graph;
+    }
+
+    public int uCount() {
+        return uVertices.length;
+    }
+
+    public int vCount() {
+        return vVertices.length;
+    }
+
+    public int edgeCount() {
+        return uTargets.length;
+    }
+
+    /**
+     * @return Graph id of the U vertex u
+     */
+    public int uVertex(int u) {
+        return uVertices[u];
+    }
+
+    /**
+     * @return Graph id of the V vertex v
+     */
+    public int vVertex(int v) {
+        return vVertices[v];
+    }
+
+    /**
+     * @return Neighbors of U vertex u are uTargets[uOffsets[u]] .. uTargets[uOffsets[u + 1] - 1]
+     */
+    public int[] getUOffsets() {
+        return uOffsets;
+    }
+
+    public int[] getUTargets() {
+        return uTargets;
+    }
+
+    /**
+     * @return Neighbors of V vertex v are vTargets[vOffsets[v]] .. vTargets[vOffsets[v + 1] - 1]
+     */
+    public int[] getVOffsets() {
+        return vOffsets;
+    }
+
+    public int[] getVTargets() {
+        return vTargets;
+    }
+}
@@ -0,0 +1,447 @@
+package lab_3.Matching;
+
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maximum cardinality matching of a bipartite graph with Hopcroft-Karp, O(m sqrt(n)).
+ *
+ * The matching starts from Karp-Sipser: a vertex with a single free neighbor is matched to it
+ * (that choice is always part of some maximum matching), and when no such vertex is left an
+ * arbitrary free edge is taken. On random graphs this alone is usually close to maximum.
+ * Then every phase layers the U vertices with a BFS from all free U vertices up to the first
+ * free V vertex, and a DFS along the layers finds a maximal set of vertex-disjoint shortest
+ * augmenting paths. The BFS can run level-synchronously on a ForkJoinPool, the DFS stays
+ * sequential.
+ */
+public class HopcroftKarp {
+    public static final int FREE = -1;
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    // frontiers smaller than this are expanded on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+    // chunks per pool thread, a few more than one helps with skewed degrees
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final BipartiteCSR<?> graph;
+    private final int[] uOffsets;
+    private final int[] uTargets;
+    private final ForkJoinPool pool;
+
+    private final int[] mateOfU;
+    private final int[] mateOfV;
+    private final int[] layers;
+    private int matchingSize;
+    private int initialMatchingSize;
+    private int phaseCount;
+
+    private HopcroftKarp(BipartiteCSR<?> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.uOffsets = graph.getUOffsets();
+        this.uTargets = graph.getUTargets();
+        this.pool = pool;
+        this.mateOfU = new int[graph.uCount()];
+        this.mateOfV = new int[graph.vCount()];
+        this.layers = new int[graph.uCount()];
+        Arrays.fill(mateOfU, FREE);
+        Arrays.fill(mateOfV, FREE);
+    }
+
+    public static HopcroftKarp maximumMatching(BipartiteCSR<?> graph) {
+        return maximumMatching(graph, null);
+    }
+
+    /**
+     * @param graph The bipartite view
+     * @param pool The pool the BFS phases run on, null to run them on the calling thread
+     * @return The finished matching
+     */
+    public static HopcroftKarp maximumMatching(BipartiteCSR<?> graph, ForkJoinPool pool) {
+        HopcroftKarp matching = new HopcroftKarp(graph, pool);
+        matching.karpSipser();
+        matching.initialMatchingSize = matching.matchingSize;
+        while (matching.layer()) {
+            matching.phaseCount++;
+            matching.augmentAll();
+        }
+        return matching;
+    }
+
+    /**
+     * Maximum matching of a bipartite Graph, sides found by 2-coloring.
+     *
+     * @return Map from every matched vertex of side U to its partner
+     */
+    public static <V> Map<V, V> maximumMatching(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        BipartiteCSR<V> bipartite = BipartiteCSR.of(indexed);
+        HopcroftKarp matching = maximumMatching(bipartite);
+
+        Map<V, V> pairs = new HashMap<>();
+        for (int u = 0; u < bipartite.uCount(); u++) {
+            int v = matching.mateOfU[u];
+            if (v != FREE) {
+                pairs.put(indexed.vertexAt(bipartite.uVertex(u)), indexed.vertexAt(bipartite.vVertex(v)));
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Karp-Sipser initial matching in O(m): degrees count the free neighbors, and vertices of
+     * degree 1 (on either side) are matched first.
+     */
+    private void karpSipser() {
+        int uCount = graph.uCount();
+        int vCount = graph.vCount();
+        int[] vOffsets = graph.getVOffsets();
+        int[] vTargets = graph.getVTargets();
+
+        int[] uDegrees = new int[uCount];
+        int[] vDegrees = new int[vCount];
+        // degree-1 vertices, U vertex u as u and V vertex v as uCount + v
+        int[] queue = new int[uCount + vCount];
+        int head = 0;
+        int tail = 0;
+        for (int u = 0; u < uCount; u++) {
+            uDegrees[u] = uOffsets[u + 1] - uOffsets[u];
+            if (uDegrees[u] == 1) {
+                queue[tail++] = u;
+            }
+        }
+        for (int v = 0; v < vCount; v++) {
+            vDegrees[v] = vOffsets[v + 1] - vOffsets[v];
+            if (vDegrees[v] == 1) {
+                queue[tail++] = uCount + v;
+            }
+        }
+
+        int nextU = 0;
+        while (true) {
+            int u = FREE;
+            int v = FREE;
+            if (head < tail) {
+                int x = queue[head++];
+                if (x < uCount) {
+                    if (mateOfU[x] == FREE) {
+                        u = x;
+                        v = firstFree(x, uOffsets, uTargets, mateOfV);
+                    }
+                } else if (mateOfV[x - uCount] == FREE) {
+                    v = x - uCount;
+                    u = firstFree(v, vOffsets, vTargets, mateOfU);
+                }
+            } else {
+                // no forced choice left: take any free edge
+                while (nextU < uCount && (mateOfU[nextU] != FREE || uDegrees[nextU] == 0)) {
+                    nextU++;
+                }
+                if (nextU == uCount) {
+                    break;
+                }
+                u = nextU;
+                v = firstFree(u, uOffsets, uTargets, mateOfV);
+                if (v == FREE) {
+                    // parallel edges overstated the degree
+                    uDegrees[u] = 0;
+                    continue;
+                }
+            }
+            if (u == FREE || v == FREE) {
+                continue;
+            }
+
+            mateOfU[u] = v;
+            mateOfV[v] = u;
+            matchingSize++;
+            // u and v leave the graph: their free neighbors lose one degree
+            for (int e = uOffsets[u]; e < uOffsets[u + 1]; e++) {
+                int w = uTargets[e];
+                if (mateOfV[w] == FREE && --vDegrees[w] == 1) {
+                    queue[tail++] = uCount + w;
+                }
+            }
+            for (int e = vOffsets[v]; e < vOffsets[v + 1]; e++) {
+                int w = vTargets[e];
+                if (mateOfU[w] == FREE && --uDegrees[w] == 1) {
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    private static int firstFree(int x, int[] offsets, int[] targets, int[] mates) {
+        for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+            if (mates[targets[e]] == FREE) {
+                return targets[e];
+            }
+        }
+        return FREE;
+    }
+
+    // layer of the first free V vertex reached by the last BFS
+    private int freeLayer;
+
+    /**
+     * BFS from all free U vertices. layers[u] becomes the number of matched edges on a
+     * shortest alternating path from a free U vertex to u.
+     *
+     * @return true if some free V vertex is reachable, i.e. the matching can still grow
+     */
+    private boolean layer() {
+        int uCount = graph.uCount();
+        Arrays.fill(layers, UNREACHED);
+        int[] frontier = new int[uCount];
+        int frontierSize = 0;
+        for (int u = 0; u < uCount; u++) {
+            if (mateOfU[u] == FREE) {
+                layers[u] = 0;
+                frontier[frontierSize++] = u;
+            }
+        }
+
+        if (pool != null) {
+            return parallelLayer(frontier, frontierSize);
+        }
+
+        int[] next = new int[uCount];
+        for (int level = 0; frontierSize > 0; level++) {
+            boolean foundFree = false;
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                int u = frontier[i];
+                for (int e = uOffsets[u]; e < uOffsets[u + 1]; e++) {
+                    int w = mateOfV[uTargets[e]];
+                    if (w == FREE) {
+                        foundFree = true;
+                    } else if (layers[w] == UNREACHED) {
+                        layers[w] = level + 1;
+                        next[nextSize++] = w;
+                    }
+                }
+            }
+            if (foundFree) {
+                freeLayer = level;
+                return true;
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+        return false;
+    }
+
+    private boolean parallelLayer(int[] frontier, int frontierSize) {
+        int uCount = graph.uCount();
+        AtomicLongArray claimed = new AtomicLongArray((uCount + 63) >>> 6);
+        for (int i = 0; i < frontierSize; i++) {
+            int u = frontier[i];
+            claimed.set(u >>> 6, claimed.get(u >>> 6) | (1L << u));
+        }
+
+        int[] next = new int[uCount];
+        int chunkCount = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<LayerChunk> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            chunks.add(new LayerChunk(claimed));
+        }
+
+        for (int level = 0; frontierSize > 0; level++) {
+            int used = frontierSize < SEQUENTIAL_THRESHOLD ? 1
+                    : Math.min(chunkCount, (frontierSize + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+            int step = (frontierSize + used - 1) / used;
+            List<LayerChunk> tasks = new ArrayList<>(used);
+            for (int c = 0; c < used; c++) {
+                int from = c * step;
+                int to = Math.min(frontierSize, from + step);
+                if (from >= to) {
+                    break;
+                }
+                LayerChunk chunk = chunks.get(c);
+                chunk.prepare(frontier, from, to, level + 1);
+                tasks.add(chunk);
+            }
+
+            if (tasks.size() == 1) {
+                tasks.get(0).compute();
+            } else {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+            }
+
+            // level barrier: concatenate the local buffers
+            boolean foundFree = false;
+            int nextSize = 0;
+            for (LayerChunk chunk : tasks) {
+                foundFree |= chunk.foundFree;
+                System.arraycopy(chunk.buffer, 0, next, nextSize, chunk.size);
+                nextSize += chunk.size;
+            }
+            if (foundFree) {
+                freeLayer = level;
+                return true;
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+        return false;
+    }
+
+    /**
+     * Expands frontier[from..to) into its own buffer; a U vertex is claimed with a CAS on
+     * a shared bitmap, so exactly one chunk writes its layer.
+     */
+    private class LayerChunk extends RecursiveAction {
+        private final AtomicLongArray claimed;
+        private int[] frontier;
+        private int from;
+        private int to;
+        private int nextLevel;
+        private int[] buffer = new int[64];
+        private int size;
+        private boolean foundFree;
+
+        LayerChunk(AtomicLongArray claimed) {
+            this.claimed = claimed;
+        }
+
+        void prepare(int[] frontier, int from, int to, int nextLevel) {
+            reinitialize();
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.nextLevel = nextLevel;
+            this.size = 0;
+            this.foundFree = false;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = uOffsets[u]; e < uOffsets[u + 1]; e++) {
+                    int w = mateOfV[uTargets[e]];
+                    if (w == FREE) {
+                        foundFree = true;
+                    } else if (claim(w)) {
+                        layers[w] = nextLevel;
+                        if (size == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, size * 2);
+                        }
+                        buffer[size++] = w;
+                    }
+                }
+            }
+        }
+
+        // test-and-set on the bitmap; a plain read first avoids the CAS for claimed vertices
+        private boolean claim(int u) {
+            int word = u >>> 6;
+            long bit = 1L << u;
+            long current = claimed.get(word);
+            while ((current & bit) == 0) {
+                if (claimed.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+                current = claimed.get(word);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Iterative DFS along the layers from every free U vertex. Edges that lead nowhere are
+     * skipped for the rest of the phase, and a U vertex with no way forward leaves the layering,
+     * so the phase costs O(m).
+     */
+    private void augmentAll() {
+        int uCount = graph.uCount();
+        int[] edgePointers = Arrays.copyOf(uOffsets, uCount);
+        int[] stack = new int[freeLayer + 1];
+        int[] stackEdges = new int[freeLayer + 1];
+
+        for (int root = 0; root < uCount; root++) {
+            if (mateOfU[root] != FREE || layers[root] != 0) {
+                continue;
+            }
+
+            int depth = 0;
+            stack[0] = root;
+            while (depth >= 0) {
+                int u = stack[depth];
+                if (edgePointers[u] == uOffsets[u + 1]) {
+                    layers[u] = UNREACHED;
+                    depth--;
+                    continue;
+                }
+
+                int v = uTargets[edgePointers[u]++];
+                int w = mateOfV[v];
+                if (w == FREE) {
+                    if (depth == freeLayer) {
+                        // flip the path: every U vertex on the stack takes the V vertex it went through
+                        stackEdges[depth] = v;
+                        // and leaves the layering, keeping the paths of a phase vertex-disjoint
+                        for (int k = 0; k <= depth; k++) {
+                            mateOfU[stack[k]] = stackEdges[k];
+                            mateOfV[stackEdges[k]] = stack[k];
+                            layers[stack[k]] = UNREACHED;
+                        }
+                        matchingSize++;
+                        break;
+                    }
+                } else if (depth < freeLayer && layers[w] == depth + 1) {
+                    stackEdges[depth] = v;
+                    stack[++depth] = w;
+                }
+            }
+        }
+    }
+
+    public int getMatchingSize() {
+        return matchingSize;
+    }
+
+    /**
+     * @return Size of the Karp-Sipser matching the phases started from
+     */
+    public int getInitialMatchingSize() {
+        return initialMatchingSize;
+    }
+
+    /**
+     * @return Number of BFS/DFS phases, at most about 2 sqrt(n)
+     */
+    public int getPhaseCount() {
+        return phaseCount;
+    }
+
+    /**
+     * @return Partner (V id) of every U vertex, FREE if unmatched
+     */
+    public int[] getMateOfU() {
+        return mateOfU;
+    }
+
+    /**
+     * @return Partner (U id) of every V vertex, FREE if unmatched
+     */
+    public int[] getMateOfV() {
+        return mateOfV;
+    }
+}
@@ -0,0 +1,392 @@
+package lab_3.SCC;
+
+import lab_3.Graph.ComponentLabeling;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel forward-backward (FW-BW) strongly connected components.
+ *
+ * First the graph is trimmed: vertices with no incoming or no outgoing edges left are
+ * singleton components and are peeled off repeatedly (this removes every DAG-like part,
+ * where FW-BW is slowest). The remaining vertices are split into their weakly connected
+ * components, the first partitions, so graphs made of many small components do not go
+ * through one FW-BW step per component on a shrinking "rest" partition. Then, for a
+ * partition, the vertices reachable from a pivot (F) and the vertices that reach it (B) are
+ * found by two BFS runs restricted to the partition. F ∩ B is the pivot's component, and
+ * F \ B, B \ F and the rest are independent partitions, since no component crosses them.
+ *
+ * Large F \ B and B \ F partitions are processed as separate ForkJoin tasks, up to
+ * MAX_FORK_DEPTH nested forks; everything else, including the rest, stays on the same task
+ * in a worklist, so the nesting of joins does not grow with the number of components.
+ *
+ * Every vertex belongs to exactly one live partition at a time, so tasks only write the
+ * entries of their own vertices and the shared arrays need no synchronisation. A vertex's
+ * partition is identified by its color; colors are never reused, so reading a neighbour's
+ * color while another task recolors it can never produce a false match.
+ */
+public class ParallelSCC {
+    // partitions smaller than this are not forked
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    // nested forks allowed below a weakly connected component, deeper partitions stay on their task
+    private static final int MAX_FORK_DEPTH = 16;
+    private static final int REMOVED = -1;
+
+    public static ComponentLabeling search(IndexedGraph<?> graph) {
+        return search(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph The CSR graph
+     * @param pool The pool running the partitions
+     * @return The component of every vertex (component ids are in no particular order)
+     */
+    public static ComponentLabeling search(IndexedGraph<?> graph, ForkJoinPool pool) {
+        State state = new State(graph);
+        int[] remaining = state.trim();
+
+        if (remaining.length > 0) {
+            // large weak components get a task each, small ones are batched up to the threshold
+            List<PartitionTask> tasks = new ArrayList<>();
+            List<Partition> batch = new ArrayList<>();
+            int batchSize = 0;
+            for (Partition component : state.weakComponents(remaining)) {
+                if (component.vertices.length >= SEQUENTIAL_THRESHOLD) {
+                    tasks.add(new PartitionTask(state, List.of(component), 0));
+                    continue;
+                }
+                batch.add(component);
+                batchSize += component.vertices.length;
+                if (batchSize >= SEQUENTIAL_THRESHOLD) {
+                    tasks.add(new PartitionTask(state, batch, 0));
+                    batch = new ArrayList<>();
+                    batchSize = 0;
+                }
+            }
+            if (!batch.isEmpty()) {
+                tasks.add(new PartitionTask(state, batch, 0));
+            }
+
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        return new ComponentLabeling(state.components, state.nextComponent.get());
+    }
+
+    private static class State {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final int[] reverseOffsets;
+        final int[] reverseTargets;
+
+        final int[] color;
+        final int[] components;
+        final boolean[] forwardMark;
+        final boolean[] backwardMark;
+        // color 0 is the color trim leaves on the remaining vertices
+        final AtomicInteger nextColor = new AtomicInteger(1);
+        final AtomicInteger nextComponent = new AtomicInteger();
+
+        State(IndexedGraph<?> graph) {
+            IndexedGraph<?> reverse = graph.transpose();
+            this.n = graph.vertexCount();
+            this.offsets = graph.getOffsets();
+            this.targets = graph.getTargets();
+            this.reverseOffsets = reverse.getOffsets();
+            this.reverseTargets = reverse.getTargets();
+            this.color = new int[n];
+            this.components = new int[n];
+            this.forwardMark = new boolean[n];
+            this.backwardMark = new boolean[n];
+        }
+
+        /**
+         * Peels off vertices with zero in- or out-degree (self loops do not count) as singleton components.
+         *
+         * @return The vertices that are left, all with color 0
+         */
+        int[] trim() {
+            int[] inDegree = new int[n];
+            int[] outDegree = new int[n];
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (v != u) {
+                        outDegree[u]++;
+                        inDegree[v]++;
+                    }
+                }
+            }
+
+            int[] queue = new int[n];
+            int tail = 0;
+            for (int v = 0; v < n; v++) {
+                if (inDegree[v] == 0 || outDegree[v] == 0) {
+                    color[v] = REMOVED;
+                    queue[tail++] = v;
+                }
+            }
+
+            for (int head = 0; head < tail; head++) {
+                int u = queue[head];
+                components[u] = nextComponent.getAndIncrement();
+
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (color[v] != REMOVED && --inDegree[v] == 0) {
+                        color[v] = REMOVED;
+                        queue[tail++] = v;
+                    }
+                }
+                for (int e = reverseOffsets[u]; e < reverseOffsets[u + 1]; e++) {
+                    int v = reverseTargets[e];
+                    if (color[v] != REMOVED && --outDegree[v] == 0) {
+                        color[v] = REMOVED;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int[] remaining = new int[n - tail];
+            int size = 0;
+            for (int v = 0; v < n; v++) {
+                if (color[v] != REMOVED) {
+                    remaining[size++] = v;
+                }
+            }
+            return remaining;
+        }
+
+        /**
+         * Splits the vertices left by trim (color 0) into weakly connected components, each
+         * with a color of its own, by BFS over the edges in both directions.
+         */
+        List<Partition> weakComponents(int[] remaining) {
+            List<Partition> partitions = new ArrayList<>();
+            int[] queue = new int[remaining.length];
+            for (int root : remaining) {
+                if (color[root] != 0) {
+                    continue;
+                }
+
+                int componentColor = nextColor.getAndIncrement();
+                int tail = 0;
+                color[root] = componentColor;
+                queue[tail++] = root;
+                for (int head = 0; head < tail; head++) {
+                    int u = queue[head];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = targets[e];
+                        if (color[v] == 0) {
+                            color[v] = componentColor;
+                            queue[tail++] = v;
+                        }
+                    }
+                    for (int e = reverseOffsets[u]; e < reverseOffsets[u + 1]; e++) {
+                        int v = reverseTargets[e];
+                        if (color[v] == 0) {
+                            color[v] = componentColor;
+                            queue[tail++] = v;
+                        }
+                    }
+                }
+                partitions.add(new Partition(componentColor, Arrays.copyOf(queue, tail)));
+            }
+            return partitions;
+        }
+
+        /**
+         * BFS from pivot over vertices of the given color only.
+         */
+        void reach(int pivot, int partitionColor, int partitionSize, int[] edgeOffsets, int[] edgeTargets, boolean[] mark) {
+            int[] queue = new int[partitionSize];
+            int tail = 0;
+            mark[pivot] = true;
+            queue[tail++] = pivot;
+
+            for (int head = 0; head < tail; head++) {
+                int u = queue[head];
+                for (int e = edgeOffsets[u]; e < edgeOffsets[u + 1]; e++) {
+                    int v = edgeTargets[e];
+                    if (color[v] == partitionColor && !mark[v]) {
+                        mark[v] = true;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Partition {
+        final int color;
+        final int[] vertices;
+        // the vertices neither reaching nor reached from the pivot of the partition it was split from
+        final boolean isRest;
+
+        Partition(int color, int[] vertices) {
+            this(color, vertices, false);
+        }
+
+        Partition(int color, int[] vertices, boolean isRest) {
+            this.color = color;
+            this.vertices = vertices;
+            this.isRest = isRest;
+        }
+    }
+
+    private static class PartitionTask extends RecursiveAction {
+        private final State state;
+        private final List<Partition> partitions;
+        // number of forks above this task
+        private final int depth;
+
+        PartitionTask(State state, List<Partition> partitions, int depth) {
+            this.state = state;
+            this.partitions = partitions;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            List<PartitionTask> forked = new ArrayList<>();
+            ArrayDeque<Partition> pending = new ArrayDeque<>(partitions);
+
+            while (!pending.isEmpty()) {
+                Partition partition = pending.pop();
+                for (Partition part : split(partition)) {
+                    if (!part.isRest && part.vertices.length >= SEQUENTIAL_THRESHOLD && depth < MAX_FORK_DEPTH) {
+                        PartitionTask task = new PartitionTask(state, List.of(part), depth + 1);
+                        task.fork();
+                        forked.add(task);
+                    } else {
+                        pending.push(part);
+                    }
+                }
+            }
+
+            for (PartitionTask task : forked) {
+                task.join();
+            }
+        }
+
+        /**
+         * Removes the pivot's component from the partition.
+         *
+         * @return The non-empty partitions F \ B, B \ F and the rest
+         */
+        private List<Partition> split(Partition partition) {
+            int[] members = partition.vertices;
+            int partitionColor = partition.color;
+
+            if (members.length == 1) {
+                state.color[members[0]] = REMOVED;
+                state.components[members[0]] = state.nextComponent.getAndIncrement();
+                return List.of();
+            }
+
+            int pivot = choosePivot(members);
+
+            if (members.length >= SEQUENTIAL_THRESHOLD) {
+                RecursiveAction backward = new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        state.reach(pivot, partitionColor, members.length,
+                                state.reverseOffsets, state.reverseTargets, state.backwardMark);
+                    }
+                };
+                backward.fork();
+                state.reach(pivot, partitionColor, members.length, state.offsets, state.targets, state.forwardMark);
+                backward.join();
+            } else {
+                state.reach(pivot, partitionColor, members.length, state.offsets, state.targets, state.forwardMark);
+                state.reach(pivot, partitionColor, members.length,
+                        state.reverseOffsets, state.reverseTargets, state.backwardMark);
+            }
+
+            int forwardOnly = 0;
+            int backwardOnly = 0;
+            int rest = 0;
+            for (int v : members) {
+                boolean f = state.forwardMark[v];
+                boolean b = state.backwardMark[v];
+                if (f && !b) {
+                    forwardOnly++;
+                } else if (b && !f) {
+                    backwardOnly++;
+                } else if (!f) {
+                    rest++;
+                }
+            }
+
+            int[] forwardPart = new int[forwardOnly];
+            int[] backwardPart = new int[backwardOnly];
+            int[] restPart = new int[rest];
+            int forwardColor = forwardOnly > 0 ? state.nextColor.getAndIncrement() : REMOVED;
+            int backwardColor = backwardOnly > 0 ? state.nextColor.getAndIncrement() : REMOVED;
+            int restColor = rest > 0 ? state.nextColor.getAndIncrement() : REMOVED;
+            int component = state.nextComponent.getAndIncrement();
+            forwardOnly = backwardOnly = rest = 0;
+
+            for (int v : members) {
+                boolean f = state.forwardMark[v];
+                boolean b = state.backwardMark[v];
+                state.forwardMark[v] = false;
+                state.backwardMark[v] = false;
+
+                if (f && b) {
+                    state.color[v] = REMOVED;
+                    state.components[v] = component;
+                } else if (f) {
+                    state.color[v] = forwardColor;
+                    forwardPart[forwardOnly++] = v;
+                } else if (b) {
+                    state.color[v] = backwardColor;
+                    backwardPart[backwardOnly++] = v;
+                } else {
+                    state.color[v] = restColor;
+                    restPart[rest++] = v;
+                }
+            }
+
+            List<Partition> parts = new ArrayList<>(3);
+            if (forwardOnly > 0) {
+                parts.add(new Partition(forwardColor, forwardPart));
+            }
+            if (backwardOnly > 0) {
+                parts.add(new Partition(backwardColor, backwardPart));
+            }
+            if (rest > 0) {
+                parts.add(new Partition(restColor, restPart, true));
+            }
+            return parts;
+        }
+
+        // the vertex with the largest in-degree * out-degree is likely to sit in a big component
+        private int choosePivot(int[] members) {
+            int pivot = members[0];
+            long best = -1;
+            for (int v : members) {
+                long score = (long) (state.offsets[v + 1] - state.offsets[v])
+                        * (state.reverseOffsets[v + 1] - state.reverseOffsets[v]);
+                if (score > best) {
+                    best = score;
+                    pivot = v;
+                }
+            }
+            return pivot;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package lab_3.SCC;
+
+import lab_3.DFS.IterativeDFS;
+import lab_3.Graph.ComponentLabeling;
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.*;
+
+/**
+ * Strongly connected components of directed graphs, computed on IndexedGraph ids
+ * with the iterative DFS engine (no recursion, so long paths do not overflow the stack).
+ * On undirected graphs the strongly connected components are the connected components.
+ */
+public class StronglyConnectedComponents {
+
+    /**
+     * Finds the strongly connected components of a graph, respecting edge direction.
+     *
+     * @param graph The graph
+     * @param <V> Type of vertices
+     * @return One set of vertices per component
+     */
+    public static <V> List<Set<V>> findStronglyConnectedComponents(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        return tarjan(indexed).toVertexSets(indexed);
+    }
+
+    /**
+     * Tarjan's algorithm. Components are numbered in the order they are completed, which is
+     * a reverse topological order of the condensation (component 0 has no outgoing edges
+     * to other components).
+     *
+     * @param graph The CSR graph
+     * @return The component of every vertex
+     */
+    public static ComponentLabeling tarjan(IndexedGraph<?> graph) {
+        TarjanVisitor visitor = new TarjanVisitor(graph.vertexCount());
+        IterativeDFS dfs = new IterativeDFS(graph);
+        visitor.discovery = dfs.getDiscovery();
+        dfs.searchAll(visitor);
+        return new ComponentLabeling(visitor.components, visitor.componentCount);
+    }
+
+    /**
+     * Keeps the low-link values and the stack of open vertices on top of the DFS events.
+     */
+    private static class TarjanVisitor implements IterativeDFS.Visitor {
+        private final int[] low;
+        private final int[] components;
+        private final int[] openStack;
+        private final long[] onStack;
+        private int[] discovery;
+        private int openSize;
+        private int componentCount;
+
+        TarjanVisitor(int n) {
+            this.low = new int[n];
+            this.components = new int[n];
+            this.openStack = new int[n];
+            this.onStack = new long[(n + 63) >>> 6];
+        }
+
+        @Override
+        public void discover(int vertex, int parent) {
+            low[vertex] = discovery[vertex];
+            openStack[openSize++] = vertex;
+            onStack[vertex >>> 6] |= 1L << vertex;
+        }
+
+        @Override
+        public void edge(int from, int to, int edgeIndex, byte type) {
+            // every edge into a still open component lowers the low-link: back and cross edges, and
+            // on an undirected graph the reverse of the tree edge to the parent, which is what keeps
+            // a connected component together (a tree edge proper leads to an undiscovered vertex)
+            if ((onStack[to >>> 6] & (1L << to)) != 0) {
+                low[from] = Math.min(low[from], discovery[to]);
+            }
+        }
+
+        @Override
+        public void finish(int vertex, int parent) {
+            if (low[vertex] == discovery[vertex]) {
+                int member;
+                do {
+                    member = openStack[--openSize];
+                    onStack[member >>> 6] &= ~(1L << member);
+                    components[member] = componentCount;
+                } while (member != vertex);
+                componentCount++;
+            }
+
+            if (parent >= 0) {
+                low[parent] = Math.min(low[parent], low[vertex]);
+            }
+        }
+    }
+
+    /**
+     * Kosaraju's algorithm: a DFS on the graph gives the finish order, then a DFS on the
+     * reversed graph in decreasing finish time peels off one component per tree.
+     * Components are numbered in topological order of the condensation.
+     *
+     * @param graph The CSR graph
+     * @return The component of every vertex
+     */
+    public static ComponentLabeling kosaraju(IndexedGraph<?> graph) {
+        int n = graph.vertexCount();
+        int[] postorder = new IterativeDFS(graph).searchAll().getPostorder();
+
+        IterativeDFS reverseDfs = new IterativeDFS(graph.transpose());
+        int[] preorder = reverseDfs.getPreorder();
+        int[] components = new int[n];
+        int componentCount = 0;
+
+        for (int i = n - 1; i >= 0; i--) {
+            int root = postorder[i];
+            int before = reverseDfs.getVisitedCount();
+            reverseDfs.search(root);
+            int after = reverseDfs.getVisitedCount();
+
+            if (after > before) {
+                for (int k = before; k < after; k++) {
+                    components[preorder[k]] = componentCount;
+                }
+                componentCount++;
+            }
+        }
+
+        return new ComponentLabeling(components, componentCount);
+    }
+
+    /**
+     * Builds the condensation: one vertex per component and one edge between two components
+     * whenever some edge of the graph connects them (parallel edges are merged).
+     * The result is always acyclic.
+     *
+     * @param graph The CSR graph
+     * @param components The strongly connected components of the graph
+     * @return The condensation DAG, vertex i is component i
+     */
+    public static IndexedGraph<Integer> condensation(IndexedGraph<?> graph, ComponentLabeling components) {
+        int n = graph.vertexCount();
+        int count = components.getCount();
+        int[] labels = components.getLabels();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // vertices grouped by component (counting sort)
+        int[] start = new int[count + 1];
+        for (int v = 0; v < n; v++) {
+            start[labels[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(start, count);
+        for (int v = 0; v < n; v++) {
+            members[next[labels[v]]++] = v;
+        }
+
+        // lastSeen[d] == c means edge c -> d was already emitted
+        int[] lastSeen = new int[count];
+        Arrays.fill(lastSeen, -1);
+        int[] dagOffsets = new int[count + 1];
+        int[] dagTargets = new int[Math.min(targets.length, 16)];
+        int edgeCount = 0;
+
+        for (int c = 0; c < count; c++) {
+            for (int k = start[c]; k < start[c + 1]; k++) {
+                int u = members[k];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = labels[targets[e]];
+                    if (d != c && lastSeen[d] != c) {
+                        lastSeen[d] = c;
+                        if (edgeCount == dagTargets.length) {
+                            dagTargets = Arrays.copyOf(dagTargets, edgeCount * 2);
+                        }
+                        dagTargets[edgeCount++] = d;
+                    }
+                }
+            }
+            dagOffsets[c + 1] = edgeCount;
+        }
+
+        List<Integer> componentIds = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            componentIds.add(c);
+        }
+
+        return new IndexedGraph<>(componentIds, dagOffsets, Arrays.copyOf(dagTargets, edgeCount), true);
+    }
+}
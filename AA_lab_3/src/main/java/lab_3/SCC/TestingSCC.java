@@ -0,0 +1,97 @@
+package lab_3.SCC;
+
+import lab_3.Graph.ComponentLabeling;
+import lab_3.Graph.ConnectedComponents;
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestingSCC {
+    public static void main(String[] args) {
+        // the undirected path A - B - C is one component (addEdge stores one direction, as in the generators)
+        Graph<String> path = new Graph<>(false);
+        path.addEdge("A", "B");
+        path.addEdge("B", "A");
+        path.addEdge("B", "C");
+        path.addEdge("C", "B");
+        System.out.println("Undirected path A - B - C: " + StronglyConnectedComponents.findStronglyConnectedComponents(path));
+        compare("path A - B - C", IndexedGraph.of(path));
+
+        System.out.println("\nDisjoint directed 2-cycles (one component per pair, none trimmed):");
+        for (int n : new int[]{20_000, 100_000, 200_000}) {
+            int[] from = new int[n];
+            int[] to = new int[n];
+            for (int v = 0; v < n; v++) {
+                from[v] = v;
+                to[v] = v ^ 1;
+            }
+            compare("n = " + n, IndexedGraph.fromEdges(n, from, to, true));
+        }
+
+        Random random = new Random(42);
+        System.out.println("\nRandom undirected graphs (many components, compared with ConnectedComponents too):");
+        for (int n : new int[]{1_000, 20_000, 200_000}) {
+            for (double edgesPerVertex : new double[]{0.4, 0.6, 2}) {
+                compare("n = " + n + ", m = " + edgesPerVertex + "n", randomGraph(n, (int) (edgesPerVertex * n), false, random));
+            }
+        }
+
+        System.out.println("\nRandom directed graphs:");
+        for (int n : new int[]{1_000, 20_000, 200_000}) {
+            for (double edgesPerVertex : new double[]{1, 1.5, 4}) {
+                compare("n = " + n + ", m = " + edgesPerVertex + "n", randomGraph(n, (int) (edgesPerVertex * n), true, random));
+            }
+        }
+    }
+
+    private static IndexedGraph<Integer> randomGraph(int n, int m, boolean isDirected, Random random) {
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = random.nextInt(n);
+            to[e] = random.nextInt(n);
+        }
+        return IndexedGraph.fromEdges(n, from, to, isDirected);
+    }
+
+    /**
+     * Runs Tarjan, Kosaraju and the parallel FW-BW search and checks that they find the same
+     * partition of the vertices (and the connected components, on an undirected graph).
+     */
+    private static void compare(String label, IndexedGraph<?> graph) {
+        ComponentLabeling tarjan = StronglyConnectedComponents.tarjan(graph);
+        ComponentLabeling kosaraju = StronglyConnectedComponents.kosaraju(graph);
+
+        long startTime = System.nanoTime();
+        ComponentLabeling parallel = ParallelSCC.search(graph);
+        double parallelTime = (System.nanoTime() - startTime) / 1e6;
+
+        int[] expected = canonical(kosaraju);
+        boolean matches = Arrays.equals(expected, canonical(tarjan)) && Arrays.equals(expected, canonical(parallel));
+        if (!graph.isDirected()) {
+            matches &= Arrays.equals(expected, canonical(ConnectedComponents.sequential(graph)));
+        }
+        System.out.printf("%-26s components %-8d parallel %9.2f ms%s%n", label, kosaraju.getCount(), parallelTime,
+                matches ? "" : "   MISMATCH (Tarjan " + tarjan.getCount() + ", parallel " + parallel.getCount() + ")");
+    }
+
+    /**
+     * @return The labels renumbered in order of first appearance, equal for equal partitions
+     */
+    private static int[] canonical(ComponentLabeling components) {
+        int[] labels = components.getLabels();
+        int[] renamed = new int[components.getCount()];
+        Arrays.fill(renamed, -1);
+        int[] result = new int[labels.length];
+        int next = 0;
+        for (int v = 0; v < labels.length; v++) {
+            if (renamed[labels[v]] < 0) {
+                renamed[labels[v]] = next++;
+            }
+            result[v] = renamed[labels[v]];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package lab_3.SCC;
+
+import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kahn's topological sort on IndexedGraph ids, using only int arrays.
+ */
+public class TopologicalSort {
+
+    /**
+     * Orders the vertices of a directed acyclic graph so that every edge goes forward.
+     *
+     * @param graph The graph
+     * @param <V> Type of vertices
+     * @return The vertices in topological order
+     * @throws IllegalArgumentException if the graph is undirected or has a cycle
+     */
+    public static <V> List<V> sort(Graph<V> graph) {
+        IndexedGraph<V> indexed = IndexedGraph.of(graph);
+        int[] order = kahn(indexed);
+
+        List<V> result = new ArrayList<>(order.length);
+        for (int v : order) {
+            result.add(indexed.vertexAt(v));
+        }
+        return result;
+    }
+
+    /**
+     * @param graph The CSR graph
+     * @return The ids in topological order
+     * @throws IllegalArgumentException if the graph is undirected or has a cycle
+     */
+    public static int[] kahn(IndexedGraph<?> graph) {
+        int[] order = tryKahn(graph);
+        if (order == null) {
+            throw new IllegalArgumentException("Graph contains a cycle, no topological order exists");
+        }
+        return order;
+    }
+
+    public static boolean isAcyclic(IndexedGraph<?> graph) {
+        return tryKahn(graph) != null;
+    }
+
+    // the order array doubles as the queue: order[head..tail) are the vertices ready to be emitted
+    private static int[] tryKahn(IndexedGraph<?> graph) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("Topological order is only defined for directed graphs");
+        }
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] inDegree = new int[n];
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (--inDegree[v] == 0) {
+                    order[tail++] = v;
+                }
+            }
+        }
+
+        return tail == n ? order : null;
+    }
+}
@@ -0,0 +1,400 @@
+package lab_4.ALT;
+
+import lab_4.Dijkstra.IndexedDijkstra;
+import lab_4.Dijkstra.IntMinHeap;
+import lab_4.Dijkstra.ShortestPath;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ALT (A*, Landmarks, Triangle inequality) engine for repeated point-to-point queries on the same graph.
+ *
+ * Preprocessing picks k landmarks and stores the distances from every landmark to every vertex
+ * (and, for directed graphs, from every vertex to every landmark). By the triangle inequality
+ * d(L, t) - d(L, v) and d(v, L) - d(t, L) are lower bounds on d(v, t), and the best of them over
+ * all landmarks is used as the A* heuristic, which steers the search towards the target.
+ *
+ * The tables are float arrays laid out vertex by vertex (the k values of one vertex are
+ * adjacent), so evaluating the heuristic of a vertex reads one short contiguous run.
+ * Float rounding is covered by a small slack subtracted from every bound.
+ *
+ * Queries reuse scratch arrays and reset only what they touched, so an engine is not thread-safe.
+ * The engine answers queries for the graph as it was when it was built.
+ *
+ * @param <V> Type of vertices
+ */
+public class ALTQueryEngine<V> {
+    /**
+     * How landmarks are chosen.
+     * FARTHEST: every new landmark is the vertex farthest from all landmarks chosen so far.
+     * AVOID: grows a shortest path tree from a random root and descends into the subtree whose
+     * vertices are covered worst by the current landmarks (Goldberg and Werneck).
+     */
+    public enum LandmarkSelection {
+        FARTHEST,
+        AVOID
+    }
+
+    // relative float precision is 2^-24; the bounds are differences of two table values
+    private static final double FLOAT_SLACK = 0x1p-22;
+
+    private final IndexedWeightedGraph<V> snapshot;
+    private final int n;
+    private final int landmarkCount;
+    private final int[] landmarks;
+    private final float[] fromLandmark;
+    private final float[] toLandmark;
+    private final double slack;
+
+    private final double[] gScores;
+    private final int[] parents;
+    private final double[] potentials;
+    private final int[] touched;
+    private final IntMinHeap heap;
+    private int touchedCount;
+    private int lastSettledCount;
+
+    public ALTQueryEngine(WeightedGraph<V> graph, int landmarkCount) {
+        this(graph, landmarkCount, LandmarkSelection.AVOID, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the landmark tables.
+     *
+     * @param graph The graph, weights must be non-negative
+     * @param landmarkCount The number of landmarks (at most the number of vertices)
+     * @param selection How landmarks are chosen
+     * @param pool The pool computing the landmark tables
+     */
+    public ALTQueryEngine(WeightedGraph<V> graph, int landmarkCount, LandmarkSelection selection, ForkJoinPool pool) {
+        this.snapshot = IndexedWeightedGraph.of(graph);
+        this.n = snapshot.vertexCount();
+        if (landmarkCount < 1 || landmarkCount > n) {
+            throw new IllegalArgumentException("Landmark count must be between 1 and the number of vertices");
+        }
+
+        this.landmarkCount = landmarkCount;
+        this.landmarks = new int[landmarkCount];
+        double[][] forwardDistances = selection == LandmarkSelection.FARTHEST
+                ? selectFarthest()
+                : selectAvoid();
+
+        this.fromLandmark = new float[n * landmarkCount];
+        this.toLandmark = snapshot.isDirected() ? new float[n * landmarkCount] : fromLandmark;
+        fillTables(forwardDistances, pool);
+        this.slack = FLOAT_SLACK * maxFinite(fromLandmark, toLandmark);
+
+        this.gScores = new double[n];
+        this.parents = new int[n];
+        this.potentials = new double[n];
+        this.touched = new int[n];
+        this.heap = new IntMinHeap(n);
+        Arrays.fill(gScores, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        Arrays.fill(potentials, Double.NaN);
+    }
+
+    /**
+     * Every landmark is the vertex whose distance to the closest landmark so far is largest
+     * (vertices no landmark reaches come first, so every component gets a landmark).
+     *
+     * @return The distances from every landmark, reused for the tables
+     */
+    private double[][] selectFarthest() {
+        IndexedDijkstra dijkstra = new IndexedDijkstra(snapshot);
+        double[][] distances = new double[landmarkCount][];
+        boolean[] isLandmark = new boolean[n];
+        double[] closest = new double[n];
+        Arrays.fill(closest, Double.POSITIVE_INFINITY);
+
+        // the first landmark is the vertex farthest from a fixed start vertex
+        int start = new SplittableRandom(n).nextInt(n);
+        int candidate = farthest(dijkstra.run(start).getDistances(), isLandmark);
+
+        for (int i = 0; i < landmarkCount; i++) {
+            landmarks[i] = candidate;
+            isLandmark[candidate] = true;
+            distances[i] = dijkstra.run(candidate).getDistances().clone();
+            for (int v = 0; v < n; v++) {
+                closest[v] = Math.min(closest[v], distances[i][v]);
+            }
+            candidate = farthest(closest, isLandmark);
+        }
+
+        return distances;
+    }
+
+    /**
+     * Avoid selection: the weight of a tree vertex v is how much the current landmarks
+     * underestimate d(root, v); subtrees that already contain a landmark weigh nothing.
+     * The new landmark is the leaf reached by always descending into the heaviest subtree.
+     */
+    private double[][] selectAvoid() {
+        IndexedDijkstra dijkstra = new IndexedDijkstra(snapshot);
+        SplittableRandom random = new SplittableRandom(n);
+        double[][] distances = new double[landmarkCount][];
+        boolean[] isLandmark = new boolean[n];
+        double[] subtreeSize = new double[n];
+        int[] bestChild = new int[n];
+        boolean[] coveredSubtree = new boolean[n];
+
+        for (int i = 0; i < landmarkCount; i++) {
+            int root = random.nextInt(n);
+            dijkstra.run(root);
+            double[] rootDistances = dijkstra.getDistances();
+            int[] treeParents = dijkstra.getParents();
+            int[] order = dijkstra.getSettleOrder();
+            int reached = dijkstra.getSettledCount();
+
+            for (int j = 0; j < reached; j++) {
+                int v = order[j];
+                double bound = 0.0;
+                for (int l = 0; l < i; l++) {
+                    double estimate = distances[l][v] - distances[l][root];
+                    if (estimate > bound) {
+                        bound = estimate;
+                    }
+                }
+                subtreeSize[v] = Math.max(0.0, rootDistances[v] - bound);
+                bestChild[v] = -1;
+                coveredSubtree[v] = isLandmark[v];
+            }
+
+            // children are settled after their parents, so a reverse sweep sees whole subtrees
+            for (int j = reached - 1; j > 0; j--) {
+                int v = order[j];
+                int p = treeParents[v];
+                if (coveredSubtree[v]) {
+                    subtreeSize[v] = 0.0;
+                    coveredSubtree[p] = true;
+                }
+                subtreeSize[p] += subtreeSize[v];
+                if (bestChild[p] < 0 || subtreeSize[v] > subtreeSize[bestChild[p]]) {
+                    bestChild[p] = v;
+                }
+            }
+
+            int candidate = root;
+            while (bestChild[candidate] >= 0 && subtreeSize[bestChild[candidate]] > 0.0) {
+                candidate = bestChild[candidate];
+            }
+            if (isLandmark[candidate]) {
+                // the whole tree is covered, fall back to any vertex that is not a landmark yet
+                candidate = 0;
+                while (isLandmark[candidate]) {
+                    candidate++;
+                }
+            }
+
+            landmarks[i] = candidate;
+            isLandmark[candidate] = true;
+            distances[i] = dijkstra.run(candidate).getDistances().clone();
+        }
+
+        return distances;
+    }
+
+    private int farthest(double[] distances, boolean[] excluded) {
+        int best = -1;
+        for (int v = 0; v < n; v++) {
+            if (!excluded[v] && (best < 0 || distances[v] > distances[best])) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Copies the forward distances into the float table and, for directed graphs, runs one
+     * Dijkstra per landmark on the reversed graph, each landmark as its own ForkJoin task.
+     */
+    private void fillTables(double[][] forwardDistances, ForkJoinPool pool) {
+        List<RecursiveAction> tasks = new ArrayList<>(landmarkCount);
+        IndexedWeightedGraph<V> reverse = snapshot.transpose();
+
+        for (int i = 0; i < landmarkCount; i++) {
+            int slot = i;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    copyColumn(forwardDistances[slot], fromLandmark, slot);
+                    forwardDistances[slot] = null;
+                    if (toLandmark != fromLandmark) {
+                        double[] reverseDistances = new IndexedDijkstra(reverse).run(landmarks[slot]).getDistances();
+                        copyColumn(reverseDistances, toLandmark, slot);
+                    }
+                }
+            });
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    private void copyColumn(double[] distances, float[] table, int slot) {
+        for (int v = 0; v < n; v++) {
+            table[v * landmarkCount + slot] = (float) distances[v];
+        }
+    }
+
+    private static double maxFinite(float[] first, float[] second) {
+        double max = 0.0;
+        for (float value : first) {
+            if (value != Float.POSITIVE_INFINITY && value > max) {
+                max = value;
+            }
+        }
+        if (second != first) {
+            for (float value : second) {
+                if (value != Float.POSITIVE_INFINITY && value > max) {
+                    max = value;
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Lower bound on d(v, target) from all landmarks. +infinity means v can not reach the target.
+     */
+    private double lowerBound(int v, int target) {
+        int vRow = v * landmarkCount;
+        int tRow = target * landmarkCount;
+        double best = 0.0;
+
+        for (int i = 0; i < landmarkCount; i++) {
+            // comparisons with NaN (infinity - infinity) are false, so those landmarks are skipped
+            double forward = (double) fromLandmark[tRow + i] - fromLandmark[vRow + i];
+            if (forward > best) {
+                best = forward;
+            }
+            double backward = (double) toLandmark[vRow + i] - toLandmark[tRow + i];
+            if (backward > best) {
+                best = backward;
+            }
+        }
+
+        return best == Double.POSITIVE_INFINITY ? best : Math.max(0.0, best - slack);
+    }
+
+    /**
+     * Finds the shortest path from source to destination with landmark-guided A*.
+     *
+     * @param source The source vertex
+     * @param destination The destination vertex
+     * @return The path and its distance (empty path and infinite distance if none exists)
+     */
+    public ShortestPath<V> findShortestPath(V source, V destination) {
+        int s = snapshot.indexOf(source);
+        int t = snapshot.indexOf(destination);
+        if (s < 0 || t < 0) {
+            throw new IllegalArgumentException("Source or destination vertex not found in graph");
+        }
+
+        double distance = query(s, t);
+        List<V> path = new ArrayList<>();
+        if (distance != Double.POSITIVE_INFINITY) {
+            for (int v = t; v >= 0; v = parents[v]) {
+                path.add(snapshot.vertexAt(v));
+            }
+            Collections.reverse(path);
+        }
+        return new ShortestPath<>(path, distance, lastSettledCount);
+    }
+
+    /**
+     * A* from source to target over ids. Settled vertices may be reopened, which keeps the
+     * result exact even where the float slack makes the heuristic slightly inconsistent.
+     *
+     * @return The distance, +infinity if target is unreachable
+     */
+    public double query(int source, int target) {
+        reset();
+        lastSettledCount = 0;
+
+        double sourceBound = potential(source, target);
+        if (sourceBound == Double.POSITIVE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        }
+        gScores[source] = 0.0;
+        heap.insertOrDecrease(source, sourceBound);
+
+        int[] offsets = snapshot.getOffsets();
+        int[] targets = snapshot.getTargets();
+        double[] weights = snapshot.getWeights();
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            lastSettledCount++;
+            if (u == target) {
+                return gScores[target];
+            }
+
+            double g = gScores[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double newScore = g + weights[e];
+                if (newScore < gScores[v]) {
+                    double bound = potential(v, target);
+                    if (bound == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    gScores[v] = newScore;
+                    parents[v] = u;
+                    heap.insertOrDecrease(v, newScore + bound);
+                }
+            }
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Potentials are cached per query, so a vertex is only evaluated once even if it is reopened.
+     * Every vertex gets its potential before its g-score, so this is where vertices are recorded
+     * as touched.
+     */
+    private double potential(int v, int target) {
+        double value = potentials[v];
+        if (Double.isNaN(value)) {
+            value = lowerBound(v, target);
+            potentials[v] = value;
+            touched[touchedCount++] = v;
+        }
+        return value;
+    }
+
+    private void reset() {
+        heap.clear();
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            gScores[v] = Double.POSITIVE_INFINITY;
+            parents[v] = -1;
+            potentials[v] = Double.NaN;
+        }
+        touchedCount = 0;
+    }
+
+    /**
+     * @return How many vertices the last query settled
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount;
+    }
+
+    public int[] getLandmarks() {
+        return landmarks;
+    }
+
+    public IndexedWeightedGraph<V> getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,162 @@
+package lab_4.APSP;
+
+import lab_4.Johnson.Johnson;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Memoizing distance and path queries over whole graphs.
+ *
+ * The first query on a graph computes its all-pairs result (Johnson, in parallel) into a
+ * ShortestPathMatrix; later queries are O(1) for a distance and O(path length) for a path.
+ * A cached entry remembers the modification count of the graph it was built from, so any
+ * addVertex, addEdge or removeEdge since then makes the next query recompute; edits made
+ * directly on getAdjacencyList() do not change the count, call invalidate after them. At most
+ * capacity graphs are kept, the least recently queried one is dropped first. Graphs are told
+ * apart by identity.
+ *
+ * The lock only guards the cache: a matrix is computed outside it, by the first thread that
+ * asks for it, and the other threads asking for the same graph wait on its future, so queries
+ * on other cached graphs are not blocked behind a computation.
+ */
+public class APSPQueryService {
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final ForkJoinPool pool;
+    private final LinkedHashMap<WeightedGraph<?>, Entry> entries;
+
+    public APSPQueryService() {
+        this(DEFAULT_CAPACITY, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param capacity Maximum number of graphs whose matrices are kept
+     * @param pool The pool the matrices are computed on
+     */
+    public APSPQueryService(int capacity, ForkJoinPool pool) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        this.pool = pool;
+        // access order, so iteration starts at the least recently used graph
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WeightedGraph<?>, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * All-pairs result of one version of one graph, completed by the thread that registered it.
+     */
+    private static class Entry {
+        private final int modificationCount;
+        private final CompletableFuture<ShortestPathMatrix<?>> paths = new CompletableFuture<>();
+
+        Entry(int modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
+
+    /**
+     * @param graph The weighted graph (without negative cycles)
+     * @param from The source vertex
+     * @param to The destination vertex
+     * @param <V> Type of vertices
+     * @return The shortest distance, or Double.POSITIVE_INFINITY if no path exists
+     */
+    public <V> double getShortestDistance(WeightedGraph<V> graph, V from, V to) {
+        return getShortestPaths(graph).getDistance(from, to);
+    }
+
+    /**
+     * @param graph The weighted graph (without negative cycles)
+     * @param from The source vertex
+     * @param to The destination vertex
+     * @param <V> Type of vertices
+     * @return The vertices of a shortest path from from to to, or an empty list if no path exists
+     */
+    public <V> List<V> getShortestPath(WeightedGraph<V> graph, V from, V to) {
+        return getShortestPaths(graph).getPath(from, to);
+    }
+
+    /**
+     * @param graph The weighted graph (without negative cycles)
+     * @param <V> Type of vertices
+     * @return The cached all-pairs result of the current version of the graph
+     */
+    @SuppressWarnings("unchecked")
+    public <V> ShortestPathMatrix<V> getShortestPaths(WeightedGraph<V> graph) {
+        return (ShortestPathMatrix<V>) pathsFor(graph);
+    }
+
+    /**
+     * Drops the cached matrices of a graph.
+     */
+    public synchronized void invalidate(WeightedGraph<?> graph) {
+        entries.remove(graph);
+    }
+
+    /**
+     * @return Number of graphs currently cached
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private <V> ShortestPathMatrix<?> pathsFor(WeightedGraph<V> graph) {
+        Entry entry;
+        boolean computes = false;
+        int modificationCount = graph.getModificationCount();
+        synchronized (this) {
+            entry = entries.get(graph);
+            if (entry == null || entry.modificationCount != modificationCount) {
+                entry = new Entry(modificationCount);
+                entries.put(graph, entry);
+                computes = true;
+            }
+        }
+
+        if (computes) {
+            try {
+                entry.paths.complete(compute(graph));
+            } catch (RuntimeException | Error e) {
+                // a failed computation is not cached, the next query tries again
+                synchronized (this) {
+                    entries.remove(graph, entry);
+                }
+                entry.paths.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return entry.paths.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <V> ShortestPathMatrix<V> compute(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        int n = snapshot.vertexCount();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph is too large for an n * n distance matrix");
+        }
+
+        double[] distances = new double[n * n];
+        int[] nextHops = new int[n * n];
+        Johnson.solve(snapshot, pool, distances, nextHops);
+        return ShortestPathMatrix.of(snapshot, distances, nextHops);
+    }
+}
@@ -0,0 +1,358 @@
+package lab_4.APSP;
+
+import lab_4.Dijkstra.IndexedDijkstra;
+import lab_4.Johnson.Johnson;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * All-pairs shortest paths kept up to date while the graph changes.
+ *
+ * Changes go through this class, which applies them to the graph and to the distance and
+ * successor matrices:
+ * - inserting an edge (u, v) or lowering its weight to w can only shorten paths that now use
+ *   it, so every pair is checked once against d(i, u) + w + d(v, j): O(n^2), rows in parallel;
+ * - raising the weight of (u, v) or removing it can only lengthen paths to the targets j
+ *   whose shortest path tree uses the edge. Only those columns are recomputed, each with one
+ *   backward Dijkstra from j on the reweighted graph; the potentials come from the matrix
+ *   itself, h(v) = min over u of d(u, v), and stay valid when weights go up.
+ *
+ * Successors are kept per target: every column is one tree pointing towards its target, so
+ * following successors always ends at the target, and the edge (u, v) is in the tree of j
+ * exactly when successor(u, j) = v. That test is exact, unlike comparing sums of real
+ * weights.
+ *
+ * The vertex set is fixed when the structure is built; negative weights are allowed as long
+ * as no change creates a negative cycle.
+ *
+ * @param <V> Type of vertices
+ */
+public class DynamicAPSP<V> {
+    // rows updated on the calling thread before splitting
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+    // column ranges per pool thread for the recomputations
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final WeightedGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexToIndex;
+    private final int n;
+    private final double[] distances;
+    private final int[] successors;
+    private int recomputedColumns;
+
+    public DynamicAPSP(WeightedGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the initial matrices (Johnson).
+     *
+     * @param graph The graph to maintain, without negative cycles
+     * @param pool The pool updates and recomputations run on
+     */
+    public DynamicAPSP(WeightedGraph<V> graph, ForkJoinPool pool) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        this.graph = graph;
+        this.pool = pool;
+        this.vertices = snapshot.getVertices();
+        this.n = vertices.size();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph is too large for an n * n distance matrix");
+        }
+
+        this.vertexToIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            vertexToIndex.put(vertices.get(i), i);
+        }
+
+        this.distances = new double[n * n];
+        this.successors = new int[n * n];
+        Johnson.solve(snapshot, pool, distances, successors);
+    }
+
+    /**
+     * Adds the edge from -> to (both directions if the graph is undirected).
+     *
+     * @throws IllegalArgumentException if the edge would close a negative cycle
+     */
+    public void insertEdge(V from, V to, double weight) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        checkNoNegativeCycle(u, v, weight);
+
+        graph.addEdge(from, to, weight);
+        relaxThrough(u, v, weight);
+        if (!graph.isDirected()) {
+            relaxThrough(v, u, weight);
+        }
+    }
+
+    /**
+     * Replaces all edges from -> to by a single edge of the given weight (an insertion if there
+     * was none). Lower weights are applied in O(n^2), higher ones recompute the affected columns.
+     *
+     * @throws IllegalArgumentException if the new weight would close a negative cycle
+     */
+    public void updateWeight(V from, V to, double weight) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        double oldWeight = currentWeight(from, to);
+
+        if (weight <= oldWeight) {
+            checkNoNegativeCycle(u, v, weight);
+            graph.removeEdge(from, to);
+            graph.addEdge(from, to, weight);
+            relaxThrough(u, v, weight);
+            if (!graph.isDirected()) {
+                relaxThrough(v, u, weight);
+            }
+        } else {
+            boolean[] affected = affectedColumns(u, v);
+            graph.removeEdge(from, to);
+            graph.addEdge(from, to, weight);
+            recomputeColumns(affected);
+        }
+    }
+
+    /**
+     * Removes every edge from -> to (both directions if the graph is undirected) and recomputes
+     * the columns of the targets whose shortest paths went through it.
+     *
+     * @return true if an edge was removed
+     */
+    public boolean removeEdge(V from, V to) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        if (currentWeight(from, to) == Double.POSITIVE_INFINITY) {
+            return false;
+        }
+
+        boolean[] affected = affectedColumns(u, v);
+        graph.removeEdge(from, to);
+        recomputeColumns(affected);
+        return true;
+    }
+
+    public double getDistance(V from, V to) {
+        return distances[indexOf(from) * n + indexOf(to)];
+    }
+
+    /**
+     * @return The vertices of a shortest path, or an empty list if there is none
+     */
+    public List<V> getPath(V from, V to) {
+        int s = indexOf(from);
+        int t = indexOf(to);
+
+        List<V> path = new ArrayList<>();
+        if (distances[s * n + t] == Double.POSITIVE_INFINITY) {
+            return path;
+        }
+
+        path.add(from);
+        for (int x = s; x != t; ) {
+            x = successors[x * n + t];
+            path.add(vertices.get(x));
+        }
+        return path;
+    }
+
+    /**
+     * @return A copy of the current state as a ShortestPathMatrix
+     */
+    public ShortestPathMatrix<V> toShortestPathMatrix() {
+        return new ShortestPathMatrix<>(vertices, distances.clone(), successors.clone());
+    }
+
+    /**
+     * @return Total number of columns recomputed by weight increases and removals so far
+     */
+    public int getRecomputedColumns() {
+        return recomputedColumns;
+    }
+
+    public WeightedGraph<V> getGraph() {
+        return graph;
+    }
+
+    private int indexOf(V vertex) {
+        Integer index = vertexToIndex.get(vertex);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex " + vertex + " not found in graph");
+        }
+        return index;
+    }
+
+    private double currentWeight(V from, V to) {
+        double weight = Double.POSITIVE_INFINITY;
+        for (WeightedEdge<V> edge : graph.getNeighbors(from)) {
+            if (Objects.equals(edge.target, to)) {
+                weight = Math.min(weight, edge.weight);
+            }
+        }
+        return weight;
+    }
+
+    private void checkNoNegativeCycle(int u, int v, double weight) {
+        // an undirected edge can be walked there and back
+        if (distances[v * n + u] + weight < 0 || (!graph.isDirected() && weight < 0)) {
+            throw new IllegalArgumentException("Edge " + vertices.get(u) + " -> " + vertices.get(v)
+                    + " with weight " + weight + " would close a negative cycle");
+        }
+    }
+
+    /**
+     * Lets every pair use the edge (u, v) of weight w. Row v and column u cannot change without
+     * a negative cycle, so the rows can be updated independently.
+     */
+    private void relaxThrough(int u, int v, double weight) {
+        int vRow = v * n;
+        pool.invoke(new RowRange(0, n, i -> {
+            int row = i * n;
+            double throughEdge = distances[row + u] + weight;
+            if (throughEdge == Double.POSITIVE_INFINITY) {
+                return;
+            }
+
+            int first = i == u ? v : successors[row + u];
+            for (int j = 0; j < n; j++) {
+                double candidate = throughEdge + distances[vRow + j];
+                if (candidate < distances[row + j]) {
+                    distances[row + j] = candidate;
+                    successors[row + j] = first;
+                }
+            }
+        }));
+    }
+
+    /**
+     * @return The targets whose tree uses the edge (u, v), or (v, u) when undirected
+     */
+    private boolean[] affectedColumns(int u, int v) {
+        boolean[] affected = new boolean[n];
+        for (int j = 0; j < n; j++) {
+            affected[j] = successors[u * n + j] == v || (!graph.isDirected() && successors[v * n + j] == u);
+        }
+        return affected;
+    }
+
+    /**
+     * Recomputes the marked columns with backward Dijkstra runs on the reweighted graph.
+     */
+    private void recomputeColumns(boolean[] affected) {
+        int[] columns = new int[n];
+        int count = 0;
+        for (int j = 0; j < n; j++) {
+            if (affected[j]) {
+                columns[count++] = j;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        recomputedColumns += count;
+
+        double[] potentials = new double[n];
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            for (int v = 0; v < n; v++) {
+                potentials[v] = Math.min(potentials[v], distances[row + v]);
+            }
+        }
+        IndexedWeightedGraph<V> reverse = reweightedTranspose(potentials);
+
+        int rangeCount = Math.min(count, Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<RecursiveAction> ranges = new ArrayList<>(rangeCount);
+        for (int r = 0; r < rangeCount; r++) {
+            int from = (int) ((long) count * r / rangeCount);
+            int to = (int) ((long) count * (r + 1) / rangeCount);
+            ranges.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    IndexedDijkstra dijkstra = new IndexedDijkstra(reverse);
+                    for (int c = from; c < to; c++) {
+                        int j = columns[c];
+                        double[] columnDistances = dijkstra.run(j).getDistances();
+                        int[] parents = dijkstra.getParents();
+                        for (int x = 0; x < n; x++) {
+                            double distance = columnDistances[x];
+                            distances[x * n + j] = distance == Double.POSITIVE_INFINITY
+                                    ? distance : distance - potentials[x] + potentials[j];
+                            successors[x * n + j] = parents[x];
+                        }
+                    }
+                }
+            });
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(ranges);
+            }
+        });
+    }
+
+    /**
+     * The current graph with every edge reversed and reweighted to w(x, y) + h(x) - h(y) >= 0.
+     */
+    private IndexedWeightedGraph<V> reweightedTranspose(double[] potentials) {
+        int[] offsets = new int[n + 1];
+        for (int x = 0; x < n; x++) {
+            for (WeightedEdge<V> edge : graph.getNeighbors(vertices.get(x))) {
+                offsets[vertexToIndex.get(edge.target) + 1]++;
+            }
+        }
+        for (int y = 0; y < n; y++) {
+            offsets[y + 1] += offsets[y];
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int x = 0; x < n; x++) {
+            for (WeightedEdge<V> edge : graph.getNeighbors(vertices.get(x))) {
+                int y = vertexToIndex.get(edge.target);
+                int position = next[y]++;
+                targets[position] = x;
+                // >= 0 in exact arithmetic; clamp the rounding error of non-integer weights
+                weights[position] = Math.max(0.0, edge.weight + potentials[x] - potentials[y]);
+            }
+        }
+
+        return new IndexedWeightedGraph<>(vertices, offsets, targets, weights, true);
+    }
+
+    private static class RowRange extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RowRange(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowRange(from, middle, body), new RowRange(middle, to, body));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package lab_4.APSP;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Result of an all-pairs shortest path computation: a flat distance matrix, a successor
+ * matrix (successor(s, t) is the vertex after s on a shortest path to t) and the vertex
+ * index, built once and reused by every query.
+ *
+ * The successors are stored as shorts when the graph has fewer than 32768 vertices, which
+ * halves the memory of the largest part of the result. Paths can be walked without building
+ * lists, either through a primitive iterator or a callback, and all paths from one source can
+ * be written into a single int buffer.
+ *
+ * @param <V> Type of vertices
+ */
+public class ShortestPathMatrix<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexToIndex;
+    private final int n;
+    private final double[] distances;
+    private final short[] shortSuccessors;
+    private final int[] intSuccessors;
+
+    /**
+     * @param vertices Vertex labels, the label of id i is vertices.get(i)
+     * @param distances Flat row-major matrix of n * n distances (+infinity if unreachable)
+     * @param successors Flat row-major matrix of n * n successors (-1 if there is none)
+     */
+    public ShortestPathMatrix(List<V> vertices, double[] distances, int[] successors) {
+        this.n = vertices.size();
+        if (distances.length != n * n || successors.length != n * n) {
+            throw new IllegalArgumentException("Matrices must have n * n entries");
+        }
+
+        this.vertices = List.copyOf(vertices);
+        this.vertexToIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            vertexToIndex.put(vertices.get(i), i);
+        }
+        this.distances = distances;
+
+        if (n <= Short.MAX_VALUE) {
+            this.shortSuccessors = new short[successors.length];
+            for (int i = 0; i < successors.length; i++) {
+                shortSuccessors[i] = (short) successors[i];
+            }
+            this.intSuccessors = null;
+        } else {
+            this.shortSuccessors = null;
+            this.intSuccessors = successors;
+        }
+    }
+
+    public static <V> ShortestPathMatrix<V> of(IndexedWeightedGraph<V> graph, double[] distances, int[] successors) {
+        return new ShortestPathMatrix<>(graph.getVertices(), distances, successors);
+    }
+
+    /**
+     * Converts the result map of FloydWarshall.findAllPairsShortestPaths (one pass over the matrices).
+     *
+     * @param vertices The vertices in the order used by the matrices
+     * @param result Map with the "distance" and "next" matrices
+     */
+    public static <V> ShortestPathMatrix<V> fromMatrices(List<V> vertices, Map<String, double[][]> result) {
+        double[][] dist = result.get("distance");
+        double[][] next = result.get("next");
+        int n = vertices.size();
+
+        double[] distances = new double[n * n];
+        int[] successors = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(dist[i], 0, distances, i * n, n);
+            for (int j = 0; j < n; j++) {
+                successors[i * n + j] = (int) next[i][j];
+            }
+        }
+        return new ShortestPathMatrix<>(vertices, distances, successors);
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    /**
+     * @return The id of the vertex
+     * @throws IllegalArgumentException if the vertex is not part of the graph
+     */
+    public int indexOf(V vertex) {
+        Integer index = vertexToIndex.get(vertex);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex " + vertex + " not found in graph");
+        }
+        return index;
+    }
+
+    public V vertexAt(int index) {
+        return vertices.get(index);
+    }
+
+    public List<V> getVertices() {
+        return vertices;
+    }
+
+    public double getDistance(int source, int target) {
+        return distances[source * n + target];
+    }
+
+    public double getDistance(V source, V target) {
+        return getDistance(indexOf(source), indexOf(target));
+    }
+
+    public boolean hasPath(int source, int target) {
+        return distances[source * n + target] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return The vertex after source on a shortest path to target, -1 if there is none
+     */
+    public int successor(int source, int target) {
+        int index = source * n + target;
+        return shortSuccessors != null ? shortSuccessors[index] : intSuccessors[index];
+    }
+
+    /**
+     * @return Number of vertices on the shortest path (both ends included), 0 if there is none
+     */
+    public int pathLength(int source, int target) {
+        if (!hasPath(source, target)) {
+            return 0;
+        }
+
+        int length = 1;
+        for (int v = source; v != target; v = successor(v, target)) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Calls the action for every vertex of the shortest path, source first. Nothing is called
+     * if there is no path.
+     */
+    public void forEachOnPath(int source, int target, IntConsumer action) {
+        if (!hasPath(source, target)) {
+            return;
+        }
+
+        action.accept(source);
+        for (int v = source; v != target; ) {
+            v = successor(v, target);
+            action.accept(v);
+        }
+    }
+
+    /**
+     * @return Iterator over the ids of the shortest path, source first (empty if there is none)
+     */
+    public PrimitiveIterator.OfInt pathIterator(int source, int target) {
+        return new PrimitiveIterator.OfInt() {
+            private int current = hasPath(source, target) ? source : -1;
+
+            @Override
+            public boolean hasNext() {
+                return current >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current < 0) {
+                    throw new NoSuchElementException();
+                }
+                int vertex = current;
+                current = vertex == target ? -1 : successor(vertex, target);
+                return vertex;
+            }
+        };
+    }
+
+    /**
+     * @return The shortest path as a list of vertices, empty if there is none
+     */
+    public List<V> getPath(V source, V target) {
+        List<V> path = new ArrayList<>();
+        forEachOnPath(indexOf(source), indexOf(target), v -> path.add(vertices.get(v)));
+        return path;
+    }
+
+    /**
+     * Writes the shortest paths from source to every vertex one after the other into a single
+     * buffer: the path to t occupies buffer[offsets[t]] .. buffer[offsets[t + 1] - 1] and is
+     * empty if t is unreachable. The path to source itself is just source.
+     *
+     * @param source The source id
+     * @param offsets Array of n + 1 entries that receives the start of every path
+     * @return The buffer holding all paths
+     */
+    public int[] writePathsFrom(int source, int[] offsets) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("Offsets array must have n + 1 entries");
+        }
+
+        offsets[0] = 0;
+        for (int t = 0; t < n; t++) {
+            offsets[t + 1] = offsets[t] + pathLength(source, t);
+        }
+
+        int[] buffer = new int[offsets[n]];
+        for (int t = 0; t < n; t++) {
+            int position = offsets[t];
+            if (position == offsets[t + 1]) {
+                continue;
+            }
+
+            buffer[position++] = source;
+            for (int v = source; v != t; ) {
+                v = successor(v, t);
+                buffer[position++] = v;
+            }
+        }
+        return buffer;
+    }
+}
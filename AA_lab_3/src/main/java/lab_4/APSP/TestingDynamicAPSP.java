@@ -0,0 +1,120 @@
+package lab_4.APSP;
+
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.Graph.Graph;
+import lab_4.FloydWarshall.FloydWarshall;
+import lab_4.Johnson.Johnson;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingDynamicAPSP {
+    private static final int UPDATES = 200;
+
+    public static void main(String[] args) {
+        int[] nValues = {100, 200, 400};
+        Random random = new Random(42);
+
+        System.out.println("Time per update (ms), " + UPDATES + " updates of each kind on directed graphs with 4n edges:");
+        System.out.printf("%21s", "n values:");
+        for (int n : nValues) {
+            System.out.printf("%12d", n);
+        }
+        System.out.println("\n");
+
+        String[] rowNames = {"Insert edge", "Decrease weight", "Increase weight", "Remove edge",
+                "Full Johnson", "Full Floyd-Warshall", "Columns per update", "Mismatches"};
+        double[][] rows = new double[rowNames.length][nValues.length];
+
+        for (int c = 0; c < nValues.length; c++) {
+            int n = nValues[c];
+            Graph<String> unweightedGraph = DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, 4 * n, true);
+            WeightedGraph<String> graph = convertToWeightedGraph(unweightedGraph);
+            List<String> vertices = new ArrayList<>(graph.getVertices());
+
+            DynamicAPSP<String> dynamic = new DynamicAPSP<>(graph);
+
+            long startTime = System.nanoTime();
+            for (int k = 0; k < UPDATES; k++) {
+                dynamic.insertEdge(randomVertex(vertices, random), randomVertex(vertices, random), 1 + random.nextInt(100));
+            }
+            rows[0][c] = (System.nanoTime() - startTime) / 1e6 / UPDATES;
+
+            startTime = System.nanoTime();
+            for (int k = 0; k < UPDATES; k++) {
+                String from = randomVertex(vertices, random);
+                WeightedEdge<String> edge = randomEdge(graph, from, random);
+                if (edge != null) {
+                    dynamic.updateWeight(from, edge.target, Math.max(1, edge.weight - 1 - random.nextInt(50)));
+                }
+            }
+            rows[1][c] = (System.nanoTime() - startTime) / 1e6 / UPDATES;
+
+            int columnsBefore = dynamic.getRecomputedColumns();
+            startTime = System.nanoTime();
+            for (int k = 0; k < UPDATES; k++) {
+                String from = randomVertex(vertices, random);
+                WeightedEdge<String> edge = randomEdge(graph, from, random);
+                if (edge != null) {
+                    dynamic.updateWeight(from, edge.target, edge.weight + 1 + random.nextInt(50));
+                }
+            }
+            rows[2][c] = (System.nanoTime() - startTime) / 1e6 / UPDATES;
+
+            startTime = System.nanoTime();
+            for (int k = 0; k < UPDATES; k++) {
+                String from = randomVertex(vertices, random);
+                WeightedEdge<String> edge = randomEdge(graph, from, random);
+                if (edge != null) {
+                    dynamic.removeEdge(from, edge.target);
+                }
+            }
+            rows[3][c] = (System.nanoTime() - startTime) / 1e6 / UPDATES;
+            rows[6][c] = (dynamic.getRecomputedColumns() - columnsBefore) / (2.0 * UPDATES);
+
+            startTime = System.nanoTime();
+            IndexedWeightedGraph<String> snapshot = IndexedWeightedGraph.of(graph);
+            double[] expected = Johnson.allPairs(snapshot);
+            rows[4][c] = (System.nanoTime() - startTime) / 1e6;
+
+            startTime = System.nanoTime();
+            FloydWarshall.findAllPairsShortestPaths(graph);
+            rows[5][c] = (System.nanoTime() - startTime) / 1e6;
+
+            int mismatches = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    String from = snapshot.vertexAt(i);
+                    String to = snapshot.vertexAt(j);
+                    if (dynamic.getDistance(from, to) != expected[i * n + j]) {
+                        mismatches++;
+                    }
+                }
+            }
+            rows[7][c] = mismatches;
+        }
+
+        for (int r = 0; r < rowNames.length; r++) {
+            System.out.printf("%21s", rowNames[r]);
+            for (int c = 0; c < nValues.length; c++) {
+                System.out.printf("%12.3f", rows[r][c]);
+            }
+            System.out.println();
+        }
+    }
+
+    private static String randomVertex(List<String> vertices, Random random) {
+        return vertices.get(random.nextInt(vertices.size()));
+    }
+
+    private static WeightedEdge<String> randomEdge(WeightedGraph<String> graph, String from, Random random) {
+        List<WeightedEdge<String>> edges = graph.getNeighbors(from);
+        return edges.isEmpty() ? null : edges.get(random.nextInt(edges.size()));
+    }
+}
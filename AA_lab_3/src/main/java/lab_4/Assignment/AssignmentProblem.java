@@ -0,0 +1,187 @@
+package lab_4.Assignment;
+
+import lab_3.Bipartite.TwoColoring;
+import lab_3.Graph.IndexedGraph;
+import lab_3.Matching.BipartiteCSR;
+import lab_3.Matching.HopcroftKarp;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Assignment problem read from a weighted bipartite graph: the smaller side are the rows
+ * (ids 0..rowCount-1), the other side the columns (ids 0..colCount-1), and the cost of
+ * assigning row r to column c is the weight of the edge between them. Rows are stored in
+ * CSR form, the costs of row r are costs[e] for columns targets[e], e in offsets[r] .. offsets[r + 1] - 1.
+ * Parallel edges keep their cheapest weight.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class AssignmentProblem<V> {
+    private final IndexedWeightedGraph<V> graph;
+    private final int[] rowVertices;
+    private final int[] colVertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] costs;
+    private Boolean hasCompleteAssignment;
+
+    private AssignmentProblem(IndexedWeightedGraph<V> graph, int[] rowVertices, int[] colVertices,
+                              int[] offsets, int[] targets, double[] costs) {
+        this.graph = graph;
+        this.rowVertices = rowVertices;
+        this.colVertices = colVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+    }
+
+    /**
+     * Splits the graph into its two sides with TwoColoring, the side with fewer vertices becomes the rows.
+     *
+     * @param graph An undirected weighted bipartite graph
+     * @return The assignment problem
+     * @throws IllegalArgumentException if the graph is directed or has an odd cycle
+     */
+    public static <V> AssignmentProblem<V> of(IndexedWeightedGraph<V> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Assignment requires an undirected bipartite graph");
+        }
+        int n = graph.vertexCount();
+        int[] graphOffsets = graph.getOffsets();
+        int[] graphTargets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        IndexedGraph<V> structure = new IndexedGraph<>(graph.getVertices(), graphOffsets, graphTargets, false);
+        TwoColoring coloring = TwoColoring.sequential(structure);
+        if (!coloring.isBipartite()) {
+            throw new IllegalArgumentException("Graph is not bipartite");
+        }
+        boolean[] inU = coloring.getSides();
+        int uCount = 0;
+        for (boolean side : inU) {
+            uCount += side ? 1 : 0;
+        }
+        // the rows are the smaller side
+        boolean rowSide = uCount <= n - uCount;
+
+        int[] sideIndex = new int[n];
+        int[] rowVertices = new int[rowSide ? uCount : n - uCount];
+        int[] colVertices = new int[n - rowVertices.length];
+        for (int x = 0, r = 0, c = 0; x < n; x++) {
+            if (inU[x] == rowSide) {
+                sideIndex[x] = r;
+                rowVertices[r++] = x;
+            } else {
+                sideIndex[x] = c;
+                colVertices[c++] = x;
+            }
+        }
+
+        int[] offsets = new int[rowVertices.length + 1];
+        int[] targets = new int[graphTargets.length / 2];
+        double[] costs = new double[targets.length];
+        // position of every column within the current row, to merge parallel edges
+        int[] positions = new int[colVertices.length];
+        Arrays.fill(positions, -1);
+        int size = 0;
+        for (int r = 0; r < rowVertices.length; r++) {
+            int x = rowVertices[r];
+            for (int e = graphOffsets[x]; e < graphOffsets[x + 1]; e++) {
+                int c = sideIndex[graphTargets[e]];
+                if (positions[c] >= offsets[r]) {
+                    costs[positions[c]] = Math.min(costs[positions[c]], weights[e]);
+                } else {
+                    positions[c] = size;
+                    targets[size] = c;
+                    costs[size++] = weights[e];
+                }
+            }
+            offsets[r + 1] = size;
+        }
+
+        return new AssignmentProblem<>(graph, rowVertices, colVertices, offsets,
+                Arrays.copyOf(targets, size), Arrays.copyOf(costs, size));
+    }
+
+    public static <V> AssignmentProblem<V> of(WeightedGraph<V> graph) {
+        return of(IndexedWeightedGraph.of(graph));
+    }
+
+    /**
+     * @return Row-major rowCount x colCount matrix, +infinity where there is no edge
+     */
+    public double[] toCostMatrix() {
+        int colCount = colCount();
+        double[] matrix = new double[rowCount() * colCount];
+        Arrays.fill(matrix, Double.POSITIVE_INFINITY);
+        for (int r = 0; r < rowCount(); r++) {
+            for (int e = offsets[r]; e < offsets[r + 1]; e++) {
+                matrix[r * colCount + targets[e]] = costs[e];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return true if every row can be assigned a column of its own, checked once with Hopcroft-Karp
+     */
+    public synchronized boolean hasCompleteAssignment() {
+        if (hasCompleteAssignment == null) {
+            int rowCount = rowCount();
+            int[] from = new int[targets.length];
+            int[] to = new int[targets.length];
+            for (int r = 0; r < rowCount; r++) {
+                for (int e = offsets[r]; e < offsets[r + 1]; e++) {
+                    from[e] = r;
+                    to[e] = rowCount + targets[e];
+                }
+            }
+            boolean[] inU = new boolean[rowCount + colCount()];
+            Arrays.fill(inU, 0, rowCount, true);
+            IndexedGraph<Integer> structure = IndexedGraph.fromEdges(inU.length, from, to, false);
+            hasCompleteAssignment = HopcroftKarp.maximumMatching(BipartiteCSR.of(structure, inU))
+                    .getMatchingSize() == rowCount;
+        }
+        return hasCompleteAssignment;
+    }
+
+    public IndexedWeightedGraph<V> getGraph() {
+        return graph;
+    }
+
+    public int rowCount() {
+        return rowVertices.length;
+    }
+
+    public int colCount() {
+        return colVertices.length;
+    }
+
+    /**
+     * @return Graph vertex of row r
+     */
+    public V rowVertex(int r) {
+        return graph.vertexAt(rowVertices[r]);
+    }
+
+    /**
+     * @return Graph vertex of column c
+     */
+    public V colVertex(int c) {
+        return graph.vertexAt(colVertices[c]);
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public double[] getCosts() {
+        return costs;
+    }
+}
@@ -0,0 +1,47 @@
+package lab_4.Assignment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimum cost assignment of every row of an AssignmentProblem to a distinct column.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class AssignmentResult<V> {
+    private final AssignmentProblem<V> problem;
+    private final int[] columns;
+    private final double totalCost;
+
+    AssignmentResult(AssignmentProblem<V> problem, int[] columns, double totalCost) {
+        this.problem = problem;
+        this.columns = columns;
+        this.totalCost = totalCost;
+    }
+
+    public AssignmentProblem<V> getProblem() {
+        return problem;
+    }
+
+    /**
+     * @return Column assigned to every row
+     */
+    public int[] getColumns() {
+        return columns;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * @return Map from every row vertex to the column vertex it is assigned to
+     */
+    public Map<V, V> getPairs() {
+        Map<V, V> pairs = new LinkedHashMap<>();
+        for (int r = 0; r < columns.length; r++) {
+            pairs.put(problem.rowVertex(r), problem.colVertex(columns[r]));
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,336 @@
+package lab_4.Assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bertsekas' auction algorithm for the assignment problem, on the sparse rows of the problem.
+ *
+ * Every unassigned row (person) bids for the column (object) with the best value
+ * -cost - price, raising its price by the gap to the second best plus epsilon, and each
+ * object goes to its highest bidder. The bids of a round are computed independently
+ * (Jacobi auction), so they are split over a ForkJoinPool; resolving them is a short
+ * sequential pass. Epsilon scaling runs the auction several times with a shrinking epsilon,
+ * keeping the prices.
+ *
+ * Costs are multiplied by (n + 1) internally, so the final epsilon of 1 makes the result exact
+ * for integer costs (the converter's); for other costs it is within 1 of the optimum.
+ *
+ * With more columns than rows only the rows bid (asymmetric auction, no dummy rows). A column
+ * left over must then not be more expensive than the cheapest assigned one, which prices kept
+ * from an earlier scaling phase can break, so every phase ends with reverse auction steps in
+ * which such columns bid for rows (see reverse).
+ */
+public class AuctionAlgorithm {
+    // bidders fewer than this are handled on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+    // chunks per pool thread, a few more than one helps with skewed degrees
+    private static final int CHUNKS_PER_THREAD = 4;
+    // epsilon is divided by this between scaling phases
+    private static final double SCALING_FACTOR = 5;
+
+    private final int rowCount;
+    private final int size;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] benefits;
+    private final double[] prices;
+    private final ForkJoinPool pool;
+
+    // edges by column, only built when there are more columns than rows: edge colEdges[k] from row colRows[k]
+    private final int[] colOffsets;
+    private final int[] colEdges;
+    private final int[] colRows;
+
+    private final int[] bidEdges;
+    private final double[] bidPrices;
+    // bidding rounds so far, stamps the per-object best bids
+    private int rounds;
+
+    private AuctionAlgorithm(AssignmentProblem<?> problem, ForkJoinPool pool) {
+        this.pool = pool;
+        this.rowCount = problem.rowCount();
+        this.size = problem.colCount();
+        this.offsets = problem.getOffsets();
+        this.targets = problem.getTargets();
+        double[] costs = problem.getCosts();
+
+        this.benefits = new double[targets.length];
+        for (int e = 0; e < targets.length; e++) {
+            benefits[e] = -costs[e] * (size + 1);
+        }
+
+        if (rowCount < size) {
+            this.colOffsets = new int[size + 1];
+            this.colEdges = new int[targets.length];
+            this.colRows = new int[targets.length];
+            for (int target : targets) {
+                colOffsets[target + 1]++;
+            }
+            for (int c = 0; c < size; c++) {
+                colOffsets[c + 1] += colOffsets[c];
+            }
+            int[] next = Arrays.copyOf(colOffsets, size);
+            for (int r = 0; r < rowCount; r++) {
+                for (int e = offsets[r]; e < offsets[r + 1]; e++) {
+                    int slot = next[targets[e]]++;
+                    colEdges[slot] = e;
+                    colRows[slot] = r;
+                }
+            }
+        } else {
+            this.colOffsets = null;
+            this.colEdges = null;
+            this.colRows = null;
+        }
+
+        this.prices = new double[size];
+        this.bidEdges = new int[rowCount];
+        this.bidPrices = new double[rowCount];
+    }
+
+    public static <V> AssignmentResult<V> solve(AssignmentProblem<V> problem) {
+        return solve(problem, null);
+    }
+
+    /**
+     * @param problem The problem, every row must be assignable
+     * @param pool The pool the bids run on, null to run them on the calling thread
+     * @return The minimum cost assignment
+     * @throws IllegalArgumentException if no assignment covers every row
+     */
+    public static <V> AssignmentResult<V> solve(AssignmentProblem<V> problem, ForkJoinPool pool) {
+        // on an infeasible problem the prices would rise forever
+        if (!problem.hasCompleteAssignment()) {
+            throw new IllegalArgumentException("No assignment covers every row");
+        }
+        AuctionAlgorithm auction = new AuctionAlgorithm(problem, pool);
+        int[] assignedEdges = auction.run();
+
+        int[] columns = new int[problem.rowCount()];
+        double totalCost = 0;
+        double[] costs = problem.getCosts();
+        for (int r = 0; r < columns.length; r++) {
+            columns[r] = auction.targets[assignedEdges[r]];
+            totalCost += costs[assignedEdges[r]];
+        }
+        return new AssignmentResult<>(problem, columns, totalCost);
+    }
+
+    /**
+     * @return Edge assigned to every person (row)
+     */
+    private int[] run() {
+        double maxBenefit = 0;
+        for (double benefit : benefits) {
+            maxBenefit = Math.max(maxBenefit, Math.abs(benefit));
+        }
+
+        int[] assignedEdges = new int[rowCount];
+        int[] owners = new int[size];
+        int[] unassigned = new int[rowCount];
+        int[] nextUnassigned = new int[rowCount];
+        // best bid of every object in the current round, valid where bidRounds[object] == rounds
+        int[] bidRounds = new int[size];
+        int[] bestBidders = new int[size];
+        int[] touched = new int[size];
+        Arrays.fill(bidRounds, -1);
+
+        List<BidChunk> chunks = new ArrayList<>();
+        if (pool != null) {
+            for (int c = 0; c < Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD); c++) {
+                chunks.add(new BidChunk());
+            }
+        }
+
+        double epsilon = Math.max(1, maxBenefit / SCALING_FACTOR);
+        while (true) {
+            Arrays.fill(owners, -1);
+            for (int p = 0; p < rowCount; p++) {
+                unassigned[p] = p;
+            }
+            int unassignedCount = rowCount;
+
+            while (unassignedCount > 0) {
+                bid(unassigned, unassignedCount, epsilon, chunks);
+
+                int touchedCount = 0;
+                for (int k = 0; k < unassignedCount; k++) {
+                    int object = targets[bidEdges[k]];
+                    if (bidRounds[object] != rounds) {
+                        bidRounds[object] = rounds;
+                        bestBidders[object] = k;
+                        touched[touchedCount++] = object;
+                    } else if (bidPrices[k] > bidPrices[bestBidders[object]]) {
+                        bestBidders[object] = k;
+                    }
+                }
+
+                int nextCount = 0;
+                for (int k = 0; k < unassignedCount; k++) {
+                    if (bestBidders[targets[bidEdges[k]]] != k) {
+                        nextUnassigned[nextCount++] = unassigned[k];
+                    }
+                }
+                for (int t = 0; t < touchedCount; t++) {
+                    int object = touched[t];
+                    int k = bestBidders[object];
+                    if (owners[object] != -1) {
+                        nextUnassigned[nextCount++] = owners[object];
+                    }
+                    owners[object] = unassigned[k];
+                    assignedEdges[unassigned[k]] = bidEdges[k];
+                    prices[object] = bidPrices[k];
+                }
+
+                int[] swap = unassigned;
+                unassigned = nextUnassigned;
+                nextUnassigned = swap;
+                unassignedCount = nextCount;
+                rounds++;
+            }
+            if (rowCount < size) {
+                reverse(assignedEdges, owners, epsilon);
+            }
+
+            if (epsilon == 1) {
+                return assignedEdges;
+            }
+            epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+        }
+    }
+
+    /**
+     * Reverse auction steps after the forward auction has assigned every row (Bertsekas'
+     * asymmetric assignment). Lambda is the lowest price of an assigned column; a column left
+     * over with a higher price bids for the rows: if no row would gain more than epsilon by
+     * taking it at lambda, its price drops to lambda, otherwise the row that gains most takes
+     * it, at the price where the second best row would gain epsilon (but not below lambda), and
+     * the column that row leaves is left over in turn. Every such move raises the profit of a
+     * row by at least epsilon, so the steps end.
+     */
+    private void reverse(int[] assignedEdges, int[] owners, double epsilon) {
+        // profit of every row: its benefit minus the price of its column
+        double[] profits = new double[rowCount];
+        double lambda = Double.POSITIVE_INFINITY;
+        for (int p = 0; p < rowCount; p++) {
+            int object = targets[assignedEdges[p]];
+            profits[p] = benefits[assignedEdges[p]] - prices[object];
+            lambda = Math.min(lambda, prices[object]);
+        }
+
+        int[] pending = new int[size];
+        int pendingCount = 0;
+        for (int object = 0; object < size; object++) {
+            if (owners[object] == -1 && prices[object] > lambda) {
+                pending[pendingCount++] = object;
+            }
+        }
+
+        while (pendingCount > 0) {
+            int object = pending[--pendingCount];
+            int bestSlot = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double secondValue = Double.NEGATIVE_INFINITY;
+            for (int k = colOffsets[object]; k < colOffsets[object + 1]; k++) {
+                double value = benefits[colEdges[k]] - profits[colRows[k]];
+                if (value > bestValue) {
+                    secondValue = bestValue;
+                    bestValue = value;
+                    bestSlot = k;
+                } else if (value > secondValue) {
+                    secondValue = value;
+                }
+            }
+
+            if (bestSlot == -1 || lambda >= bestValue - epsilon) {
+                prices[object] = lambda;
+                continue;
+            }
+
+            int person = colRows[bestSlot];
+            int previous = targets[assignedEdges[person]];
+            prices[object] = Math.max(lambda, secondValue - epsilon);
+            profits[person] = benefits[colEdges[bestSlot]] - prices[object];
+            assignedEdges[person] = colEdges[bestSlot];
+            owners[object] = person;
+            owners[previous] = -1;
+            if (prices[previous] > lambda) {
+                pending[pendingCount++] = previous;
+            }
+        }
+    }
+
+    private void bid(int[] bidders, int count, double epsilon, List<BidChunk> chunks) {
+        if (chunks.isEmpty() || count < SEQUENTIAL_THRESHOLD) {
+            bidRange(bidders, 0, count, epsilon);
+            return;
+        }
+
+        int used = Math.min(chunks.size(), (count + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+        int step = (count + used - 1) / used;
+        List<BidChunk> tasks = new ArrayList<>(used);
+        for (int c = 0; c < used && c * step < count; c++) {
+            BidChunk chunk = chunks.get(c);
+            chunk.prepare(bidders, c * step, Math.min(count, (c + 1) * step), epsilon);
+            tasks.add(chunk);
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Bids of bidders[from..to), written to bidEdges and bidPrices at the same positions.
+     */
+    private void bidRange(int[] bidders, int from, int to, double epsilon) {
+        for (int k = from; k < to; k++) {
+            int person = bidders[k];
+            int bestEdge = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double secondValue = Double.NEGATIVE_INFINITY;
+            for (int e = offsets[person]; e < offsets[person + 1]; e++) {
+                double value = benefits[e] - prices[targets[e]];
+                if (value > bestValue) {
+                    secondValue = bestValue;
+                    bestValue = value;
+                    bestEdge = e;
+                } else if (value > secondValue) {
+                    secondValue = value;
+                }
+            }
+            // a person with a single object only has to outbid by epsilon
+            if (secondValue == Double.NEGATIVE_INFINITY) {
+                secondValue = bestValue;
+            }
+            bidEdges[k] = bestEdge;
+            bidPrices[k] = prices[targets[bestEdge]] + bestValue - secondValue + epsilon;
+        }
+    }
+
+    private class BidChunk extends RecursiveAction {
+        private int[] bidders;
+        private int from;
+        private int to;
+        private double epsilon;
+
+        void prepare(int[] bidders, int from, int to, double epsilon) {
+            reinitialize();
+            this.bidders = bidders;
+            this.from = from;
+            this.to = to;
+            this.epsilon = epsilon;
+        }
+
+        @Override
+        protected void compute() {
+            bidRange(bidders, from, to, epsilon);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package lab_4.Assignment;
+
+import java.util.Arrays;
+
+/**
+ * Hungarian algorithm with potentials (Kuhn-Munkres, in the shortest augmenting path form), O(rows² cols).
+ *
+ * Rows are added one at a time; for each, a Dijkstra-like scan over the columns with reduced
+ * costs cost[r][c] - rowPotential[r] - colPotential[c] finds the cheapest augmenting path, and
+ * the potentials are moved so that all reduced costs stay non-negative. The matrix is a flat
+ * row-major double[], so the inner loop is a sequential scan of one row.
+ */
+public class HungarianAlgorithm {
+
+    /**
+     * @param cost Row-major rows x cols cost matrix, +infinity for forbidden pairs
+     * @param rows Number of rows, not larger than cols
+     * @param cols Number of columns
+     * @return Column assigned to every row
+     * @throws IllegalArgumentException if the sizes do not fit or some row can not be assigned
+     */
+    public static int[] solve(double[] cost, int rows, int cols) {
+        if (rows > cols || cost.length != rows * cols) {
+            throw new IllegalArgumentException("Cost matrix must be rows x cols with rows <= cols");
+        }
+
+        // 1-based: column 0 is a virtual column holding the row being added
+        double[] rowPotentials = new double[rows + 1];
+        double[] colPotentials = new double[cols + 1];
+        int[] rowOfCol = new int[cols + 1];
+        int[] previousCol = new int[cols + 1];
+        double[] minReduced = new double[cols + 1];
+        boolean[] used = new boolean[cols + 1];
+
+        for (int r = 1; r <= rows; r++) {
+            rowOfCol[0] = r;
+            int col = 0;
+            Arrays.fill(minReduced, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[col] = true;
+                int row = rowOfCol[col];
+                int rowStart = (row - 1) * cols - 1;
+                double delta = Double.POSITIVE_INFINITY;
+                int nextCol = -1;
+                for (int c = 1; c <= cols; c++) {
+                    if (!used[c]) {
+                        double reduced = cost[rowStart + c] - rowPotentials[row] - colPotentials[c];
+                        if (reduced < minReduced[c]) {
+                            minReduced[c] = reduced;
+                            previousCol[c] = col;
+                        }
+                        if (minReduced[c] < delta) {
+                            delta = minReduced[c];
+                            nextCol = c;
+                        }
+                    }
+                }
+                if (nextCol == -1) {
+                    throw new IllegalArgumentException("No assignment covers every row");
+                }
+
+                for (int c = 0; c <= cols; c++) {
+                    if (used[c]) {
+                        rowPotentials[rowOfCol[c]] += delta;
+                        colPotentials[c] -= delta;
+                    } else {
+                        minReduced[c] -= delta;
+                    }
+                }
+                col = nextCol;
+            } while (rowOfCol[col] != 0);
+
+            // flip the augmenting path back to the virtual column
+            do {
+                int previous = previousCol[col];
+                rowOfCol[col] = rowOfCol[previous];
+                col = previous;
+            } while (col != 0);
+        }
+
+        int[] columns = new int[rows];
+        for (int c = 1; c <= cols; c++) {
+            if (rowOfCol[c] != 0) {
+                columns[rowOfCol[c] - 1] = c - 1;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Runs on the dense matrix of the problem, the right choice for dense and complete graphs.
+     */
+    public static <V> AssignmentResult<V> solve(AssignmentProblem<V> problem) {
+        double[] matrix = problem.toCostMatrix();
+        int[] columns = solve(matrix, problem.rowCount(), problem.colCount());
+        double totalCost = 0;
+        for (int r = 0; r < columns.length; r++) {
+            totalCost += matrix[r * problem.colCount() + columns[r]];
+        }
+        return new AssignmentResult<>(problem, columns, totalCost);
+    }
+}
@@ -0,0 +1,101 @@
+package lab_4.Assignment;
+
+import lab_3.Bipartite.BipartiteGraphGenerator;
+import lab_3.Graph.Graph;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingAssignment {
+    public static void main(String[] args) {
+        // complete graphs with the sizes of lab_5 MainBipartiteEqualComplete (equal sets, U = n/2)
+        System.out.println("Complete bipartite graphs (Equal sets):");
+        int[] nValues = {30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200, 1600};
+        for (int n : nValues) {
+            Graph<String> graph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, (n / 2) * (n - n / 2), n / 2);
+            compare("n = " + n, AssignmentProblem.of(convertToWeightedGraph(graph)), true);
+        }
+
+        // unequal sides: the auction runs asymmetric, Hungarian pads the matrix
+        System.out.println("\nComplete bipartite graphs (U = n/4):");
+        for (int n : new int[]{40, 100, 400, 800, 1600}) {
+            Graph<String> graph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, (n / 4) * (n - n / 4), n / 4);
+            compare("n = " + n, AssignmentProblem.of(convertToWeightedGraph(graph)), true);
+        }
+
+        System.out.println("\nSparse bipartite graphs with unequal sides, 8 edges per row:");
+        Random unequalRandom = new Random(7);
+        for (int[] sides : new int[][]{{200, 1000}, {1000, 3000}, {2000, 100_000}}) {
+            compare(sides[0] + " x " + sides[1], AssignmentProblem.of(IndexedWeightedGraph.of(
+                    sparseGraph(sides[0], sides[1], unequalRandom))), sides[1] <= 3000);
+        }
+
+        // sparse graphs past what the dense matrix can hold
+        System.out.println("\nSparse bipartite graphs, 8 edges per row:");
+        Random random = new Random(42);
+        for (int side : new int[]{10_000, 50_000, 200_000}) {
+            compare("side = " + side, AssignmentProblem.of(IndexedWeightedGraph.of(sparseGraph(side, side, random))), false);
+        }
+    }
+
+    /**
+     * Every one of the rows gets the column of a random permutation plus 7 random columns,
+     * so a complete assignment of the rows exists; the columns left over by the permutation
+     * get an edge from a random row, so none of them is isolated and the two-coloring finds
+     * the sides.
+     */
+    private static WeightedGraph<Integer> sparseGraph(int rows, int cols, Random random) {
+        WeightedGraph<Integer> graph = new WeightedGraph<>(false);
+        for (int v = 0; v < rows + cols; v++) {
+            graph.addVertex(v);
+        }
+        int[] permutation = new int[cols];
+        for (int i = 0; i < cols; i++) {
+            int j = random.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+        for (int u = 0; u < rows; u++) {
+            graph.addEdge(u, rows + permutation[u], 1 + random.nextInt(100));
+            for (int k = 1; k < 8; k++) {
+                graph.addEdge(u, rows + random.nextInt(cols), 1 + random.nextInt(100));
+            }
+        }
+        for (int i = rows; i < cols; i++) {
+            graph.addEdge(random.nextInt(rows), rows + permutation[i], 1 + random.nextInt(100));
+        }
+        return graph;
+    }
+
+    private static void compare(String label, AssignmentProblem<?> problem, boolean runHungarian) {
+        System.out.printf("%-16s", label);
+        double expected = Double.NaN;
+        if (runHungarian) {
+            long startTime = System.nanoTime();
+            expected = HungarianAlgorithm.solve(problem).getTotalCost();
+            System.out.printf("Hungarian %9.2f ms   ", (System.nanoTime() - startTime) / 1e6);
+        }
+
+        long startTime = System.nanoTime();
+        double sequential = AuctionAlgorithm.solve(problem).getTotalCost();
+        System.out.printf("Auction %9.2f ms   ", (System.nanoTime() - startTime) / 1e6);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        try {
+            startTime = System.nanoTime();
+            double parallel = AuctionAlgorithm.solve(problem, pool).getTotalCost();
+            System.out.printf("Auction, %d %s %9.2f ms   ", cores, cores == 1 ? "core" : "cores",
+                    (System.nanoTime() - startTime) / 1e6);
+
+            boolean matches = sequential == parallel && (!runHungarian || sequential == expected);
+            System.out.println("cost " + (long) sequential + (matches ? "" : "   MISMATCH"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
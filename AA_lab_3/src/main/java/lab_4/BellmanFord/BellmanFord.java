@@ -0,0 +1,223 @@
+package lab_4.BellmanFord;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Queue-based Bellman-Ford from a virtual source joined to every vertex by a zero edge,
+ * with Tarjan's subtree disassembly for negative-cycle detection.
+ *
+ * The current shortest path tree is kept as a preorder list with depths, so the subtree of a
+ * vertex is the vertex followed by the next entries deeper than it. When an edge (u, v)
+ * lowers d(v), the old subtree of v is cut out: if u is in it, the tree plus (u, v) closes a
+ * cycle of negative length and the search stops at once; otherwise the cut vertices leave
+ * the tree, their distances are known to be too large, and they are not scanned again until
+ * they are relabeled. This both finds a cycle as soon as the parent pointers contain one and
+ * saves the scans the plain queue algorithm wastes on outdated distances, so on typical
+ * graphs the cost is close to O(m) instead of the O(nm) worst case.
+ */
+public class BellmanFord {
+    private final double[] distances;
+    private final int[] negativeCycle;
+    private final long scanCount;
+
+    private BellmanFord(double[] distances, int[] negativeCycle, long scanCount) {
+        this.distances = distances;
+        this.negativeCycle = negativeCycle;
+        this.scanCount = scanCount;
+    }
+
+    /**
+     * Finds a negative cycle of the graph. For undirected graphs every edge can be used both
+     * ways, so a single negative edge already is one.
+     *
+     * @param graph The weighted graph
+     * @param <V> Type of vertices
+     * @return The vertices of a negative cycle in order (the last one has an edge to the first),
+     * or an empty list if there is none
+     */
+    public static <V> List<V> findNegativeCycle(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        BellmanFord result = fromVirtualSource(snapshot);
+
+        List<V> cycle = new ArrayList<>();
+        if (result.hasNegativeCycle()) {
+            for (int v : result.getNegativeCycle()) {
+                cycle.add(snapshot.vertexAt(v));
+            }
+        }
+        return cycle;
+    }
+
+    /**
+     * Runs the search from the virtual source over ids.
+     *
+     * @param graph The CSR graph
+     * @return The result: a negative cycle, or the distances from the virtual source, which
+     * are potentials h with w(u, v) + h(u) - h(v) >= 0 for every edge
+     */
+    public static BellmanFord fromVirtualSource(IndexedWeightedGraph<?> graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] distances = new double[n];
+
+        boolean hasNegative = false;
+        for (double weight : weights) {
+            if (weight < 0) {
+                hasNegative = true;
+                break;
+            }
+        }
+        if (!hasNegative) {
+            // the zero edges of the virtual source are already shortest
+            return new BellmanFord(distances, null, 0);
+        }
+
+        // the virtual source is vertex n; the preorder list is circular through it
+        int root = n;
+        int[] parents = new int[n + 1];
+        int[] depths = new int[n + 1];
+        int[] next = new int[n + 1];
+        int[] previous = new int[n + 1];
+        boolean[] inTree = new boolean[n + 1];
+        boolean[] inQueue = new boolean[n];
+        ArrayDeque<Integer> queue = new ArrayDeque<>(n);
+
+        parents[root] = -1;
+        inTree[root] = true;
+        next[root] = n == 0 ? root : 0;
+        previous[root] = n == 0 ? root : n - 1;
+        for (int v = 0; v < n; v++) {
+            parents[v] = root;
+            depths[v] = 1;
+            next[v] = v + 1 < n ? v + 1 : root;
+            previous[v] = v > 0 ? v - 1 : root;
+            inTree[v] = true;
+            inQueue[v] = true;
+            queue.add(v);
+        }
+
+        long scanCount = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            inQueue[u] = false;
+            // cut out of the tree since it was queued: its distance is outdated, it will be queued again
+            if (!inTree[u]) {
+                continue;
+            }
+            scanCount++;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double candidate = distances[u] + weights[e];
+                if (candidate >= distances[v]) {
+                    continue;
+                }
+
+                if (v == u) {
+                    return new BellmanFord(null, new int[]{u}, scanCount);
+                }
+
+                if (inTree[v]) {
+                    // cut the subtree of v out of the preorder list
+                    int w = next[v];
+                    while (w != root && depths[w] > depths[v]) {
+                        if (w == u) {
+                            return new BellmanFord(null, cycleThrough(parents, v, u), scanCount);
+                        }
+                        inTree[w] = false;
+                        w = next[w];
+                    }
+                    next[previous[v]] = w;
+                    previous[w] = previous[v];
+                }
+
+                // hang v (alone) right after u
+                distances[v] = candidate;
+                parents[v] = u;
+                depths[v] = depths[u] + 1;
+                inTree[v] = true;
+                int after = next[u];
+                next[u] = v;
+                previous[v] = u;
+                next[v] = after;
+                previous[after] = v;
+
+                if (!inQueue[v]) {
+                    inQueue[v] = true;
+                    queue.add(v);
+                }
+            }
+        }
+
+        return new BellmanFord(distances, null, scanCount);
+    }
+
+    /**
+     * The tree path from v down to u, closed by the edge (u, v).
+     */
+    private static int[] cycleThrough(int[] parents, int v, int u) {
+        int length = 1;
+        for (int w = u; w != v; w = parents[w]) {
+            length++;
+        }
+
+        int[] cycle = new int[length];
+        int position = length - 1;
+        for (int w = u; w != v; w = parents[w]) {
+            cycle[position--] = w;
+        }
+        cycle[0] = v;
+        return cycle;
+    }
+
+    public boolean hasNegativeCycle() {
+        return negativeCycle != null;
+    }
+
+    /**
+     * @return The ids of a negative cycle in order, or null if there is none
+     */
+    public int[] getNegativeCycle() {
+        return negativeCycle;
+    }
+
+    /**
+     * @return Distances from the virtual source (all <= 0), or null if a negative cycle was found
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return Number of vertex scans performed, n per round for the textbook algorithm
+     */
+    public long getScanCount() {
+        return scanCount;
+    }
+
+    public static void main(String[] args) {
+        WeightedGraph<String> graph = new WeightedGraph<>(true);
+
+        graph.addVertex("1");
+        graph.addVertex("2");
+        graph.addVertex("3");
+        graph.addVertex("4");
+
+        graph.addEdge("1", "3", -2);
+        graph.addEdge("2", "1", 4);
+        graph.addEdge("2", "3", 3);
+        graph.addEdge("3", "4", 2);
+        graph.addEdge("4", "2", -1);
+
+        System.out.println("Negative cycle: " + findNegativeCycle(graph));
+
+        // 1 -> 3 -> 4 -> 2 -> 1 now has length -2 + 2 - 1 + 0 = -1
+        graph.addEdge("2", "1", 0);
+        System.out.println("Negative cycle after adding 2 -> 1 (0): " + findNegativeCycle(graph));
+    }
+}
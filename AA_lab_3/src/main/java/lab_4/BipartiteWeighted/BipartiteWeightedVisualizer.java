@@ -1,6 +1,9 @@
 package lab_4.BipartiteWeighted;
 
+import lab_3.Bipartite.TwoColoring;
 import lab_3.Graph.Graph;
+import lab_3.Graph.IndexedGraph;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedGraph;
 import lab_4.WeightedGraph.WeightedEdge;
 
@@ -381,19 +384,10 @@ public class BipartiteWeightedVisualizer extends JFrame {
      * Example main method to demonstrate the bipartite weighted graph visualizer.
      */
     public static <V> Set<V>[] getBipartiteWeightedPartitions(WeightedGraph<V> graph) {
-        Set<V> setU = new HashSet<>();
-        Set<V> setV = new HashSet<>();
-
-        for (V vertex : graph.getVertices()) {
-            String name = vertex.toString();
-            if (name.startsWith("U")) {
-                setU.add(vertex);
-            } else if (name.startsWith("V")) {
-                setV.add(vertex);
-            }
-        }
-
-        return new Set[]{setU, setV};
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        IndexedGraph<V> structure = new IndexedGraph<>(snapshot.getVertices(), snapshot.getOffsets(),
+                snapshot.getTargets(), snapshot.isDirected());
+        return TwoColoring.sequential(structure).toPartitions(structure);
     }
 
     public static void main(String[] args) {
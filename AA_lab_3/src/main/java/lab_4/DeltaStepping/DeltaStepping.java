@@ -0,0 +1,394 @@
+package lab_4.DeltaStepping;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel single-source shortest paths with delta-stepping (Meyer and Sanders).
+ *
+ * Tentative distances are grouped into buckets of width delta. The smallest non-empty
+ * bucket is emptied in phases: all its vertices relax their light edges (weight <= delta)
+ * in parallel, which may put vertices back into the same bucket, until the bucket stays
+ * empty; then the heavy edges of every vertex removed from the bucket are relaxed once.
+ * Within a phase the vertices are split into chunks that run on a ForkJoinPool, and a
+ * distance is lowered with a CAS on an AtomicLongArray holding the raw bits of the
+ * doubles (for non-negative doubles, the bit patterns order like the values).
+ *
+ * Every distance is the sum of the edge weights along a shortest path, added in path
+ * order, exactly as in Dijkstra, so for integer weights the results are identical.
+ */
+public class DeltaStepping {
+    // frontiers smaller than this are relaxed on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+    // chunks per pool thread, a few more than one helps with skewed degrees
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MAX_BUCKETS = 1 << 22;
+
+    /**
+     * Same contract as DijkstraAlgorithm.findShortestPaths.
+     *
+     * @param graph The graph, weights must be non-negative
+     * @param source The source vertex
+     * @param <V> Type of vertices
+     * @return The shortest distance to every vertex (+infinity if unreachable)
+     */
+    public static <V> Map<V, Double> findShortestPaths(WeightedGraph<V> graph, V source) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        int s = snapshot.indexOf(source);
+        if (s < 0) {
+            throw new IllegalArgumentException("Source vertex not found in graph");
+        }
+
+        double[] distances = search(snapshot, s);
+        Map<V, Double> result = new HashMap<>(distances.length * 2);
+        for (int v = 0; v < distances.length; v++) {
+            result.put(snapshot.vertexAt(v), distances[v]);
+        }
+        return result;
+    }
+
+    public static double[] search(IndexedWeightedGraph<?> graph, int source) {
+        return search(graph, source, chooseDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Picks delta from the weight range and the average degree: with weights spread over
+     * [min, max] and d edges per vertex, a bucket of width max / d holds about one light
+     * edge per vertex, which keeps the number of re-relaxations low while each bucket still
+     * has enough vertices to work on in parallel. Delta never goes below the smallest
+     * positive weight (below that the buckets only get emptier).
+     *
+     * @param graph The CSR graph
+     * @return The bucket width
+     */
+    public static double chooseDelta(IndexedWeightedGraph<?> graph) {
+        double maxWeight = 0.0;
+        double minPositiveWeight = Double.POSITIVE_INFINITY;
+        for (double weight : graph.getWeights()) {
+            maxWeight = Math.max(maxWeight, weight);
+            if (weight > 0.0) {
+                minPositiveWeight = Math.min(minPositiveWeight, weight);
+            }
+        }
+
+        if (maxWeight == 0.0) {
+            return 1.0;
+        }
+
+        double averageDegree = Math.max(1.0, (double) graph.edgeCount() / Math.max(1, graph.vertexCount()));
+        return Math.max(minPositiveWeight, maxWeight / averageDegree);
+    }
+
+    /**
+     * @param graph The CSR graph, weights must be non-negative
+     * @param source The source id
+     * @param delta The bucket width
+     * @param pool The pool running the relaxations
+     * @return The shortest distance to every id (+infinity if unreachable)
+     */
+    public static double[] search(IndexedWeightedGraph<?> graph, int source, double delta, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source id out of range");
+        }
+        if (!(delta > 0.0)) {
+            throw new IllegalArgumentException("Delta must be positive");
+        }
+
+        return new Run(graph, delta, pool).execute(source);
+    }
+
+    /**
+     * State of one search. The edges are reordered so that the light edges of every vertex
+     * come first: v's light edges are offsets[v] .. lightEnd[v] - 1 and its heavy edges
+     * lightEnd[v] .. offsets[v + 1] - 1.
+     */
+    private static class Run {
+        private final int n;
+        private final int[] offsets;
+        private final int[] lightEnd;
+        private final int[] targets;
+        private final double[] weights;
+        private final double delta;
+        private final ForkJoinPool pool;
+
+        private final AtomicLongArray distances;
+        private final IntBuffer[] buckets;
+        private final int[] frontierStamp;
+        private final int[] removedStamp;
+        private final int[] queuedStamp;
+        private final List<RelaxChunk> chunks;
+
+        Run(IndexedWeightedGraph<?> graph, double delta, ForkJoinPool pool) {
+            this.n = graph.vertexCount();
+            this.delta = delta;
+            this.pool = pool;
+            this.offsets = graph.getOffsets();
+            this.lightEnd = new int[n];
+            this.targets = new int[graph.edgeCount()];
+            this.weights = new double[graph.edgeCount()];
+
+            // stable partition of every adjacency range into light then heavy edges
+            int[] sourceTargets = graph.getTargets();
+            double[] sourceWeights = graph.getWeights();
+            double maxWeight = 0.0;
+            for (int v = 0; v < n; v++) {
+                int position = offsets[v];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    double weight = sourceWeights[e];
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("Delta-stepping requires non-negative edge weights");
+                    }
+                    maxWeight = Math.max(maxWeight, weight);
+                    if (weight <= delta) {
+                        targets[position] = sourceTargets[e];
+                        weights[position++] = weight;
+                    }
+                }
+                lightEnd[v] = position;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (sourceWeights[e] > delta) {
+                        targets[position] = sourceTargets[e];
+                        weights[position++] = sourceWeights[e];
+                    }
+                }
+            }
+
+            // a relaxation from bucket i lands at most maxWeight / delta + 1 buckets ahead,
+            // so that many buckets, used circularly, are enough
+            double span = Math.floor(maxWeight / delta) + 2;
+            if (span > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Delta is too small for the weight range");
+            }
+            this.buckets = new IntBuffer[(int) span];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new IntBuffer();
+            }
+
+            this.distances = new AtomicLongArray(n);
+            long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++) {
+                distances.set(v, infinity);
+            }
+
+            this.frontierStamp = new int[n];
+            this.removedStamp = new int[n];
+            this.queuedStamp = new int[n];
+
+            int chunkCount = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+            this.chunks = new ArrayList<>(chunkCount);
+            for (int c = 0; c < chunkCount; c++) {
+                chunks.add(new RelaxChunk(this));
+            }
+        }
+
+        double[] execute(int source) {
+            distances.set(source, Double.doubleToRawLongBits(0.0));
+            buckets[0].add(source);
+            long pending = 1;
+
+            IntBuffer taken = new IntBuffer();
+            IntBuffer frontier = new IntBuffer();
+            IntBuffer removed = new IntBuffer();
+            int phase = 0;
+            int round = 0;
+
+            for (long current = 0; pending > 0; current++) {
+                IntBuffer bucket = buckets[slot(current)];
+                if (bucket.size == 0) {
+                    continue;
+                }
+
+                round++;
+                removed.clear();
+
+                // light phases: repeat while relaxations put vertices back into this bucket
+                while (bucket.size > 0) {
+                    pending -= bucket.size;
+                    taken.swap(bucket);
+                    phase++;
+
+                    frontier.clear();
+                    for (int i = 0; i < taken.size; i++) {
+                        int v = taken.values[i];
+                        // skip stale entries (the vertex moved to a lower bucket) and duplicates
+                        if (bucketOf(v) == current && frontierStamp[v] != phase) {
+                            frontierStamp[v] = phase;
+                            frontier.add(v);
+                            if (removedStamp[v] != round) {
+                                removedStamp[v] = round;
+                                removed.add(v);
+                            }
+                        }
+                    }
+                    taken.clear();
+
+                    pending += relax(frontier, false, ++phase);
+                }
+
+                // heavy edges of everything this bucket settled, once
+                pending += relax(removed, true, ++phase);
+            }
+
+            double[] result = new double[n];
+            for (int v = 0; v < n; v++) {
+                result[v] = Double.longBitsToDouble(distances.get(v));
+            }
+            return result;
+        }
+
+        /**
+         * Relaxes the light or heavy edges of the given vertices and files every vertex
+         * whose distance went down into its bucket (once per call).
+         *
+         * @return How many bucket entries were added
+         */
+        private int relax(IntBuffer vertices, boolean heavy, int phase) {
+            if (vertices.size == 0) {
+                return 0;
+            }
+
+            List<RelaxChunk> tasks;
+            if (vertices.size < SEQUENTIAL_THRESHOLD) {
+                RelaxChunk chunk = chunks.get(0);
+                chunk.prepare(vertices.values, 0, vertices.size, heavy);
+                chunk.compute();
+                tasks = List.of(chunk);
+            } else {
+                int used = Math.min(chunks.size(), (vertices.size + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+                int step = (vertices.size + used - 1) / used;
+                tasks = new ArrayList<>(used);
+                for (int c = 0; c < used; c++) {
+                    int from = c * step;
+                    int to = Math.min(vertices.size, from + step);
+                    if (from >= to) {
+                        break;
+                    }
+                    RelaxChunk chunk = chunks.get(c);
+                    chunk.prepare(vertices.values, from, to, heavy);
+                    tasks.add(chunk);
+                }
+
+                List<RelaxChunk> forked = tasks;
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(forked);
+                    }
+                });
+            }
+
+            // all chunks are done, so the distances read here are final for this phase
+            int added = 0;
+            for (RelaxChunk chunk : tasks) {
+                for (int i = 0; i < chunk.improved.size; i++) {
+                    int v = chunk.improved.values[i];
+                    if (queuedStamp[v] != phase) {
+                        queuedStamp[v] = phase;
+                        buckets[slot(bucketOf(v))].add(v);
+                        added++;
+                    }
+                }
+            }
+            return added;
+        }
+
+        private long bucketOf(int v) {
+            return (long) (Double.longBitsToDouble(distances.get(v)) / delta);
+        }
+
+        private int slot(long bucketIndex) {
+            return (int) (bucketIndex % buckets.length);
+        }
+
+        // CAS loop lowering the distance of v; true if this call lowered it
+        boolean lower(int v, double distance) {
+            long bits = Double.doubleToRawLongBits(distance);
+            long current = distances.get(v);
+            while (bits < current) {
+                if (distances.compareAndSet(v, current, bits)) {
+                    return true;
+                }
+                current = distances.get(v);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Relaxes the edges of vertices[from..to) and remembers the vertices it improved.
+     * Chunks are kept between phases so steady-state phases do not allocate.
+     */
+    private static class RelaxChunk extends RecursiveAction {
+        private final Run run;
+        private final IntBuffer improved = new IntBuffer();
+        private int[] vertices;
+        private int from;
+        private int to;
+        private boolean heavy;
+
+        RelaxChunk(Run run) {
+            this.run = run;
+        }
+
+        void prepare(int[] vertices, int from, int to, boolean heavy) {
+            reinitialize();
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.heavy = heavy;
+            improved.clear();
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                int u = vertices[i];
+                double distance = Double.longBitsToDouble(run.distances.get(u));
+                int start = heavy ? run.lightEnd[u] : run.offsets[u];
+                int end = heavy ? run.offsets[u + 1] : run.lightEnd[u];
+
+                for (int e = start; e < end; e++) {
+                    int v = run.targets[e];
+                    if (run.lower(v, distance + run.weights[e])) {
+                        improved.add(v);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable int array.
+     */
+    private static class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        // exchanges contents with other in O(1)
+        void swap(IntBuffer other) {
+            int[] values = this.values;
+            int size = this.size;
+            this.values = other.values;
+            this.size = other.size;
+            other.values = values;
+            other.size = size;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package lab_4.DeltaStepping;
+
+import lab_4.Dijkstra.DijkstraAlgorithm;
+import lab_4.Dijkstra.IndexedDijkstra;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class TestingDeltaStepping {
+    public static void main(String[] args) {
+        // sparse undirected graph at the scale the lab generators can not reach (they enumerate all n^2 pairs):
+        // a random spanning tree plus random extra edges, weights in the converter's default range [1, 100]
+        int n = 1_000_000;
+        int extraEdges = 2 * n;
+        Random random = new Random(42);
+
+        WeightedGraph<Integer> graph = new WeightedGraph<>(false);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(100));
+        }
+        for (int e = 0; e < extraEdges; e++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(100));
+        }
+
+        IndexedWeightedGraph<Integer> snapshot = IndexedWeightedGraph.of(graph);
+        int source = snapshot.indexOf(0);
+        System.out.println("Vertices: " + n + ", edges: " + snapshot.edgeCount() / 2
+                + ", delta: " + DeltaStepping.chooseDelta(snapshot));
+
+        long startTime = System.nanoTime();
+        Map<Integer, Double> expected = new DijkstraAlgorithm<>(graph).findShortestPaths(0);
+        System.out.printf("%-28s%10.2f ms%n", "DijkstraAlgorithm", (System.nanoTime() - startTime) / 1e6);
+
+        startTime = System.nanoTime();
+        double[] indexed = new IndexedDijkstra(snapshot).run(source).getDistances().clone();
+        System.out.printf("%-28s%10.2f ms%n", "IndexedDijkstra", (System.nanoTime() - startTime) / 1e6);
+
+        for (int v = 0; v < n; v++) {
+            if (expected.get(snapshot.vertexAt(v)) != indexed[v]) {
+                System.out.println("Mismatch at vertex " + snapshot.vertexAt(v));
+                return;
+            }
+        }
+
+        int maxCores = Runtime.getRuntime().availableProcessors();
+        for (int p = 1; p <= maxCores; p = p < maxCores && p * 2 > maxCores ? maxCores : p * 2) {
+            ForkJoinPool pool = new ForkJoinPool(p);
+            try {
+                startTime = System.nanoTime();
+                double[] distances = DeltaStepping.search(snapshot, source, DeltaStepping.chooseDelta(snapshot), pool);
+                long elapsed = System.nanoTime() - startTime;
+
+                System.out.printf("%-28s%10.2f ms   %s%n", "Delta-stepping, " + p + (p == 1 ? " core" : " cores"),
+                        elapsed / 1e6, Arrays.equals(distances, indexed) ? "matches Dijkstra" : "MISMATCH");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package lab_4.Dijkstra;
+
+import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Point-to-point shortest paths with bidirectional Dijkstra.
+ *
+ * A forward search from the source and a reverse search from the destination (over
+ * incoming edges) run in turns, always advancing the side whose frontier is closer.
+ * Every time an edge connects the two searches, mu (the best source-destination distance
+ * seen so far) is updated, and the search stops as soon as the two frontier minima add up
+ * to at least mu. Distances are kept in maps that only hold the vertices that were
+ * reached, so nothing is initialized for the rest of the graph.
+ *
+ * Edge weights must be non-negative.
+ *
+ * @param <V> Type of vertices
+ */
+public class BidirectionalDijkstra<V> {
+    private final WeightedGraph<V> graph;
+
+    // incoming edges of every vertex (directed graphs only), rebuilt when the graph changes
+    private Map<V, List<WeightedEdge<V>>> reverseAdjacency;
+    private int reverseModificationCount;
+
+    public BidirectionalDijkstra(WeightedGraph<V> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Finds the shortest path from source to destination.
+     *
+     * @param source The source vertex
+     * @param destination The destination vertex
+     * @return The path with its distance (an empty path with distance +infinity if none exists)
+     */
+    public ShortestPath<V> search(V source, V destination) {
+        if (!graph.hasVertex(source) || !graph.hasVertex(destination)) {
+            throw new IllegalArgumentException("Source or destination vertex not found in graph");
+        }
+
+        if (source.equals(destination)) {
+            return new ShortestPath<>(List.of(source), 0.0, 0);
+        }
+
+        Map<V, List<WeightedEdge<V>>> forwardAdjacency = graph.getAdjacencyList();
+        Map<V, List<WeightedEdge<V>>> backwardAdjacency = graph.isDirected() ? reverseAdjacency() : forwardAdjacency;
+
+        Map<V, Double> forwardDistances = new HashMap<>();
+        Map<V, Double> backwardDistances = new HashMap<>();
+        Map<V, V> forwardPrevious = new HashMap<>();
+        Map<V, V> backwardPrevious = new HashMap<>();
+        IndexedMinHeap<V> forwardQueue = new IndexedMinHeap<>();
+        IndexedMinHeap<V> backwardQueue = new IndexedMinHeap<>();
+
+        forwardDistances.put(source, 0.0);
+        backwardDistances.put(destination, 0.0);
+        forwardQueue.insertOrDecrease(source, 0.0);
+        backwardQueue.insertOrDecrease(destination, 0.0);
+
+        double mu = Double.POSITIVE_INFINITY;
+        V meeting = null;
+        int settledCount = 0;
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            // stopping criterion: no path through unsettled vertices can beat mu any more
+            if (forwardQueue.peekKey() + backwardQueue.peekKey() >= mu) {
+                break;
+            }
+
+            boolean forward = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            IndexedMinHeap<V> queue = forward ? forwardQueue : backwardQueue;
+            Map<V, Double> distances = forward ? forwardDistances : backwardDistances;
+            Map<V, Double> otherDistances = forward ? backwardDistances : forwardDistances;
+            Map<V, V> previous = forward ? forwardPrevious : backwardPrevious;
+            Map<V, List<WeightedEdge<V>>> adjacency = forward ? forwardAdjacency : backwardAdjacency;
+
+            V current = queue.poll();
+            settledCount++;
+            double currentDistance = distances.get(current);
+
+            for (WeightedEdge<V> edge : adjacency.getOrDefault(current, Collections.emptyList())) {
+                if (edge.weight < 0) {
+                    throw new IllegalArgumentException("Dijkstra's algorithm requires non-negative edge weights");
+                }
+
+                V neighbor = edge.target;
+                double newDistance = currentDistance + edge.weight;
+                Double oldDistance = distances.get(neighbor);
+
+                if (oldDistance == null || newDistance < oldDistance) {
+                    distances.put(neighbor, newDistance);
+                    previous.put(neighbor, current);
+                    queue.insertOrDecrease(neighbor, newDistance);
+                } else {
+                    newDistance = oldDistance;
+                }
+
+                Double otherDistance = otherDistances.get(neighbor);
+                if (otherDistance != null && newDistance + otherDistance < mu) {
+                    mu = newDistance + otherDistance;
+                    meeting = neighbor;
+                }
+            }
+        }
+
+        if (meeting == null) {
+            return new ShortestPath<>(new ArrayList<>(), Double.POSITIVE_INFINITY, settledCount);
+        }
+
+        // source .. meeting from the forward tree, then meeting .. destination from the backward tree
+        List<V> path = new ArrayList<>();
+        for (V vertex = meeting; vertex != null; vertex = forwardPrevious.get(vertex)) {
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        for (V vertex = backwardPrevious.get(meeting); vertex != null; vertex = backwardPrevious.get(vertex)) {
+            path.add(vertex);
+        }
+
+        return new ShortestPath<>(path, mu, settledCount);
+    }
+
+    private Map<V, List<WeightedEdge<V>>> reverseAdjacency() {
+        if (reverseAdjacency == null || reverseModificationCount != graph.getModificationCount()) {
+            Map<V, List<WeightedEdge<V>>> reverse = new HashMap<>();
+            for (Map.Entry<V, List<WeightedEdge<V>>> entry : graph.getAdjacencyList().entrySet()) {
+                for (WeightedEdge<V> edge : entry.getValue()) {
+                    reverse.computeIfAbsent(edge.target, k -> new ArrayList<>())
+                            .add(new WeightedEdge<>(entry.getKey(), edge.weight));
+                }
+            }
+            reverseAdjacency = reverse;
+            reverseModificationCount = graph.getModificationCount();
+        }
+        return reverseAdjacency;
+    }
+}
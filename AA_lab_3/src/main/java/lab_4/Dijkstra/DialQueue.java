@@ -0,0 +1,101 @@
+package lab_4.Dijkstra;
+
+import java.util.Arrays;
+
+/**
+ * Dial's circular bucket queue. When every edge weight is at most C, all queued keys lie in
+ * [last polled key, last polled key + C], so C + 1 buckets used circularly hold them without
+ * collisions between different keys. Each bucket is an intrusive doubly linked list over the
+ * vertex ids, which makes insert, decrease-key and poll O(1) apart from skipping empty buckets.
+ */
+class DialQueue implements MonotoneQueue {
+    private final int[] heads;
+    private final int mask;
+    private final int[] next;
+    private final int[] previous;
+    private final long[] keys;
+    private final boolean[] queued;
+    private long current;
+    private int size;
+
+    /**
+     * @param n Number of vertex ids
+     * @param maxWeight Largest edge weight C
+     */
+    DialQueue(int n, int maxWeight) {
+        if (maxWeight >= 1 << 30) {
+            throw new IllegalArgumentException("Largest weight is too large for Dial's buckets");
+        }
+        // power of two > C, so the bucket of a key is a mask instead of a division
+        int bucketCount = Integer.highestOneBit(Math.max(1, maxWeight)) << 1;
+        this.heads = new int[bucketCount];
+        this.mask = bucketCount - 1;
+        this.next = new int[n];
+        this.previous = new int[n];
+        this.keys = new long[n];
+        this.queued = new boolean[n];
+        Arrays.fill(heads, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void insertOrDecrease(int vertex, long key) {
+        if (queued[vertex]) {
+            if (key >= keys[vertex]) {
+                return;
+            }
+            unlink(vertex);
+        } else {
+            queued[vertex] = true;
+            size++;
+        }
+
+        keys[vertex] = key;
+        int bucket = (int) (key & mask);
+        int head = heads[bucket];
+        next[vertex] = head;
+        previous[vertex] = -1;
+        if (head >= 0) {
+            previous[head] = vertex;
+        }
+        heads[bucket] = vertex;
+    }
+
+    @Override
+    public int poll() {
+        while (heads[(int) (current & mask)] < 0) {
+            current++;
+        }
+
+        int vertex = heads[(int) (current & mask)];
+        unlink(vertex);
+        queued[vertex] = false;
+        size--;
+        return vertex;
+    }
+
+    private void unlink(int vertex) {
+        int before = previous[vertex];
+        int after = next[vertex];
+        if (before >= 0) {
+            next[before] = after;
+        } else {
+            heads[(int) (keys[vertex] & mask)] = after;
+        }
+        if (after >= 0) {
+            previous[after] = before;
+        }
+    }
+
+    @Override
+    public void clear() {
+        while (size > 0) {
+            poll();
+        }
+        current = 0;
+    }
+}
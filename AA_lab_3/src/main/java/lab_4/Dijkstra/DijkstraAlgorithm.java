@@ -1,6 +1,6 @@
 package lab_4.Dijkstra;
 
-import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedGraph;
 
 import java.util.*;
@@ -8,10 +8,18 @@ import java.util.*;
 /**
  * Implementation of Dijkstra's algorithm for finding shortest paths
  * in a weighted graph with non-negative edge weights.
+ *
+ * findShortestPaths runs on an id snapshot of the graph (taken once, and again after the graph
+ * changes) and picks the engine from the weights: IntegerDijkstra when every weight is a
+ * non-negative integer, as with the converter's weights, IndexedDijkstra otherwise.
  */
 
 public class DijkstraAlgorithm<V> {
     private final WeightedGraph<V> graph;
+    private BidirectionalDijkstra<V> bidirectional;
+    private IndexedWeightedGraph<V> snapshot;
+    private IntegerDijkstra integerEngine;
+    private IndexedDijkstra indexedEngine;
 
     /**
      * Constructor for the Dijkstra's algorithm implementation.
@@ -22,60 +30,60 @@ public class DijkstraAlgorithm<V> {
         this.graph = graph;
     }
 
+    /**
+     * Constructor that reuses an id snapshot built beforehand, e.g. outside a timed run.
+     *
+     * @param graph The weighted graph to run the algorithm on
+     * @param snapshot IndexedWeightedGraph.of(graph); it is rebuilt if the graph has changed since
+     */
+    public DijkstraAlgorithm(WeightedGraph<V> graph, IndexedWeightedGraph<V> snapshot) {
+        this.graph = graph;
+        this.snapshot = snapshot;
+    }
+
     /**
      * Find the shortest paths from the source vertex to all other vertices.
      *
      * @param source The source vertex
      * @return A map containing the shortest distance to each vertex
      */
-    //DijkstraImplementation
     public Map<V, Double> findShortestPaths(V source) {
-        if (!graph.getVertices().contains(source)) {
+        IndexedWeightedGraph<V> snapshot = getSnapshot();
+        int s = snapshot.indexOf(source);
+        if (s < 0) {
             throw new IllegalArgumentException("Source vertex not found in graph");
         }
 
-        Map<V, Double> distances = new HashMap<>();
-
-        Map<V, V> previousVertices = new HashMap<>();
-
-        PriorityQueue<V> queue = new PriorityQueue<>(
-                Comparator.comparingDouble(v -> distances.getOrDefault(v, Double.POSITIVE_INFINITY))
-        );
-
-        Set<V> settled = new HashSet<>();
-
-        for (V vertex : graph.getVertices()) {
-            distances.put(vertex, vertex.equals(source) ? 0.0 : Double.POSITIVE_INFINITY);
-        }
-
-        queue.add(source);
-
-        while (!queue.isEmpty()) {
-            V current = queue.poll();
-
-            if (settled.contains(current)) {
-                continue;
+        double[] distances;
+        if (snapshot.getIntegerWeights() != null) {
+            if (integerEngine == null) {
+                integerEngine = new IntegerDijkstra(snapshot);
             }
+            distances = integerEngine.run(s).getDistancesAsDoubles();
+        } else {
+            if (indexedEngine == null) {
+                indexedEngine = new IndexedDijkstra(snapshot);
+            }
+            distances = indexedEngine.run(s).getDistances();
+        }
 
-            settled.add(current);
-
-            for (WeightedEdge<V> edge : graph.getNeighbors(current)) {
-                V neighbor = edge.target;
-
-                if (settled.contains(neighbor)) {
-                    continue;
-                }
-
-                double newDistance = distances.get(current) + edge.weight;
+        Map<V, Double> result = new HashMap<>(distances.length * 2);
+        for (int v = 0; v < distances.length; v++) {
+            result.put(snapshot.vertexAt(v), distances[v]);
+        }
+        return result;
+    }
 
-                if (newDistance < distances.get(neighbor)) {
-                    distances.put(neighbor, newDistance);
-                    previousVertices.put(neighbor, current);
-                    queue.add(neighbor);
-                }
-            }
+    /**
+     * @return The id snapshot, rebuilt (together with the engines) if the graph changed since it was taken
+     */
+    private IndexedWeightedGraph<V> getSnapshot() {
+        if (snapshot == null || !snapshot.isSnapshotOf(graph)) {
+            snapshot = IndexedWeightedGraph.of(graph);
+            integerEngine = null;
+            indexedEngine = null;
         }
-        return distances;
+        return snapshot;
     }
 
     /**
@@ -86,95 +94,22 @@ public class DijkstraAlgorithm<V> {
      * @return A list representing the shortest path from source to destination
      */
     public List<V> findShortestPath(V source, V destination) {
-        // Validation check
-        if (!graph.getVertices().contains(source) || !graph.getVertices().contains(destination)) {
-            throw new IllegalArgumentException("Source or destination vertex not found in graph");
-        }
-
-        // Map to store the shortest distance to each vertex
-        Map<V, Double> distances = new HashMap<>();
-
-        // Map to store the previous vertex in the optimal path
-        Map<V, V> previousVertices = new HashMap<>();
-
-        // Priority queue to get the vertex with minimum distance
-        PriorityQueue<V> queue = new PriorityQueue<>(
-                Comparator.comparingDouble(v -> distances.getOrDefault(v, Double.POSITIVE_INFINITY))
-        );
-
-        // Set of vertices whose shortest distance is already finalized
-        Set<V> settled = new HashSet<>();
-
-        // Initialize distances
-        for (V vertex : graph.getVertices()) {
-            // Set initial distance as infinity for all vertices except source
-            distances.put(vertex, vertex.equals(source) ? 0.0 : Double.POSITIVE_INFINITY);
-        }
-
-        // Add source to the priority queue
-        queue.add(source);
-
-        // Process vertices while queue is not empty and destination is not reached
-        boolean destinationFound = false;
-        while (!queue.isEmpty() && !destinationFound) {
-            // Get vertex with minimum distance
-            V current = queue.poll();
-
-            // If current vertex is the destination, we're done
-            if (current.equals(destination)) {
-                destinationFound = true;
-                break;
-            }
-
-            // If vertex is already processed, skip
-            if (settled.contains(current)) {
-                continue;
-            }
-
-            // Mark current vertex as processed
-            settled.add(current);
-
-            // Process all adjacent vertices
-            for (WeightedEdge<V> edge : graph.getNeighbors(current)) {
-                V neighbor = edge.target;
-
-                // Skip if neighbor is already processed
-                if (settled.contains(neighbor)) {
-                    continue;
-                }
-
-                // Calculate new distance
-                double newDistance = distances.get(current) + edge.weight;
-
-                // If new distance is smaller, update the distance
-                if (newDistance < distances.get(neighbor)) {
-                    distances.put(neighbor, newDistance);
-                    previousVertices.put(neighbor, current);
-
-                    // Add neighbor to queue for processing
-                    queue.add(neighbor);
-                }
-            }
-        }
-
-        // Reconstruct the path from source to destination
-        List<V> path = new ArrayList<>();
-        if (distances.get(destination).equals(Double.POSITIVE_INFINITY)) {
-            // No path exists
-            return path;
-        }
+        return findShortestPathWithDistance(source, destination).getPath();
+    }
 
-        // Start from destination and work backwards
-        V current = destination;
-        while (current != null) {
-            path.add(current);
-            current = previousVertices.get(current);
+    /**
+     * Find the shortest path from source to destination together with its length.
+     * Uses a bidirectional search, so only the vertices around the two endpoints are explored.
+     *
+     * @param source The source vertex
+     * @param destination The destination vertex
+     * @return The path and its distance (empty path and infinite distance if none exists)
+     */
+    public ShortestPath<V> findShortestPathWithDistance(V source, V destination) {
+        if (bidirectional == null) {
+            bidirectional = new BidirectionalDijkstra<>(graph);
         }
-
-        // Reverse the path to get from source to destination
-        Collections.reverse(path);
-
-        return path;
+        return bidirectional.search(source, destination);
     }
 
     /**
@@ -203,17 +138,16 @@ public class DijkstraAlgorithm<V> {
      * @param destination The destination vertex
      */
     public void printShortestPath(V source, V destination) {
-        List<V> path = findShortestPath(source, destination);
-        Map<V, Double> distances = findShortestPaths(source);
+        ShortestPath<V> shortestPath = findShortestPathWithDistance(source, destination);
 
-        if (path.isEmpty()) {
+        if (!shortestPath.exists()) {
             System.out.println("No path exists from " + source + " to " + destination);
             return;
         }
 
         System.out.println("Shortest path from " + source + " to " + destination + ":");
-        System.out.println("  Path: " + path);
-        System.out.println("  Distance: " + distances.get(destination));
+        System.out.println("  Path: " + shortestPath.getPath());
+        System.out.println("  Distance: " + shortestPath.getDistance());
     }
 
     /**
@@ -252,7 +186,7 @@ public class DijkstraAlgorithm<V> {
         //Map<V, Double> distances = findShortestPaths(source);
 
         // Print shortest path from A to E
-        //dijkstra.printShortestPath("A", "E");
+        dijkstra.printShortestPath("A", "E");
         //Map<V, Double> distances = findShortestPath(source, destination);
     }
 
@@ -0,0 +1,136 @@
+package lab_4.Dijkstra;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra over the ids of an IndexedWeightedGraph with reusable scratch arrays.
+ *
+ * One instance serves any number of searches on the same graph: between searches only
+ * the vertices touched by the previous one are reset, so a short point-to-point query
+ * costs time proportional to what it explores, not to n. An instance is not thread-safe;
+ * parallel callers use one instance per thread.
+ */
+public class IndexedDijkstra {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] settleOrder;
+    private final int[] touched;
+    private final IntMinHeap heap;
+    private int touchedCount;
+    private int settledCount;
+
+    public IndexedDijkstra(IndexedWeightedGraph<?> graph) {
+        int n = graph.vertexCount();
+        this.offsets = graph.getOffsets();
+        this.targets = graph.getTargets();
+        this.weights = graph.getWeights();
+
+        this.distances = new double[n];
+        this.parents = new int[n];
+        this.settleOrder = new int[n];
+        this.touched = new int[n];
+        this.heap = new IntMinHeap(n);
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Computes the distances from source to every vertex.
+     *
+     * @param source The source id
+     * @return this engine, for chaining the getters
+     */
+    public IndexedDijkstra run(int source) {
+        search(source, -1);
+        return this;
+    }
+
+    /**
+     * Searches from source until target is settled.
+     *
+     * @param source The source id
+     * @param target The target id
+     * @return The distance from source to target, +infinity if unreachable
+     */
+    public double runTo(int source, int target) {
+        search(source, target);
+        return distances[target];
+    }
+
+    private void search(int source, int target) {
+        reset();
+
+        distances[source] = 0.0;
+        touched[touchedCount++] = source;
+        heap.insertOrDecrease(source, 0.0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settleOrder[settledCount++] = u;
+            if (u == target) {
+                break;
+            }
+
+            double distance = distances[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (weights[e] < 0) {
+                    throw new IllegalArgumentException("Dijkstra's algorithm requires non-negative edge weights");
+                }
+
+                int v = targets[e];
+                double newDistance = distance + weights[e];
+                if (newDistance < distances[v]) {
+                    if (distances[v] == Double.POSITIVE_INFINITY) {
+                        touched[touchedCount++] = v;
+                    }
+                    distances[v] = newDistance;
+                    parents[v] = u;
+                    heap.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        heap.clear();
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            distances[v] = Double.POSITIVE_INFINITY;
+            parents[v] = -1;
+        }
+        touchedCount = 0;
+        settledCount = 0;
+    }
+
+    /**
+     * @return Distance of every vertex from the last source, +infinity if not reached
+     * (for runTo, only settled vertices have final distances)
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return Shortest path tree parent of every vertex, -1 for the source and unreached vertices
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * @return Vertices in the order they were settled; only the first getSettledCount() entries are valid
+     */
+    public int[] getSettleOrder() {
+        return settleOrder;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
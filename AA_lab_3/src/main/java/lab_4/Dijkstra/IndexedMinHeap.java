@@ -0,0 +1,155 @@
+package lab_4.Dijkstra;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary min-heap of vertices keyed by a double, with decrease-key.
+ * The position of every vertex in the heap is kept in a map, so a vertex is never
+ * in the heap twice and the heap only ever holds vertices that were actually reached.
+ *
+ * @param <V> Type of vertices
+ */
+public class IndexedMinHeap<V> {
+    private Object[] items;
+    private double[] keys;
+    private final Map<V, Integer> positions;
+    private int size;
+
+    public IndexedMinHeap() {
+        this(16);
+    }
+
+    public IndexedMinHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.items = new Object[capacity];
+        this.keys = new double[capacity];
+        this.positions = new HashMap<>();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(V item) {
+        return positions.containsKey(item);
+    }
+
+    /**
+     * Inserts the item, or lowers its key if it is already in the heap with a larger key.
+     *
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(V item, double key) {
+        Integer position = positions.get(item);
+        if (position == null) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            items[size] = item;
+            keys[size] = key;
+            positions.put(item, size);
+            siftUp(size++);
+            return true;
+        }
+
+        if (key < keys[position]) {
+            keys[position] = key;
+            siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The smallest key, +infinity if the heap is empty
+     */
+    public double peekKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : keys[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V peek() {
+        return size == 0 ? null : (V) items[0];
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     */
+    @SuppressWarnings("unchecked")
+    public V poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        V top = (V) items[0];
+        positions.remove(top);
+        size--;
+
+        if (size > 0) {
+            items[0] = items[size];
+            keys[0] = keys[size];
+            positions.put((V) items[0], 0);
+            siftDown(0);
+        }
+        items[size] = null;
+
+        return top;
+    }
+
+    private void siftUp(int position) {
+        Object item = items[position];
+        double key = keys[position];
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+
+        place(item, key, position);
+    }
+
+    private void siftDown(int position) {
+        Object item = items[position];
+        double key = keys[position];
+        int half = size >>> 1;
+
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, position);
+            position = child;
+        }
+
+        place(item, key, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void move(int from, int to) {
+        items[to] = items[from];
+        keys[to] = keys[from];
+        positions.put((V) items[to], to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void place(Object item, double key, int position) {
+        items[position] = item;
+        keys[position] = key;
+        positions.put((V) item, position);
+    }
+}
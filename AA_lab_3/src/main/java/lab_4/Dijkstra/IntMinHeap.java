@@ -0,0 +1,120 @@
+package lab_4.Dijkstra;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over vertex ids 0..n-1 keyed by a double, with decrease-key.
+ * Positions are kept in an int array, so no operation allocates. A vertex that was polled
+ * can be inserted again, which is what A* with reopening needs.
+ */
+public class IntMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    public IntMinHeap(int n) {
+        this.heap = new int[n];
+        this.positions = new int[n];
+        this.keys = new double[n];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int vertex) {
+        return positions[vertex] >= 0;
+    }
+
+    /**
+     * Inserts the vertex, or lowers its key if it is already in the heap with a larger key.
+     */
+    public void insertOrDecrease(int vertex, double key) {
+        int position = positions[vertex];
+        if (position < 0) {
+            keys[vertex] = key;
+            heap[size] = vertex;
+            positions[vertex] = size;
+            siftUp(size++);
+        } else if (key < keys[vertex]) {
+            keys[vertex] = key;
+            siftUp(position);
+        }
+    }
+
+    public double peekKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : keys[heap[0]];
+    }
+
+    public int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Empties the heap in O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int vertex = heap[position];
+        double key = keys[vertex];
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentVertex = heap[parent];
+            if (keys[parentVertex] <= key) {
+                break;
+            }
+            heap[position] = parentVertex;
+            positions[parentVertex] = position;
+            position = parent;
+        }
+
+        heap[position] = vertex;
+        positions[vertex] = position;
+    }
+
+    private void siftDown(int position) {
+        int vertex = heap[position];
+        double key = keys[vertex];
+        int half = size >>> 1;
+
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            int childVertex = heap[child];
+            if (key <= keys[childVertex]) {
+                break;
+            }
+            heap[position] = childVertex;
+            positions[childVertex] = position;
+            position = child;
+        }
+
+        heap[position] = vertex;
+        positions[vertex] = position;
+    }
+}
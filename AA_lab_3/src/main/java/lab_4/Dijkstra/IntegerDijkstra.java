@@ -0,0 +1,192 @@
+package lab_4.Dijkstra;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dijkstra for graphs whose weights are non-negative integers, like the ones produced by
+ * GraphToWeightedGraphConverter. Distances are exact longs and the binary heap is replaced
+ * by a monotone integer queue: Dial's buckets when the largest weight C is small (O(m + D)
+ * for a largest distance D <= (n - 1) C), a radix heap otherwise (O(m + n log D)).
+ *
+ * Like IndexedDijkstra, one instance can run any number of searches and only resets what
+ * the previous search touched. An instance is not thread-safe.
+ */
+public class IntegerDijkstra {
+    public enum QueueType {AUTO, DIAL, RADIX}
+
+    // largest weight for which AUTO picks Dial's buckets (at most this many empty buckets per poll)
+    public static final int DIAL_MAX_WEIGHT = 1 << 12;
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final QueueType queueType;
+    private final MonotoneQueue queue;
+
+    private final long[] distances;
+    private final int[] parents;
+    private final int[] touched;
+    private int touchedCount;
+    private int settledCount;
+
+    public IntegerDijkstra(IndexedWeightedGraph<?> graph) {
+        this(graph, QueueType.AUTO);
+    }
+
+    /**
+     * @param graph The graph, all weights must be non-negative integers
+     * @param queueType Which queue to use; AUTO decides from the largest weight
+     */
+    public IntegerDijkstra(IndexedWeightedGraph<?> graph, QueueType queueType) {
+        int[] integerWeights = graph.getIntegerWeights();
+        if (integerWeights == null) {
+            throw new IllegalArgumentException("All edge weights must be non-negative integers");
+        }
+
+        int n = graph.vertexCount();
+        this.offsets = graph.getOffsets();
+        this.targets = graph.getTargets();
+        this.weights = integerWeights;
+
+        int maxWeight = 0;
+        for (int weight : weights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        if (queueType == QueueType.AUTO) {
+            queueType = maxWeight <= DIAL_MAX_WEIGHT ? QueueType.DIAL : QueueType.RADIX;
+        }
+        this.queueType = queueType;
+        this.queue = queueType == QueueType.DIAL ? new DialQueue(n, maxWeight) : new RadixHeap(n);
+
+        this.distances = new long[n];
+        this.parents = new int[n];
+        this.touched = new int[n];
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Same contract as DijkstraAlgorithm.findShortestPaths. Uses the integer queues when all
+     * weights are integral and falls back to IndexedDijkstra otherwise.
+     *
+     * @param graph The graph, weights must be non-negative
+     * @param source The source vertex
+     * @param <V> Type of vertices
+     * @return The shortest distance to every vertex (+infinity if unreachable)
+     */
+    public static <V> Map<V, Double> findShortestPaths(WeightedGraph<V> graph, V source) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        int s = snapshot.indexOf(source);
+        if (s < 0) {
+            throw new IllegalArgumentException("Source vertex not found in graph");
+        }
+
+        double[] distances = distancesFrom(snapshot, s);
+        Map<V, Double> result = new HashMap<>(distances.length * 2);
+        for (int v = 0; v < distances.length; v++) {
+            result.put(snapshot.vertexAt(v), distances[v]);
+        }
+        return result;
+    }
+
+    /**
+     * Single-source distances over ids, choosing the engine from the weights.
+     *
+     * @param graph The CSR graph, weights must be non-negative
+     * @param source The source id
+     * @return Distance of every vertex, +infinity if unreachable
+     */
+    public static double[] distancesFrom(IndexedWeightedGraph<?> graph, int source) {
+        if (graph.getIntegerWeights() == null) {
+            return new IndexedDijkstra(graph).run(source).getDistances();
+        }
+        return new IntegerDijkstra(graph).run(source).getDistancesAsDoubles();
+    }
+
+    /**
+     * Computes the distances from source to every vertex.
+     *
+     * @param source The source id
+     * @return this engine, for chaining the getters
+     */
+    public IntegerDijkstra run(int source) {
+        reset();
+
+        distances[source] = 0;
+        touched[touchedCount++] = source;
+        queue.insertOrDecrease(source, 0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settledCount++;
+
+            long distance = distances[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                long newDistance = distance + weights[e];
+                if (newDistance < distances[v]) {
+                    if (distances[v] == UNREACHABLE) {
+                        touched[touchedCount++] = v;
+                    }
+                    distances[v] = newDistance;
+                    parents[v] = u;
+                    queue.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+        return this;
+    }
+
+    private void reset() {
+        queue.clear();
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            distances[v] = UNREACHABLE;
+            parents[v] = -1;
+        }
+        touchedCount = 0;
+        settledCount = 0;
+    }
+
+    /**
+     * @return Distance of every vertex from the last source, UNREACHABLE if not reached
+     */
+    public long[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return The distances converted to doubles (+infinity if not reached), comparable to findShortestPaths
+     */
+    public double[] getDistancesAsDoubles() {
+        double[] result = new double[distances.length];
+        for (int v = 0; v < distances.length; v++) {
+            result[v] = distances[v] == UNREACHABLE ? Double.POSITIVE_INFINITY : distances[v];
+        }
+        return result;
+    }
+
+    /**
+     * @return Shortest path tree parent of every vertex, -1 for the source and unreached vertices
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * @return The queue in use (never AUTO)
+     */
+    public QueueType getQueueType() {
+        return queueType;
+    }
+}
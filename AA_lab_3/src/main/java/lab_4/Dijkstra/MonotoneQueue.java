@@ -0,0 +1,24 @@
+package lab_4.Dijkstra;
+
+/**
+ * Priority queue over vertex ids with non-negative integer keys, for Dijkstra on integer weights.
+ * Keys are monotone: an inserted key is never smaller than the key of the last polled vertex.
+ */
+interface MonotoneQueue {
+    boolean isEmpty();
+
+    /**
+     * Inserts the vertex, or lowers its key if it is already queued with a larger key.
+     */
+    void insertOrDecrease(int vertex, long key);
+
+    /**
+     * Removes and returns a vertex with the smallest key.
+     */
+    int poll();
+
+    /**
+     * Empties the queue and restarts the keys from 0.
+     */
+    void clear();
+}
@@ -0,0 +1,128 @@
+package lab_4.Dijkstra;
+
+import java.util.Arrays;
+
+/**
+ * Monotone radix heap. Bucket 0 holds keys equal to the last polled key and bucket i > 0
+ * holds keys whose highest bit differing from it is bit i - 1. Polling from an empty bucket 0
+ * takes the first non-empty bucket, makes its minimum the new last key and redistributes it
+ * into lower buckets; every entry moves down at most 64 times, so the cost does not depend
+ * on the largest weight the way Dial's buckets do.
+ *
+ * Decrease-key appends a new entry and leaves the old one behind; an entry is stale when its
+ * key no longer matches the vertex's current key, and stale entries are dropped when met.
+ */
+class RadixHeap implements MonotoneQueue {
+    private static final int BUCKETS = 65;
+
+    private final int[][] bucketVertices = new int[BUCKETS][];
+    private final long[][] bucketKeys = new long[BUCKETS][];
+    private final int[] bucketSizes = new int[BUCKETS];
+    private final long[] keys;
+    private final boolean[] queued;
+    private long last;
+    private int size;
+
+    RadixHeap(int n) {
+        this.keys = new long[n];
+        this.queued = new boolean[n];
+        for (int b = 0; b < BUCKETS; b++) {
+            bucketVertices[b] = new int[4];
+            bucketKeys[b] = new long[4];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void insertOrDecrease(int vertex, long key) {
+        if (queued[vertex]) {
+            if (key >= keys[vertex]) {
+                return;
+            }
+        } else {
+            queued[vertex] = true;
+            size++;
+        }
+
+        keys[vertex] = key;
+        push(bucketOf(key), vertex, key);
+    }
+
+    @Override
+    public int poll() {
+        while (true) {
+            if (bucketSizes[0] > 0) {
+                int position = --bucketSizes[0];
+                int vertex = bucketVertices[0][position];
+                if (queued[vertex] && keys[vertex] == bucketKeys[0][position]) {
+                    queued[vertex] = false;
+                    size--;
+                    return vertex;
+                }
+                continue;
+            }
+
+            int bucket = 1;
+            while (bucketSizes[bucket] == 0) {
+                bucket++;
+            }
+
+            int[] vertices = bucketVertices[bucket];
+            long[] entryKeys = bucketKeys[bucket];
+            int count = bucketSizes[bucket];
+            bucketSizes[bucket] = 0;
+
+            long minimum = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (isLive(vertices[i], entryKeys[i]) && entryKeys[i] < minimum) {
+                    minimum = entryKeys[i];
+                }
+            }
+            if (minimum == Long.MAX_VALUE) {
+                continue;
+            }
+
+            last = minimum;
+            // pushes only go to buckets below this one, so the arrays being read are not modified
+            for (int i = 0; i < count; i++) {
+                if (isLive(vertices[i], entryKeys[i])) {
+                    push(bucketOf(entryKeys[i]), vertices[i], entryKeys[i]);
+                }
+            }
+        }
+    }
+
+    private boolean isLive(int vertex, long key) {
+        return queued[vertex] && keys[vertex] == key;
+    }
+
+    private int bucketOf(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void push(int bucket, int vertex, long key) {
+        int position = bucketSizes[bucket]++;
+        if (position == bucketVertices[bucket].length) {
+            bucketVertices[bucket] = Arrays.copyOf(bucketVertices[bucket], position * 2);
+            bucketKeys[bucket] = Arrays.copyOf(bucketKeys[bucket], position * 2);
+        }
+        bucketVertices[bucket][position] = vertex;
+        bucketKeys[bucket][position] = key;
+    }
+
+    @Override
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = 0; i < bucketSizes[b]; i++) {
+                queued[bucketVertices[b][i]] = false;
+            }
+            bucketSizes[b] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+}
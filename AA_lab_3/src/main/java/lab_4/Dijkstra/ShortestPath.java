@@ -0,0 +1,51 @@
+package lab_4.Dijkstra;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A shortest path between two vertices together with its length.
+ *
+ * @param <V> Type of vertices
+ */
+public class ShortestPath<V> {
+    private final List<V> path;
+    private final double distance;
+    private final int settledCount;
+
+    public ShortestPath(List<V> path, double distance, int settledCount) {
+        this.path = Collections.unmodifiableList(path);
+        this.distance = distance;
+        this.settledCount = settledCount;
+    }
+
+    /**
+     * @return The vertices from source to destination, empty if there is no path
+     */
+    public List<V> getPath() {
+        return path;
+    }
+
+    /**
+     * @return The length of the path, +infinity if there is no path
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    public boolean exists() {
+        return !path.isEmpty();
+    }
+
+    /**
+     * @return How many vertices the search settled before it could stop
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String toString() {
+        return exists() ? path + " (" + distance + ")" : "No path";
+    }
+}
@@ -1,11 +1,16 @@
 package lab_4.FloydWarshall;
 
+import lab_4.APSP.APSPQueryService;
+import lab_4.APSP.ShortestPathMatrix;
+import lab_4.BellmanFord.BellmanFord;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedEdge;
 import lab_4.WeightedGraph.WeightedGraph;
 
 import java.util.*;
 
 public class FloydWarshall {
+    private static final APSPQueryService queries = new APSPQueryService();
 
     /**
      * Runs the Floyd-Warshall algorithm on a given weighted graph
@@ -37,8 +42,11 @@ public class FloydWarshall {
             int uIdx = vertexToIndex.get(u);
             for (WeightedEdge<String> edge : graph.getNeighbors(u)) {
                 int vIdx = vertexToIndex.get(edge.target);
-                dist[uIdx][vIdx] = edge.weight;
-                next[uIdx][vIdx] = vIdx;
+                // keep the lightest of parallel edges, and a self-loop only if it is negative
+                if (edge.weight < dist[uIdx][vIdx]) {
+                    dist[uIdx][vIdx] = edge.weight;
+                    next[uIdx][vIdx] = vIdx;
+                }
             }
         }
 
@@ -60,6 +68,54 @@ public class FloydWarshall {
         return result;
     }
 
+    /**
+     * Runs the Floyd-Warshall algorithm on flat arrays and returns a reusable result
+     * @param graph The weighted graph to find all-pairs shortest paths for
+     * @param <V> Type of vertices
+     * @return The distance and successor matrices together with the vertex index
+     */
+    public static <V> ShortestPathMatrix<V> computeShortestPathMatrix(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        int n = snapshot.vertexCount();
+        int[] offsets = snapshot.getOffsets();
+        int[] targets = snapshot.getTargets();
+        double[] weights = snapshot.getWeights();
+
+        double[] dist = new double[n * n];
+        int[] next = new int[n * n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(next, -1);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = targets[e];
+                if (weights[e] < dist[i * n + j]) {
+                    dist[i * n + j] = weights[e];
+                    next[i * n + j] = j;
+                }
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            int kRow = k * n;
+            for (int i = 0; i < n; i++) {
+                int iRow = i * n;
+                double ik = dist[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = 0; j < n; j++) {
+                    if (ik + dist[kRow + j] < dist[iRow + j]) {
+                        dist[iRow + j] = ik + dist[kRow + j];
+                        next[iRow + j] = next[iRow + k];
+                    }
+                }
+            }
+        }
+
+        return ShortestPathMatrix.of(snapshot, dist, next);
+    }
+
     /**
      * Reconstructs the shortest path between two vertices based on the next matrix
      * @param start The starting vertex
@@ -69,13 +125,8 @@ public class FloydWarshall {
      * @return The list of vertices in the shortest path
      */
     public static List<String> reconstructPath(String start, String end, List<String> vertices, double[][] next) {
-        Map<String, Integer> vertexToIndex = new HashMap<>();
-        for (int i = 0; i < vertices.size(); i++) {
-            vertexToIndex.put(vertices.get(i), i);
-        }
-
-        int startIdx = vertexToIndex.get(start);
-        int endIdx = vertexToIndex.get(end);
+        int startIdx = vertices.indexOf(start);
+        int endIdx = vertices.indexOf(end);
 
         List<String> path = new ArrayList<>();
 
@@ -100,23 +151,41 @@ public class FloydWarshall {
      * @param result The result from Floyd-Warshall algorithm
      */
     public static void printAllShortestPaths(WeightedGraph<String> graph, Map<String, double[][]> result) {
-        List<String> vertices = new ArrayList<>(graph.getVertices());
-        double[][] dist = result.get("distance");
-        double[][] next = result.get("next");
+        printAllShortestPaths(ShortestPathMatrix.fromMatrices(new ArrayList<>(graph.getVertices()), result));
+    }
+
+    /**
+     * Prints all shortest paths and their distances. The paths of each source are written into
+     * one buffer, so no per-path lists or index maps are built
+     * @param paths The all-pairs result
+     */
+    public static void printAllShortestPaths(ShortestPathMatrix<String> paths) {
+        int n = paths.vertexCount();
+        int[] offsets = new int[n + 1];
 
         System.out.println("All-Pairs Shortest Paths:");
-        for (int i = 0; i < vertices.size(); i++) {
-            for (int j = 0; j < vertices.size(); j++) {
+        for (int i = 0; i < n; i++) {
+            int[] buffer = paths.writePathsFrom(i, offsets);
+            String start = paths.vertexAt(i);
+
+            for (int j = 0; j < n; j++) {
                 if (i != j) {
-                    String start = vertices.get(i);
-                    String end = vertices.get(j);
+                    String end = paths.vertexAt(j);
 
-                    if (dist[i][j] == Double.POSITIVE_INFINITY) {
+                    if (!paths.hasPath(i, j)) {
                         System.out.println("No path from " + start + " to " + end);
                     } else {
-                        List<String> shortestPath = reconstructPath(start, end, vertices, next);
+                        StringBuilder shortestPath = new StringBuilder("[");
+                        for (int p = offsets[j]; p < offsets[j + 1]; p++) {
+                            if (p > offsets[j]) {
+                                shortestPath.append(", ");
+                            }
+                            shortestPath.append(paths.vertexAt(buffer[p]));
+                        }
+                        shortestPath.append(']');
+
                         System.out.println("Path from " + start + " to " + end + ": " +
-                                shortestPath + ", Distance: " + dist[i][j]);
+                                shortestPath + ", Distance: " + paths.getDistance(i, j));
                     }
                 }
             }
@@ -124,84 +193,25 @@ public class FloydWarshall {
     }
 
     /**
-     * Detect negative cycles in the graph using Floyd-Warshall
+     * Detect negative cycles in the graph. Uses the queue-based Bellman-Ford detector, which is
+     * close to O(m) on typical graphs, instead of a full O(n^3) Floyd-Warshall pass
      * @param graph The weighted graph to check for negative cycles
      * @return true if a negative cycle exists, false otherwise
      */
     public static boolean hasNegativeCycle(WeightedGraph<String> graph) {
-        List<String> vertices = new ArrayList<>(graph.getVertices());
-        int n = vertices.size();
-
-        // Create a vertex-to-index mapping
-        Map<String, Integer> vertexToIndex = new HashMap<>();
-        for (int i = 0; i < n; i++) {
-            vertexToIndex.put(vertices.get(i), i);
-        }
-
-        // Initialize distance matrix
-        double[][] dist = new double[n][n];
-
-        // Initialize with infinity for all pairs
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                dist[i][j] = Double.POSITIVE_INFINITY;
-            }
-            dist[i][i] = 0; // Distance from a vertex to itself is 0
-        }
-
-        // Fill in the direct edge weights
-        for (String u : graph.getVertices()) {
-            int uIdx = vertexToIndex.get(u);
-            for (WeightedEdge<String> edge : graph.getNeighbors(u)) {
-                int vIdx = vertexToIndex.get(edge.target);
-                dist[uIdx][vIdx] = edge.weight;
-            }
-        }
-
-        // Floyd-Warshall algorithm
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (dist[i][k] != Double.POSITIVE_INFINITY &&
-                            dist[k][j] != Double.POSITIVE_INFINITY &&
-                            dist[i][k] + dist[k][j] < dist[i][j]) {
-                        dist[i][j] = dist[i][k] + dist[k][j];
-                    }
-                }
-            }
-        }
-
-        // Check for negative cycles - if any vertex has a negative distance to itself
-        for (int i = 0; i < n; i++) {
-            if (dist[i][i] < 0) {
-                return true;
-            }
-        }
-
-        return false;
+        return !BellmanFord.findNegativeCycle(graph).isEmpty();
     }
 
     /**
-     * Get the shortest distance between two vertices
-     * @param graph The weighted graph
+     * Get the shortest distance between two vertices. The all-pairs matrix of the graph is
+     * computed on the first query and reused until the graph is modified
+     * @param graph The weighted graph (without negative cycles)
      * @param from The source vertex
      * @param to The destination vertex
      * @return The shortest distance, or Double.POSITIVE_INFINITY if no path exists
      */
     public static double getShortestDistance(WeightedGraph<String> graph, String from, String to) {
-        Map<String, double[][]> result = findAllPairsShortestPaths(graph);
-        double[][] dist = result.get("distance");
-
-        List<String> vertices = new ArrayList<>(graph.getVertices());
-        Map<String, Integer> vertexToIndex = new HashMap<>();
-        for (int i = 0; i < vertices.size(); i++) {
-            vertexToIndex.put(vertices.get(i), i);
-        }
-
-        int fromIdx = vertexToIndex.get(from);
-        int toIdx = vertexToIndex.get(to);
-
-        return dist[fromIdx][toIdx];
+        return queries.getShortestDistance(graph, from, to);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,269 @@
+package lab_4.Johnson;
+
+import lab_4.BellmanFord.BellmanFord;
+import lab_4.Dijkstra.IndexedDijkstra;
+import lab_4.Dijkstra.IntegerDijkstra;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Johnson's all-pairs shortest paths.
+ *
+ * A Bellman-Ford pass (queue based, from a virtual source joined to every vertex by a
+ * zero edge, see BellmanFord) gives a potential h with w(u, v) + h(u) - h(v) >= 0 for every edge. Dijkstra
+ * is then run from every vertex on the reweighted graph and the distances are shifted back:
+ * d(s, t) = d'(s, t) - h(s) + h(t). When no weight is negative the potential is 0 and the
+ * reweighting is skipped.
+ *
+ * The n Dijkstra runs are split into ranges of sources that run on a ForkJoinPool. Each range
+ * keeps one Dijkstra engine whose scratch arrays are reused for all its sources, and writes its
+ * rows straight into a flat n * n matrix. For graphs with integer weights (the converter's)
+ * the engine is IntegerDijkstra, otherwise IndexedDijkstra. Total cost is O(nm) for the
+ * potentials in the worst case (usually far less) plus n Dijkstra runs, against the O(n^3)
+ * of Floyd-Warshall.
+ */
+public class Johnson {
+    // source ranges per pool thread, a few more than one balances uneven reachability
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Same result format as FloydWarshall.findAllPairsShortestPaths: "distance" and "next"
+     * matrices indexed by the position of the vertices in graph.getVertices(), where next[i][j]
+     * is the index of the vertex after i on a shortest path to j (-1 if there is none).
+     *
+     * @param graph The weighted graph, negative weights are allowed but not negative cycles
+     * @param <V> Type of vertices
+     * @return A Map containing the distance matrix and the next matrix
+     */
+    public static <V> Map<String, double[][]> findAllPairsShortestPaths(WeightedGraph<V> graph) {
+        // the snapshot keeps the order of graph.getVertices(), so ids are matrix indices
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        int n = snapshot.vertexCount();
+        checkMatrixSize(n);
+
+        double[] distances = new double[n * n];
+        int[] nextHops = new int[n * n];
+        solve(snapshot, ForkJoinPool.commonPool(), distances, nextHops);
+
+        double[][] dist = new double[n][n];
+        double[][] next = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(distances, i * n, dist[i], 0, n);
+            for (int j = 0; j < n; j++) {
+                next[i][j] = nextHops[i * n + j];
+            }
+        }
+
+        Map<String, double[][]> result = new HashMap<>();
+        result.put("distance", dist);
+        result.put("next", next);
+
+        return result;
+    }
+
+    private static void checkMatrixSize(int n) {
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph is too large for an n * n distance matrix");
+        }
+    }
+
+    public static double[] allPairs(IndexedWeightedGraph<?> graph) {
+        return allPairs(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes all distances over ids.
+     *
+     * @param graph The CSR graph, negative weights are allowed but not negative cycles
+     * @param pool The pool the per-source searches run on
+     * @return Flat row-major matrix, entry s * n + t is the distance from s to t (+infinity if unreachable)
+     */
+    public static double[] allPairs(IndexedWeightedGraph<?> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        checkMatrixSize(n);
+
+        double[] distances = new double[n * n];
+        solve(graph, pool, distances, null);
+        return distances;
+    }
+
+    /**
+     * Computes all distances, and optionally the next hops, into caller-provided flat matrices.
+     *
+     * @param graph The CSR graph, negative weights are allowed but not negative cycles
+     * @param pool The pool the searches run on
+     * @param distances Array of n * n entries, entry s * n + t receives the distance from s to t
+     * @param nextHops Array of n * n entries, entry s * n + t receives the vertex after s on a
+     *                 shortest path to t (-1 if t is s or unreachable); null if paths are not needed
+     */
+    public static void solve(IndexedWeightedGraph<?> graph, ForkJoinPool pool, double[] distances, int[] nextHops) {
+        int n = graph.vertexCount();
+        checkMatrixSize(n);
+        if (distances.length != n * n || (nextHops != null && nextHops.length != n * n)) {
+            throw new IllegalArgumentException("Matrices must have n * n entries");
+        }
+        if (n == 0) {
+            return;
+        }
+
+        double[] potentials = potentials(graph);
+        IndexedWeightedGraph<?> reweighted = potentials == null ? graph : reweight(graph, potentials);
+        // for next hops, search backwards from every target: following the parents of one
+        // tree always reaches its root, while mixing the trees of different sources can cycle
+        // on zero-weight cycles
+        if (nextHops != null) {
+            reweighted = reweighted.transpose();
+        }
+
+        int rangeCount = Math.min(n, Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<SourceRange> ranges = new ArrayList<>(rangeCount);
+        for (int r = 0; r < rangeCount; r++) {
+            ranges.add(new SourceRange(reweighted, potentials, distances, nextHops,
+                    (int) ((long) n * r / rangeCount), (int) ((long) n * (r + 1) / rangeCount)));
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(ranges);
+            }
+        });
+    }
+
+    /**
+     * Potentials from the virtual-source Bellman-Ford.
+     *
+     * @return The potentials, or null if no weight is negative (the potential is then 0)
+     */
+    private static double[] potentials(IndexedWeightedGraph<?> graph) {
+        boolean hasNegative = false;
+        for (double weight : graph.getWeights()) {
+            if (weight < 0) {
+                hasNegative = true;
+                break;
+            }
+        }
+        if (!hasNegative) {
+            return null;
+        }
+
+        BellmanFord bellmanFord = BellmanFord.fromVirtualSource(graph);
+        if (bellmanFord.hasNegativeCycle()) {
+            List<Object> cycle = new ArrayList<>();
+            for (int v : bellmanFord.getNegativeCycle()) {
+                cycle.add(graph.vertexAt(v));
+            }
+            throw new IllegalArgumentException("Graph contains a negative cycle: " + cycle);
+        }
+        return bellmanFord.getDistances();
+    }
+
+    private static <V> IndexedWeightedGraph<V> reweight(IndexedWeightedGraph<V> graph, double[] h) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] reweighted = new double[weights.length];
+
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                // >= 0 in exact arithmetic; clamp the rounding error of non-integer weights
+                reweighted[e] = Math.max(0.0, weights[e] + h[u] - h[targets[e]]);
+            }
+        }
+
+        return new IndexedWeightedGraph<>(graph.getVertices(), offsets, targets, reweighted, graph.isDirected());
+    }
+
+    /**
+     * Runs Dijkstra from the vertices from .. to - 1 with one engine and fills their rows, or
+     * their columns when the graph is the transpose and the next hops are wanted.
+     */
+    private static class SourceRange extends RecursiveAction {
+        private final IndexedWeightedGraph<?> graph;
+        private final double[] potentials;
+        private final double[] distances;
+        private final int[] nextHops;
+        private final int from;
+        private final int to;
+
+        SourceRange(IndexedWeightedGraph<?> graph, double[] potentials, double[] distances, int[] nextHops,
+                    int from, int to) {
+            this.graph = graph;
+            this.potentials = potentials;
+            this.distances = distances;
+            this.nextHops = nextHops;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int n = graph.vertexCount();
+            IntegerDijkstra integerDijkstra = graph.getIntegerWeights() != null ? new IntegerDijkstra(graph) : null;
+            IndexedDijkstra dijkstra = integerDijkstra == null ? new IndexedDijkstra(graph) : null;
+            boolean byTarget = nextHops != null;
+
+            for (int s = from; s < to; s++) {
+                int[] parents;
+                long[] integerDistances = null;
+                double[] doubleDistances = null;
+                if (integerDijkstra != null) {
+                    integerDistances = integerDijkstra.run(s).getDistances();
+                    parents = integerDijkstra.getParents();
+                } else {
+                    doubleDistances = dijkstra.run(s).getDistances();
+                    parents = dijkstra.getParents();
+                }
+
+                for (int v = 0; v < n; v++) {
+                    double distance;
+                    if (integerDistances != null) {
+                        distance = integerDistances[v] == IntegerDijkstra.UNREACHABLE
+                                ? Double.POSITIVE_INFINITY : integerDistances[v];
+                    } else {
+                        distance = doubleDistances[v];
+                    }
+
+                    // searching from s on the transpose gives the distances from v to s
+                    int source = byTarget ? v : s;
+                    int target = byTarget ? s : v;
+                    if (potentials != null && distance != Double.POSITIVE_INFINITY) {
+                        distance += potentials[target] - potentials[source];
+                    }
+
+                    distances[source * n + target] = distance;
+                    if (byTarget) {
+                        nextHops[source * n + target] = parents[v];
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // the graph of FloydWarshall.main, with negative edges but no negative cycle
+        WeightedGraph<String> graph = new WeightedGraph<>(true);
+
+        graph.addVertex("1");
+        graph.addVertex("2");
+        graph.addVertex("3");
+        graph.addVertex("4");
+
+        graph.addEdge("1", "3", -2);
+        graph.addEdge("2", "1", 4);
+        graph.addEdge("2", "3", 3);
+        graph.addEdge("3", "4", 2);
+        graph.addEdge("4", "2", -1);
+
+        System.out.println("Graph Structure:");
+        graph.printGraph();
+        System.out.println();
+
+        Map<String, double[][]> result = findAllPairsShortestPaths(graph);
+        lab_4.FloydWarshall.FloydWarshall.printAllShortestPaths(graph, result);
+    }
+}
@@ -1,29 +1,222 @@
 package lab_4.Mains;
 
+import lab_4.ALT.ALTQueryEngine;
+import lab_4.BellmanFord.BellmanFord;
+import lab_4.DeltaStepping.DeltaStepping;
+import lab_4.Dijkstra.BidirectionalDijkstra;
 import lab_4.Dijkstra.DijkstraAlgorithm;
+import lab_4.Dijkstra.IndexedDijkstra;
+import lab_4.Dijkstra.IntegerDijkstra;
+import lab_4.Johnson.Johnson;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedGraph;
 
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static lab_4.FloydWarshall.FloydWarshall.findAllPairsShortestPaths;
 
 public class AlgorithmsHelper {
+    // id snapshots are built together with the graphs, so the timed runs only measure the algorithm
+    private static final Map<WeightedGraph<?>, IndexedWeightedGraph<?>> snapshots = new WeakHashMap<>();
+
+    /**
+     * Builds and remembers the id snapshot of a generated graph, and rejects graphs with a
+     * negative cycle, on which none of the shortest path algorithms is defined.
+     */
+    public static <V> IndexedWeightedGraph<V> prepareSnapshot(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        if (BellmanFord.fromVirtualSource(snapshot).hasNegativeCycle()) {
+            throw new IllegalArgumentException("Graph contains a negative cycle");
+        }
+        snapshots.put(graph, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * @return The remembered snapshot, rebuilt if the graph changed since it was taken
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> IndexedWeightedGraph<V> getSnapshot(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = (IndexedWeightedGraph<V>) snapshots.get(graph);
+        return snapshot != null && snapshot.isSnapshotOf(graph) ? snapshot : prepareSnapshot(graph);
+    }
+
     public static Integer runDijkstra(WeightedGraph<String> graph, String startNode) {
-        DijkstraAlgorithm<String> dijkstra = new DijkstraAlgorithm<>(graph);
+        DijkstraAlgorithm<String> dijkstra = new DijkstraAlgorithm<>(graph, getSnapshot(graph));
         dijkstra.findShortestPaths(startNode);
         return 1;
     }
 
     public static Integer runDijkstraOnAll(WeightedGraph<String> graph, String dummyNode) {
-        DijkstraAlgorithm<String> dijkstra = new DijkstraAlgorithm<>(graph);
+        DijkstraAlgorithm<String> dijkstra = new DijkstraAlgorithm<>(graph, getSnapshot(graph));
         for(String v : graph.getVertices()){
             dijkstra.findShortestPaths(v);
         }
         return 1;
     }
 
+    public static Integer runDeltaStepping(WeightedGraph<String> graph, String startNode) {
+        IndexedWeightedGraph<String> snapshot = getSnapshot(graph);
+        DeltaStepping.search(snapshot, snapshot.indexOf(startNode));
+        return 1;
+    }
+
+    public static Integer runJohnson(WeightedGraph<String> graph, String dummyNode) {
+        Johnson.allPairs(getSnapshot(graph));
+        return 1;
+    }
+
     public static Integer runFloydWarshall(WeightedGraph<String> graph, String dummyNode) {
         Map<String, double[][]> result = findAllPairsShortestPaths(graph);
         return 1;
     }
+
+    private static final int ALT_LANDMARKS = 8;
+    private static final int ALT_QUERIES = 200;
+
+    /**
+     * Prints the average number of vertices settled per random point-to-point query by
+     * plain Dijkstra (stopping at the target), bidirectional Dijkstra and ALT, plus the
+     * ALT preprocessing time. The same query pairs are used for every engine.
+     */
+    public static void printALTSettledComparison(WeightedGraph<String>[] graphs, int[] xValues, String xLabel,
+                                                 int functionNamesSpace, int cellsSpace) {
+        String[] rowNames = {"Dijkstra settled", "Bidir. settled", "ALT settled", "ALT vs Dijkstra", "ALT prep. (ms)"};
+        double[][] rows = new double[rowNames.length][graphs.length];
+
+        for (int i = 0; i < graphs.length; i++) {
+            WeightedGraph<String> graph = graphs[i];
+            int n = graph.getVertices().size();
+
+            long startTime = System.nanoTime();
+            ALTQueryEngine<String> alt = new ALTQueryEngine<>(graph, Math.min(ALT_LANDMARKS, n),
+                    ALTQueryEngine.LandmarkSelection.AVOID, ForkJoinPool.commonPool());
+            long preprocessing = System.nanoTime() - startTime;
+
+            IndexedWeightedGraph<String> snapshot = alt.getSnapshot();
+            IndexedDijkstra dijkstra = new IndexedDijkstra(snapshot);
+            BidirectionalDijkstra<String> bidirectional = new BidirectionalDijkstra<>(graph);
+            SplittableRandom random = new SplittableRandom(42);
+
+            long dijkstraSettled = 0;
+            long bidirectionalSettled = 0;
+            long altSettled = 0;
+            for (int q = 0; q < ALT_QUERIES; q++) {
+                int s = random.nextInt(n);
+                int t = random.nextInt(n);
+
+                dijkstra.runTo(s, t);
+                dijkstraSettled += dijkstra.getSettledCount();
+                bidirectionalSettled += bidirectional.search(snapshot.vertexAt(s), snapshot.vertexAt(t)).getSettledCount();
+                alt.query(s, t);
+                altSettled += alt.getLastSettledCount();
+            }
+
+            rows[0][i] = (double) dijkstraSettled / ALT_QUERIES;
+            rows[1][i] = (double) bidirectionalSettled / ALT_QUERIES;
+            rows[2][i] = (double) altSettled / ALT_QUERIES;
+            rows[3][i] = altSettled == 0 ? 1.0 : (double) dijkstraSettled / altSettled;
+            rows[4][i] = preprocessing / 1_000_000.0;
+        }
+
+        System.out.println("\nSettled vertices per point-to-point query (" + ALT_QUERIES + " random pairs, "
+                + ALT_LANDMARKS + " landmarks):");
+        System.out.printf("%" + functionNamesSpace + "s", xLabel);
+        for (int xValue : xValues) {
+            System.out.printf("%" + cellsSpace + "d", xValue);
+        }
+        System.out.println("\n");
+
+        for (int r = 0; r < rowNames.length; r++) {
+            System.out.printf("%" + functionNamesSpace + "s", rowNames[r]);
+            for (int i = 0; i < graphs.length; i++) {
+                System.out.printf("%" + cellsSpace + ".2f", rows[r][i]);
+            }
+            System.out.println();
+        }
+    }
+
+    private static final int SSSP_SOURCES = 20;
+
+    /**
+     * Prints the time of single-source shortest paths from the same random sources with
+     * DijkstraAlgorithm.findShortestPaths, IndexedDijkstra and the two integer-weight queues
+     * of IntegerDijkstra, and the number of distances of findShortestPaths and the two queues
+     * that differ from IndexedDijkstra (expected to be 0).
+     */
+    public static void printIntegerSSSPComparison(WeightedGraph<String>[] graphs, int[] xValues, String xLabel,
+                                                  int functionNamesSpace, int cellsSpace) {
+        String[] rowNames = {"findShortestPaths", "Indexed Dijkstra", "Dial buckets", "Radix heap", "Mismatches"};
+        double[][] rows = new double[rowNames.length][graphs.length];
+
+        for (int i = 0; i < graphs.length; i++) {
+            WeightedGraph<String> graph = graphs[i];
+            IndexedWeightedGraph<String> snapshot = getSnapshot(graph);
+            if (snapshot.getIntegerWeights() == null) {
+                continue;
+            }
+
+            DijkstraAlgorithm<String> dijkstra = new DijkstraAlgorithm<>(graph, snapshot);
+            IndexedDijkstra indexed = new IndexedDijkstra(snapshot);
+            IntegerDijkstra dial = new IntegerDijkstra(snapshot, IntegerDijkstra.QueueType.DIAL);
+            IntegerDijkstra radix = new IntegerDijkstra(snapshot, IntegerDijkstra.QueueType.RADIX);
+            SplittableRandom random = new SplittableRandom(42);
+
+            long[] times = new long[4];
+            long mismatches = 0;
+            for (int q = 0; q < SSSP_SOURCES; q++) {
+                int s = random.nextInt(snapshot.vertexCount());
+
+                long startTime = System.nanoTime();
+                Map<String, Double> automatic = dijkstra.findShortestPaths(snapshot.vertexAt(s));
+                times[0] += System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                indexed.run(s);
+                times[1] += System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                dial.run(s);
+                times[2] += System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                radix.run(s);
+                times[3] += System.nanoTime() - startTime;
+
+                double[] dialDistances = dial.getDistancesAsDoubles();
+                double[] radixDistances = radix.getDistancesAsDoubles();
+                double[] expected = indexed.getDistances();
+                for (int v = 0; v < snapshot.vertexCount(); v++) {
+                    double distance = expected[v];
+                    if (dialDistances[v] != distance || radixDistances[v] != distance
+                            || automatic.get(snapshot.vertexAt(v)) != distance) {
+                        mismatches++;
+                    }
+                }
+            }
+
+            for (int r = 0; r < times.length; r++) {
+                rows[r][i] = times[r] / 1_000_000.0;
+            }
+            rows[4][i] = mismatches;
+        }
+
+        System.out.println("\nInteger-weight SSSP, total time (ms) for " + SSSP_SOURCES + " random sources:");
+        System.out.printf("%" + functionNamesSpace + "s", xLabel);
+        for (int xValue : xValues) {
+            System.out.printf("%" + cellsSpace + "d", xValue);
+        }
+        System.out.println("\n");
+
+        for (int r = 0; r < rowNames.length; r++) {
+            System.out.printf("%" + functionNamesSpace + "s", rowNames[r]);
+            for (int i = 0; i < graphs.length; i++) {
+                System.out.printf("%" + cellsSpace + ".2f", rows[r][i]);
+            }
+            System.out.println();
+        }
+    }
 }
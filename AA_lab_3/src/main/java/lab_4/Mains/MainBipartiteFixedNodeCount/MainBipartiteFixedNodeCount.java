@@ -30,11 +30,13 @@ public class MainBipartiteFixedNodeCount {
         List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(AlgorithmsHelper::runDijkstra);
         functions.add(AlgorithmsHelper::runDijkstraOnAll);
+        functions.add(AlgorithmsHelper::runJohnson);
         functions.add(AlgorithmsHelper::runFloydWarshall);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("Dijkstra on node U1");
         functNames.add("Dijkstra on All nodes");
+        functNames.add("Johnson (parallel)");
         functNames.add("Floyd-Warshall");
 
         int functionNamesSpace = 21;
@@ -66,6 +68,7 @@ public class MainBipartiteFixedNodeCount {
             Graph<String> unweightedGraph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(totalNodes, m, u);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelper.prepareSnapshot(weightedGraph);
         }
 
         doAlgorithmsComparison(functions, functNames, uSizes, category, functionNamesSpace, cellsSpace, graphs, totalNodes);
@@ -175,10 +178,8 @@ public class MainBipartiteFixedNodeCount {
             return;
         }
 
-        if(funcNames.size() == 3){
-            System.out.println("\n\n" + funcNames.get(0) + " vs " + funcNames.get(1) + " vs " + funcNames.get(2) + " analysis on " + category);
+        System.out.println("\n\n" + String.join(" vs ", funcNames) + " analysis on " + category);
 
-        }
         System.out.println("Execution time (ms):");
         System.out.printf("%" + functionNamesSpace + "s", "n values:");
 
@@ -218,6 +219,9 @@ public class MainBipartiteFixedNodeCount {
             System.out.println();
         }
 
+        AlgorithmsHelper.printALTSettledComparison(graphs, uSizes, "n values:", functionNamesSpace, cellsSpace);
+        AlgorithmsHelper.printIntegerSSSPComparison(graphs, uSizes, "n values:", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset, category));
     }
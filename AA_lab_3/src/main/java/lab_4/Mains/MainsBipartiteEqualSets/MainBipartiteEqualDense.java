@@ -31,11 +31,13 @@ public class MainBipartiteEqualDense {
         List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(AlgorithmsHelper::runDijkstra);
         functions.add(AlgorithmsHelper::runDijkstraOnAll);
+        functions.add(AlgorithmsHelper::runJohnson);
         functions.add(AlgorithmsHelper::runFloydWarshall);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("Dijkstra on node U1");
         functNames.add("Dijkstra on All nodes");
+        functNames.add("Johnson (parallel)");
         functNames.add("Floyd-Warshall");
 
         int functionNamesSpace = 21;
@@ -58,6 +60,7 @@ public class MainBipartiteEqualDense {
             Graph<String> unweightedGraph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, m, n/2);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelper.prepareSnapshot(weightedGraph);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
@@ -167,7 +170,7 @@ public class MainBipartiteEqualDense {
             return;
         }
 
-        System.out.println("\n\n" + funcNames.get(0) + " vs " + funcNames.get(1) + " vs " + funcNames.get(2) + " analysis on " + category);
+        System.out.println("\n\n" + String.join(" vs ", funcNames) + " analysis on " + category);
 
         System.out.println("Execution time (ms):");
         System.out.printf("%" + functionNamesSpace + "s", "n values:");
@@ -208,6 +211,9 @@ public class MainBipartiteEqualDense {
             System.out.println();
         }
 
+        AlgorithmsHelper.printALTSettledComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+        AlgorithmsHelper.printIntegerSSSPComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset, category));
     }
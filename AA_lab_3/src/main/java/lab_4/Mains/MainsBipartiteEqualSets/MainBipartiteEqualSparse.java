@@ -33,11 +33,13 @@ public class MainBipartiteEqualSparse {
         List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(AlgorithmsHelper::runDijkstra);
         functions.add(AlgorithmsHelper::runDijkstraOnAll);
+        functions.add(AlgorithmsHelper::runJohnson);
         functions.add(AlgorithmsHelper::runFloydWarshall);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("Dijkstra on node U1");
         functNames.add("Dijkstra on All nodes");
+        functNames.add("Johnson (parallel)");
         functNames.add("Floyd-Warshall");
 
         int functionNamesSpace = 21;
@@ -61,6 +63,7 @@ public class MainBipartiteEqualSparse {
             Graph<String> unweightedGraph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, m, n/2);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelper.prepareSnapshot(weightedGraph);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
@@ -170,10 +173,8 @@ public class MainBipartiteEqualSparse {
             return;
         }
 
-        if(funcNames.size() == 3){
-            System.out.println("\n\n" + funcNames.get(0) + " vs " + funcNames.get(1) + " vs " + funcNames.get(2) + " analysis on " + category);
+        System.out.println("\n\n" + String.join(" vs ", funcNames) + " analysis on " + category);
 
-        }
 
         System.out.println("Execution time (ms):");
         System.out.printf("%" + functionNamesSpace + "s", "n values:");
@@ -214,6 +215,9 @@ public class MainBipartiteEqualSparse {
             System.out.println();
         }
 
+        AlgorithmsHelper.printALTSettledComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+        AlgorithmsHelper.printIntegerSSSPComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset, category));
     }
@@ -28,11 +28,13 @@ public class MainBipartiteRandomComplete {
         List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(AlgorithmsHelper::runDijkstra);
         functions.add(AlgorithmsHelper::runDijkstraOnAll);
+        functions.add(AlgorithmsHelper::runJohnson);
         functions.add(AlgorithmsHelper::runFloydWarshall);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("Dijkstra on node U1");
         functNames.add("Dijkstra on All nodes");
+        functNames.add("Johnson (parallel)");
         functNames.add("Floyd-Warshall");
 
         int functionNamesSpace = 21;
@@ -63,6 +65,7 @@ public class MainBipartiteRandomComplete {
             Graph<String> unweightedGraph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, m, u);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelper.prepareSnapshot(weightedGraph);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs, uArray);
@@ -173,10 +176,8 @@ public class MainBipartiteRandomComplete {
             return;
         }
 
-        if(funcNames.size() == 3){
-            System.out.println("\n\n" + funcNames.get(0) + " vs " + funcNames.get(1) + " vs " + funcNames.get(2) + " analysis on " + category);
+        System.out.println("\n\n" + String.join(" vs ", funcNames) + " analysis on " + category);
 
-        }
         System.out.println("Execution time (ms):");
         System.out.printf("%" + functionNamesSpace + "s", "n values:");
 
@@ -216,6 +217,9 @@ public class MainBipartiteRandomComplete {
             System.out.println();
         }
 
+        AlgorithmsHelper.printALTSettledComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+        AlgorithmsHelper.printIntegerSSSPComparison(graphs, nValues, "n values:", functionNamesSpace, cellsSpace);
+
         // Plot only execution time
         SwingUtilities.invokeLater(() -> plotExecutionTime(dataset, category));
     }
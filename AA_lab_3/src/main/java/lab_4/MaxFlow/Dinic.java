@@ -0,0 +1,118 @@
+package lab_4.MaxFlow;
+
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Dinic's algorithm, O(n² m): a BFS from the source layers the residual network by distance,
+ * and a blocking flow is sent along arcs that go exactly one layer further.
+ *
+ * The blocking flow uses current arcs: cur[v] only moves forward within a phase, since an arc
+ * that was saturated or led to a dead end stays useless until the next layering. The DFS is
+ * iterative, and after an augmentation it backs up only to the tail of the first saturated arc.
+ */
+public class Dinic {
+
+    public static <V> MaxFlowResult<V> maxFlow(WeightedGraph<V> graph, V source, V sink) {
+        ResidualNetwork<V> network = ResidualNetwork.of(graph);
+        return maxFlow(network, network.idOf(source), network.idOf(sink));
+    }
+
+    /**
+     * @param network The capacity network, it is not modified
+     * @param source Id of the source
+     * @param sink Id of the sink
+     * @return The flow value and the final residual capacities
+     */
+    public static <V> MaxFlowResult<V> maxFlow(ResidualNetwork<V> network, int source, int sink) {
+        ResidualNetwork.checkTerminals(network, source, sink);
+        int n = network.vertexCount();
+        int[] offsets = network.getOffsets();
+        int[] heads = network.getHeads();
+        int[] pairs = network.getPairs();
+        double[] residuals = network.getCapacities().clone();
+
+        int[] levels = new int[n];
+        int[] queue = new int[n];
+        int[] currentArcs = new int[n];
+        int[] path = new int[n];
+        double flowValue = 0;
+
+        while (layer(offsets, heads, residuals, source, sink, levels, queue)) {
+            System.arraycopy(offsets, 0, currentArcs, 0, n);
+            int depth = 0;
+            int v = source;
+
+            while (true) {
+                if (v == sink) {
+                    double bottleneck = Double.POSITIVE_INFINITY;
+                    for (int i = 0; i < depth; i++) {
+                        bottleneck = Math.min(bottleneck, residuals[path[i]]);
+                    }
+                    int firstSaturated = depth;
+                    for (int i = 0; i < depth; i++) {
+                        residuals[path[i]] -= bottleneck;
+                        residuals[pairs[path[i]]] += bottleneck;
+                        if (residuals[path[i]] == 0 && firstSaturated == depth) {
+                            firstSaturated = i;
+                        }
+                    }
+                    flowValue += bottleneck;
+                    depth = firstSaturated;
+                    v = depth == 0 ? source : heads[path[depth - 1]];
+                    continue;
+                }
+
+                int end = offsets[v + 1];
+                int a = currentArcs[v];
+                while (a < end && (residuals[a] <= 0 || levels[heads[a]] != levels[v] + 1)) {
+                    a++;
+                }
+                currentArcs[v] = a;
+
+                if (a < end) {
+                    path[depth++] = a;
+                    v = heads[a];
+                } else if (v == source) {
+                    break;
+                } else {
+                    // dead end: take v out of the layering and skip the arc into it
+                    levels[v] = -1;
+                    v = --depth == 0 ? source : heads[path[depth - 1]];
+                    currentArcs[v]++;
+                }
+            }
+        }
+
+        return new MaxFlowResult<>(network, source, sink, flowValue, residuals);
+    }
+
+    /**
+     * BFS over arcs with residual capacity.
+     *
+     * @return true if the sink is reachable
+     */
+    private static boolean layer(int[] offsets, int[] heads, double[] residuals, int source, int sink,
+                                 int[] levels, int[] queue) {
+        Arrays.fill(levels, -1);
+        levels[source] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int a = offsets[x]; a < offsets[x + 1]; a++) {
+                int y = heads[a];
+                if (levels[y] == -1 && residuals[a] > 0) {
+                    levels[y] = levels[x] + 1;
+                    if (y == sink) {
+                        return true;
+                    }
+                    queue[tail++] = y;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package lab_4.MaxFlow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value of a maximum flow together with the final residual capacities, from which a minimum
+ * cut is read: the sink side are the vertices that can still reach the sink in the residual
+ * network, and every arc from the other vertices into the sink side is saturated.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class MaxFlowResult<V> {
+    private final ResidualNetwork<V> network;
+    private final int source;
+    private final int sink;
+    private final double flowValue;
+    private final double[] residuals;
+    private boolean[] sourceSide;
+
+    MaxFlowResult(ResidualNetwork<V> network, int source, int sink, double flowValue, double[] residuals) {
+        this.network = network;
+        this.source = source;
+        this.sink = sink;
+        this.flowValue = flowValue;
+        this.residuals = residuals;
+    }
+
+    public ResidualNetwork<V> getNetwork() {
+        return network;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getSink() {
+        return sink;
+    }
+
+    public double getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return Residual capacity of every arc of the network
+     */
+    public double[] getResiduals() {
+        return residuals;
+    }
+
+    /**
+     * @return Side of every id, true for the source side of the minimum cut
+     */
+    public synchronized boolean[] getSourceSide() {
+        if (sourceSide == null) {
+            int n = network.vertexCount();
+            int[] offsets = network.getOffsets();
+            int[] heads = network.getHeads();
+            int[] pairs = network.getPairs();
+
+            // reverse BFS from the sink: x reaches y along arc a if residuals[pair[a]] > 0 for a from y to x
+            boolean[] sinkSide = new boolean[n];
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            sinkSide[sink] = true;
+            queue[tail++] = sink;
+            while (head < tail) {
+                int y = queue[head++];
+                for (int a = offsets[y]; a < offsets[y + 1]; a++) {
+                    int x = heads[a];
+                    if (!sinkSide[x] && residuals[pairs[a]] > 0) {
+                        sinkSide[x] = true;
+                        queue[tail++] = x;
+                    }
+                }
+            }
+
+            sourceSide = new boolean[n];
+            for (int v = 0; v < n; v++) {
+                sourceSide[v] = !sinkSide[v];
+            }
+        }
+        return sourceSide;
+    }
+
+    /**
+     * @return Forward arcs from the source side to the sink side, their capacities add up to the flow value
+     */
+    public int[] getCutArcs() {
+        boolean[] side = getSourceSide();
+        int[] offsets = network.getOffsets();
+        int[] heads = network.getHeads();
+        List<Integer> arcs = new ArrayList<>();
+        for (int u = 0; u < side.length; u++) {
+            if (!side[u]) {
+                continue;
+            }
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                if (!side[heads[a]] && network.isForward(a)) {
+                    arcs.add(a);
+                }
+            }
+        }
+        return arcs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return The cut arcs as (tail, head) pairs of original vertices
+     */
+    public List<Map.Entry<V, V>> getCutEdges() {
+        List<Map.Entry<V, V>> edges = new ArrayList<>();
+        for (int a : getCutArcs()) {
+            edges.add(Map.entry(network.getGraph().vertexAt(network.tail(a)),
+                    network.getGraph().vertexAt(network.head(a))));
+        }
+        return edges;
+    }
+}
@@ -0,0 +1,245 @@
+package lab_4.MaxFlow;
+
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Highest-label push-relabel, O(n² sqrt(m)), with the two heuristics that make it fast in practice:
+ * global relabeling (the heights are reset to exact residual distances to the sink by a reverse
+ * BFS, every time the relabels have done about as much work as a BFS) and the gap heuristic
+ * (when no vertex is left at some height h, every vertex above h is cut off from the sink).
+ *
+ * Only the first phase runs: a maximum preflow is found, whose excess at the sink is the
+ * max-flow value, and whose residual network gives the minimum cut. The excess stuck in
+ * vertices cut off from the sink is not returned to the source, so the residual capacities
+ * describe a preflow rather than a flow.
+ */
+public class PushRelabel {
+    // a global relabel runs once the relabels scanned this many arcs per vertex, plus m
+    private static final int GLOBAL_RELABEL_FACTOR = 6;
+    // work charged for every relabel besides the arcs it scans
+    private static final int RELABEL_COST = 12;
+    private static final int NONE = -1;
+
+    private final int n;
+    private final int source;
+    private final int sink;
+    private final int[] offsets;
+    private final int[] heads;
+    private final int[] pairs;
+    private final double[] residuals;
+
+    private final int[] heights;
+    private final double[] excess;
+    private final int[] currentArcs;
+    // active vertices by height, singly linked
+    private final int[] activeHeads;
+    private final int[] nextActive;
+    // all vertices below n by height, doubly linked, for the gap heuristic
+    private final int[] allHeads;
+    private final int[] nextAll;
+    private final int[] previousAll;
+    private int maxActive;
+    private int maxHeight;
+    private long work;
+
+    private PushRelabel(ResidualNetwork<?> network, int source, int sink) {
+        this.n = network.vertexCount();
+        this.source = source;
+        this.sink = sink;
+        this.offsets = network.getOffsets();
+        this.heads = network.getHeads();
+        this.pairs = network.getPairs();
+        this.residuals = network.getCapacities().clone();
+
+        this.heights = new int[n];
+        this.excess = new double[n];
+        this.currentArcs = new int[n];
+        this.activeHeads = new int[n];
+        this.nextActive = new int[n];
+        this.allHeads = new int[n];
+        this.nextAll = new int[n];
+        this.previousAll = new int[n];
+    }
+
+    public static <V> MaxFlowResult<V> maxFlow(WeightedGraph<V> graph, V source, V sink) {
+        ResidualNetwork<V> network = ResidualNetwork.of(graph);
+        return maxFlow(network, network.idOf(source), network.idOf(sink));
+    }
+
+    /**
+     * @param network The capacity network, it is not modified
+     * @param source Id of the source
+     * @param sink Id of the sink
+     * @return The flow value and the final residual capacities of the maximum preflow
+     */
+    public static <V> MaxFlowResult<V> maxFlow(ResidualNetwork<V> network, int source, int sink) {
+        ResidualNetwork.checkTerminals(network, source, sink);
+        PushRelabel engine = new PushRelabel(network, source, sink);
+        engine.run();
+        return new MaxFlowResult<>(network, source, sink, engine.excess[sink], engine.residuals);
+    }
+
+    private void run() {
+        // saturate every arc out of the source
+        for (int a = offsets[source]; a < offsets[source + 1]; a++) {
+            double delta = residuals[a];
+            if (delta > 0) {
+                residuals[a] = 0;
+                residuals[pairs[a]] += delta;
+                excess[heads[a]] += delta;
+            }
+        }
+        globalRelabel();
+
+        long globalRelabelWork = (long) GLOBAL_RELABEL_FACTOR * n + heads.length;
+        while (maxActive >= 0) {
+            int v = activeHeads[maxActive];
+            if (v == NONE) {
+                maxActive--;
+                continue;
+            }
+            activeHeads[maxActive] = nextActive[v];
+
+            discharge(v);
+            if (excess[v] > 0 && heights[v] < n) {
+                addActive(v);
+            }
+            if (work > globalRelabelWork) {
+                globalRelabel();
+            }
+        }
+    }
+
+    /**
+     * Pushes along admissible arcs from the current arc on; if excess is left, relabels v once.
+     */
+    private void discharge(int v) {
+        int height = heights[v];
+        int end = offsets[v + 1];
+        for (int a = currentArcs[v]; a < end; a++) {
+            int w = heads[a];
+            if (residuals[a] > 0 && heights[w] == height - 1) {
+                double delta = Math.min(excess[v], residuals[a]);
+                residuals[a] -= delta;
+                residuals[pairs[a]] += delta;
+                excess[v] -= delta;
+                if (excess[w] == 0 && w != sink) {
+                    excess[w] = delta;
+                    addActive(w);
+                } else {
+                    excess[w] += delta;
+                }
+                if (excess[v] == 0) {
+                    currentArcs[v] = a;
+                    return;
+                }
+            }
+        }
+
+        // relabel, or cut off everything above height if v was the last vertex there
+        if (allHeads[height] == v && nextAll[v] == NONE) {
+            gap(height);
+            return;
+        }
+        removeFromAll(v);
+        int newHeight = n;
+        int newArc = offsets[v];
+        for (int a = offsets[v]; a < end; a++) {
+            if (residuals[a] > 0 && heights[heads[a]] + 1 < newHeight) {
+                newHeight = heights[heads[a]] + 1;
+                newArc = a;
+            }
+        }
+        work += RELABEL_COST + end - offsets[v];
+        heights[v] = newHeight;
+        if (newHeight < n) {
+            currentArcs[v] = newArc;
+            addToAll(v);
+        }
+    }
+
+    /**
+     * No vertex is left at height once v leaves it: v and every vertex above can not reach the sink.
+     */
+    private void gap(int height) {
+        for (int h = height; h <= maxHeight; h++) {
+            for (int u = allHeads[h]; u != NONE; u = nextAll[u]) {
+                heights[u] = n;
+            }
+            allHeads[h] = NONE;
+        }
+        maxHeight = height - 1;
+    }
+
+    /**
+     * Sets every height to the residual distance to the sink (n if there is none) and rebuilds the buckets.
+     */
+    private void globalRelabel() {
+        work = 0;
+        Arrays.fill(heights, n);
+        Arrays.fill(activeHeads, NONE);
+        Arrays.fill(allHeads, NONE);
+        maxActive = -1;
+        maxHeight = -1;
+
+        int[] queue = currentArcs;
+        int head = 0;
+        int tail = 0;
+        heights[sink] = 0;
+        queue[tail++] = sink;
+        while (head < tail) {
+            int y = queue[head++];
+            for (int a = offsets[y]; a < offsets[y + 1]; a++) {
+                int x = heads[a];
+                if (heights[x] == n && x != source && residuals[pairs[a]] > 0) {
+                    heights[x] = heights[y] + 1;
+                    queue[tail++] = x;
+                }
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (heights[v] < n) {
+                addToAll(v);
+                if (excess[v] > 0 && v != sink) {
+                    addActive(v);
+                }
+            }
+            currentArcs[v] = offsets[v];
+        }
+    }
+
+    private void addActive(int v) {
+        int height = heights[v];
+        nextActive[v] = activeHeads[height];
+        activeHeads[height] = v;
+        maxActive = Math.max(maxActive, height);
+    }
+
+    private void addToAll(int v) {
+        int height = heights[v];
+        int first = allHeads[height];
+        nextAll[v] = first;
+        previousAll[v] = NONE;
+        if (first != NONE) {
+            previousAll[first] = v;
+        }
+        allHeads[height] = v;
+        maxHeight = Math.max(maxHeight, height);
+    }
+
+    private void removeFromAll(int v) {
+        int next = nextAll[v];
+        int previous = previousAll[v];
+        if (previous == NONE) {
+            allHeads[heights[v]] = next;
+        } else {
+            nextAll[previous] = next;
+        }
+        if (next != NONE) {
+            previousAll[next] = previous;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package lab_4.MaxFlow;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+/**
+ * Capacity network in CSR form with paired reverse arcs, the layout the max-flow engines work on.
+ *
+ * Every arc u -> v of the graph (its weight is the capacity) becomes an arc in the range of u
+ * and a reverse arc of capacity 0 in the range of v; pair[a] is the other arc of the pair, so
+ * pushing flow along a is residual[a] -= f, residual[pair[a]] += f. An undirected edge is stored
+ * in both directions by the snapshot, so it becomes two such pairs. Self-loops are dropped.
+ *
+ * The network itself is read-only, every run works on its own copy of the capacities.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class ResidualNetwork<V> {
+    private final IndexedWeightedGraph<V> graph;
+    private final int[] offsets;
+    private final int[] heads;
+    private final int[] pairs;
+    private final double[] capacities;
+    // true for the arcs that come from an edge of the graph
+    private final boolean[] forwardArcs;
+
+    private ResidualNetwork(IndexedWeightedGraph<V> graph, int[] offsets, int[] heads, int[] pairs,
+                            double[] capacities, boolean[] forwardArcs) {
+        this.graph = graph;
+        this.offsets = offsets;
+        this.heads = heads;
+        this.pairs = pairs;
+        this.capacities = capacities;
+        this.forwardArcs = forwardArcs;
+    }
+
+    /**
+     * @param graph The snapshot, weights are the capacities
+     * @return The residual network of the graph
+     * @throws IllegalArgumentException if some capacity is negative
+     */
+    public static <V> ResidualNetwork<V> of(IndexedWeightedGraph<V> graph) {
+        int n = graph.vertexCount();
+        int[] graphOffsets = graph.getOffsets();
+        int[] graphTargets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graphOffsets[u]; e < graphOffsets[u + 1]; e++) {
+                int v = graphTargets[e];
+                if (weights[e] < 0) {
+                    throw new IllegalArgumentException("Capacity of edge " + graph.vertexAt(u) + " -> "
+                            + graph.vertexAt(v) + " is negative");
+                }
+                if (u != v) {
+                    offsets[u + 1]++;
+                    offsets[v + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int arcCount = offsets[n];
+        int[] heads = new int[arcCount];
+        int[] pairs = new int[arcCount];
+        double[] capacities = new double[arcCount];
+        boolean[] forwardArcs = new boolean[arcCount];
+        int[] fill = new int[n];
+        System.arraycopy(offsets, 0, fill, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = graphOffsets[u]; e < graphOffsets[u + 1]; e++) {
+                int v = graphTargets[e];
+                if (u == v) {
+                    continue;
+                }
+                int forward = fill[u]++;
+                int reverse = fill[v]++;
+                heads[forward] = v;
+                heads[reverse] = u;
+                pairs[forward] = reverse;
+                pairs[reverse] = forward;
+                capacities[forward] = weights[e];
+                forwardArcs[forward] = true;
+            }
+        }
+
+        return new ResidualNetwork<>(graph, offsets, heads, pairs, capacities, forwardArcs);
+    }
+
+    public static <V> ResidualNetwork<V> of(WeightedGraph<V> graph) {
+        return of(IndexedWeightedGraph.of(graph));
+    }
+
+    /**
+     * @return Id of the vertex, checked to be in the network
+     */
+    int idOf(V vertex) {
+        int id = graph.indexOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex " + vertex + " not found in the graph");
+        }
+        return id;
+    }
+
+    static void checkTerminals(ResidualNetwork<?> network, int source, int sink) {
+        int n = network.vertexCount();
+        if (source < 0 || source >= n || sink < 0 || sink >= n) {
+            throw new IllegalArgumentException("Source or sink id out of range");
+        }
+        if (source == sink) {
+            throw new IllegalArgumentException("Source and sink must be different vertices");
+        }
+    }
+
+    public IndexedWeightedGraph<V> getGraph() {
+        return graph;
+    }
+
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return Number of arcs, reverse arcs included
+     */
+    public int arcCount() {
+        return heads.length;
+    }
+
+    /**
+     * @return Arcs of vertex v are offsets[v] .. offsets[v + 1] - 1
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getHeads() {
+        return heads;
+    }
+
+    public int[] getPairs() {
+        return pairs;
+    }
+
+    /**
+     * @return Capacity of every arc, 0 for the reverse arcs
+     */
+    public double[] getCapacities() {
+        return capacities;
+    }
+
+    public int tail(int arc) {
+        return heads[pairs[arc]];
+    }
+
+    public int head(int arc) {
+        return heads[arc];
+    }
+
+    /**
+     * @return Whether the arc comes from an edge of the graph rather than being a reverse arc
+     */
+    public boolean isForward(int arc) {
+        return forwardArcs[arc];
+    }
+}
@@ -0,0 +1,45 @@
+package lab_4.MaxFlow;
+
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.Graph.Graph;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingMaxFlow {
+    public static void main(String[] args) {
+        // directed families of the lab generators, from sparse to complete, capacities in the converter's [1, 100]
+        double[] densities = {0.05, 0.1, 0.3, 0.7, 1.0};
+        int[] nValues = {100, 200, 400, 800, 1200};
+
+        for (double density : densities) {
+            System.out.println("\nDirected graphs, density " + density + " of n(n-1):");
+            System.out.printf("%8s%10s%16s%20s%12s%n", "n", "edges", "Dinic (ms)", "Push-relabel (ms)", "flow");
+            for (int n : nValues) {
+                int m = (int) Math.max(n - 1, density * n * (n - 1));
+                Graph<String> graph = DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, m, true);
+                IndexedWeightedGraph<String> snapshot = IndexedWeightedGraph.of(convertToWeightedGraph(graph));
+                ResidualNetwork<String> network = ResidualNetwork.of(snapshot);
+                int source = 0;
+                int sink = n - 1;
+
+                long startTime = System.nanoTime();
+                MaxFlowResult<String> dinic = Dinic.maxFlow(network, source, sink);
+                long dinicTime = System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                MaxFlowResult<String> pushRelabel = PushRelabel.maxFlow(network, source, sink);
+                long pushRelabelTime = System.nanoTime() - startTime;
+
+                double cutCapacity = 0;
+                for (int arc : pushRelabel.getCutArcs()) {
+                    cutCapacity += network.getCapacities()[arc];
+                }
+                boolean matches = dinic.getFlowValue() == pushRelabel.getFlowValue()
+                        && cutCapacity == dinic.getFlowValue();
+                System.out.printf("%8d%10d%16.2f%20.2f%12d%s%n", n, m, dinicTime / 1e6, pushRelabelTime / 1e6,
+                        (long) dinic.getFlowValue(), matches ? "" : "   MISMATCH");
+            }
+        }
+    }
+}
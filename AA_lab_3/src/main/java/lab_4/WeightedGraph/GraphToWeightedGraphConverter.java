@@ -31,81 +31,31 @@ public class GraphToWeightedGraphConverter {
             throw new IllegalArgumentException("Minimum weight cannot be greater than maximum weight");
         }
 
-        // Create a new weighted graph with the same directedness
-        WeightedGraph<V> weightedGraph = new WeightedGraph<>(graph.isDirected());
-        Random random = new Random();
-
-        // Add all vertices from the original graph
-        for (V vertex : graph.getVertices()) {
-            weightedGraph.addVertex(vertex);
+        // Index the vertices, the builder works on ids
+        List<V> vertices = new ArrayList<>(graph.getVertices());
+        Map<V, Integer> index = new HashMap<>(Math.max(16, (int) (vertices.size() / 0.75f) + 1));
+        for (int i = 0; i < vertices.size(); i++) {
+            index.put(vertices.get(i), i);
         }
 
-        // For undirected graphs, we need to track weights to ensure consistency
-        Map<EdgePair<V>, Integer> edgeWeights = new HashMap<>();
-
-        // Add all edges with random weights
+        WeightedGraphBuilder builder = new WeightedGraphBuilder(vertices.size(), graph.isDirected(), false);
+        Random random = new Random();
         Map<V, List<V>> adjacencyList = graph.getAdjacencyList();
-        Set<V> vertices = graph.getVertices();
-
-        for (V from : vertices) {
-            List<V> neighbors = adjacencyList.get(from);
-            if (neighbors != null) {
-                for (V to : neighbors) {
-                    int weight;
-
-                    if (!graph.isDirected()) {
-                        // For undirected graphs, ensure the same weight for both directions
-                        EdgePair<V> edge = new EdgePair<>(from, to);
-                        EdgePair<V> reverseEdge = new EdgePair<>(to, from);
-
-                        // Check if we already have a weight for this edge (in either direction)
-                        if (edgeWeights.containsKey(edge)) {
-                            weight = edgeWeights.get(edge);
-                        } else if (edgeWeights.containsKey(reverseEdge)) {
-                            weight = edgeWeights.get(reverseEdge);
-                        } else {
-                            // Generate a new weight
-                            weight = random.nextInt(maxWeight - minWeight + 1) + minWeight;
-                            // Store it for future reference
-                            edgeWeights.put(edge, weight);
-                        }
-                    } else {
-                        // For directed graphs, generate a new random weight for each edge
-                        weight = random.nextInt(maxWeight - minWeight + 1) + minWeight;
-                    }
-
-                    weightedGraph.addEdge(from, to, weight);
+
+        for (int i = 0; i < vertices.size(); i++) {
+            V from = vertices.get(i);
+            for (V to : adjacencyList.get(from)) {
+                int j = index.get(to);
+                // An undirected edge is usually listed at both endpoints, it is added once (from
+                // the smaller id) with one weight, and the builder stores both directions
+                if (!graph.isDirected() && i > j && adjacencyList.get(to).contains(from)) {
+                    continue;
                 }
+                builder.addEdge(i, j, random.nextInt(maxWeight - minWeight + 1) + minWeight);
             }
         }
 
-        return weightedGraph;
-    }
-
-    /**
-     * Helper class to represent an edge pair for tracking weights in undirected graphs
-     */
-    private static class EdgePair<V> {
-        V from;
-        V to;
-
-        public EdgePair(V from, V to) {
-            this.from = from;
-            this.to = to;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            EdgePair<?> edgePair = (EdgePair<?>) o;
-            return Objects.equals(from, edgePair.from) && Objects.equals(to, edgePair.to);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(from, to);
-        }
+        return builder.buildWeightedGraph(vertices);
     }
 
     /**
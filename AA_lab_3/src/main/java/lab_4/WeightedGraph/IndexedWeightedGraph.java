@@ -0,0 +1,209 @@
+package lab_4.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Read-only snapshot of a WeightedGraph where vertices are mapped to ids 0..n-1 and the
+ * adjacency is stored in compressed sparse row (CSR) form: the edges of vertex v are
+ * targets[e] with weight weights[e], for e in offsets[v] .. offsets[v + 1] - 1.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class IndexedWeightedGraph<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexToIndex;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final boolean isDirected;
+    private final int sourceModificationCount;
+    private IndexedWeightedGraph<V> transpose;
+    private int[] integerWeights;
+    private boolean integerWeightsChecked;
+
+    /**
+     * Creates a snapshot from already built CSR arrays.
+     *
+     * @param vertices Vertex labels, the label of id i is vertices.get(i)
+     * @param offsets Array of size n + 1 with the start of every adjacency range
+     * @param targets Concatenated adjacency ranges
+     * @param weights Weight of every entry of targets
+     * @param isDirected Whether the graph is directed
+     */
+    public IndexedWeightedGraph(List<V> vertices, int[] offsets, int[] targets, double[] weights, boolean isDirected) {
+        this(vertices, indexVertices(vertices), offsets, targets, weights, isDirected, -1);
+    }
+
+    private IndexedWeightedGraph(List<V> vertices, Map<V, Integer> vertexToIndex, int[] offsets, int[] targets,
+                                 double[] weights, boolean isDirected, int sourceModificationCount) {
+        if (offsets.length != vertices.size() + 1) {
+            throw new IllegalArgumentException("Offsets array must have n + 1 entries");
+        }
+        if (targets.length != weights.length) {
+            throw new IllegalArgumentException("Targets and weights must have the same length");
+        }
+
+        this.vertices = vertices;
+        this.vertexToIndex = vertexToIndex;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.isDirected = isDirected;
+        this.sourceModificationCount = sourceModificationCount;
+    }
+
+    private static <V> Map<V, Integer> indexVertices(List<V> vertices) {
+        Map<V, Integer> index = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            index.put(vertices.get(i), i);
+        }
+        return index;
+    }
+
+    /**
+     * Builds the snapshot of a weighted graph. Edge order is the same as in the adjacency lists.
+     *
+     * @param graph The graph to index
+     * @param <V> Type of vertices
+     * @return The CSR snapshot of the graph
+     */
+    public static <V> IndexedWeightedGraph<V> of(WeightedGraph<V> graph) {
+        Map<V, List<WeightedEdge<V>>> adjacencyList = graph.getAdjacencyList();
+        List<V> vertices = new ArrayList<>(adjacencyList.keySet());
+        Map<V, Integer> index = indexVertices(vertices);
+        int n = vertices.size();
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + adjacencyList.get(vertices.get(i)).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            for (WeightedEdge<V> edge : adjacencyList.get(vertices.get(i))) {
+                targets[position] = index.get(edge.target);
+                weights[position++] = edge.weight;
+            }
+        }
+
+        return new IndexedWeightedGraph<>(vertices, index, offsets, targets, weights,
+                graph.isDirected(), graph.getModificationCount());
+    }
+
+    /**
+     * Returns the graph with every edge reversed (built once, then cached).
+     * For undirected graphs the adjacency is symmetric, so the graph itself is returned.
+     */
+    public IndexedWeightedGraph<V> transpose() {
+        if (!isDirected) {
+            return this;
+        }
+
+        if (transpose == null) {
+            int n = vertexCount();
+            int[] reverseOffsets = new int[n + 1];
+            for (int target : targets) {
+                reverseOffsets[target + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                reverseOffsets[i + 1] += reverseOffsets[i];
+            }
+
+            int[] reverseTargets = new int[targets.length];
+            double[] reverseWeights = new double[weights.length];
+            int[] next = Arrays.copyOf(reverseOffsets, n);
+            for (int v = 0; v < n; v++) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int position = next[targets[e]]++;
+                    reverseTargets[position] = v;
+                    reverseWeights[position] = weights[e];
+                }
+            }
+
+            transpose = new IndexedWeightedGraph<>(vertices, vertexToIndex, reverseOffsets, reverseTargets,
+                    reverseWeights, true, sourceModificationCount);
+            transpose.transpose = this;
+        }
+
+        return transpose;
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Returns the weights as an int array when every weight is a non-negative integer that fits
+     * in an int (as with the weights of GraphToWeightedGraphConverter). Checked once, then cached;
+     * synchronized because parallel engines may ask for it at the same time.
+     *
+     * @return The integer weights, parallel to getTargets(), or null if some weight is not integral
+     */
+    public synchronized int[] getIntegerWeights() {
+        if (!integerWeightsChecked) {
+            int[] converted = new int[weights.length];
+            for (int e = 0; e < weights.length; e++) {
+                double weight = weights[e];
+                if (!(weight >= 0 && weight <= Integer.MAX_VALUE) || weight != Math.rint(weight)) {
+                    converted = null;
+                    break;
+                }
+                converted[e] = (int) weight;
+            }
+            integerWeights = converted;
+            integerWeightsChecked = true;
+        }
+        return integerWeights;
+    }
+
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    /**
+     * @return true if the snapshot was built from this graph and the graph has not changed since
+     */
+    public boolean isSnapshotOf(WeightedGraph<?> graph) {
+        return sourceModificationCount >= 0
+                && graph.getModificationCount() == sourceModificationCount
+                && graph.getVertices().size() == vertices.size();
+    }
+
+    /**
+     * @return The id of the vertex, or -1 if it is not part of the graph
+     */
+    public int indexOf(V vertex) {
+        Integer index = vertexToIndex.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    public V vertexAt(int index) {
+        return vertices.get(index);
+    }
+
+    public List<V> getVertices() {
+        return vertices;
+    }
+}
@@ -0,0 +1,104 @@
+package lab_4.WeightedGraph;
+
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.Graph.Graph;
+
+import java.util.*;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingGraphSnapshots {
+    private static final int EDGES = 1_000_000;
+
+    public static void main(String[] args) {
+        // dense: the lab generator with 2000 vertices, about half of all pairs
+        Graph<String> dense = DirectedUndirectedGraphGenerator.generateStringLabelGraph(2000, EDGES, false);
+        System.out.println("Undirected graph, 2000 vertices, " + EDGES + " edges:");
+        compareGraph(dense);
+        compareWeighted(convertToWeightedGraph(dense));
+
+        // sparse: random edges, too many vertices for the generator's O(n²) candidate list
+        Random random = new Random(42);
+        int n = 100_000;
+        WeightedGraph<Integer> sparse = new WeightedGraph<>(false);
+        for (int v = 0; v < n; v++) {
+            sparse.addVertex(v);
+        }
+        for (int e = 0; e < EDGES; e++) {
+            sparse.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(100));
+        }
+        System.out.println("\nUndirected graph, " + n + " vertices, " + EDGES + " edges:");
+        compareWeighted(sparse);
+    }
+
+    private static <V> void compareGraph(Graph<V> graph) {
+        long before = usedMemory();
+        long startTime = System.nanoTime();
+        Map<V, List<V>> deepCopy = new HashMap<>();
+        for (Map.Entry<V, List<V>> entry : graph.getAdjacencyList().entrySet()) {
+            deepCopy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        report("Graph, deep copy", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        Graph<V> snapshot = graph.copy();
+        report("Graph, snapshot", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        List<V> vertices = new ArrayList<>(snapshot.getVertices());
+        report("  first access", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        for (int i = 0; i < vertices.size(); i += 100) {
+            snapshot.removeEdge(vertices.get(i), snapshot.getAdjacencyList().get(vertices.get(i)).get(0));
+        }
+        report("  changes at 1% of vertices", System.nanoTime() - startTime, usedMemory() - before);
+
+        // keep both copies alive until every measurement is done
+        System.out.println("    (" + deepCopy.size() + " + " + snapshot.getVertices().size() + " vertices)");
+    }
+
+    private static <V> void compareWeighted(WeightedGraph<V> graph) {
+        long before = usedMemory();
+        long startTime = System.nanoTime();
+        Map<V, List<WeightedEdge<V>>> deepCopy = new HashMap<>();
+        for (Map.Entry<V, List<WeightedEdge<V>>> entry : graph.getAdjacencyList().entrySet()) {
+            deepCopy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        report("WeightedGraph, deep copy", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        WeightedGraph<V> snapshot = graph.copy();
+        report("WeightedGraph, snapshot", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        List<V> vertices = new ArrayList<>(snapshot.getVertices());
+        report("  first access", System.nanoTime() - startTime, usedMemory() - before);
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        for (int i = 0; i < vertices.size(); i += 100) {
+            snapshot.addEdge(vertices.get(i), vertices.get((i + 1) % vertices.size()), 1);
+        }
+        report("  changes at 1% of vertices", System.nanoTime() - startTime, usedMemory() - before);
+
+        System.out.println("    (" + deepCopy.size() + " + " + snapshot.getVertices().size() + " vertices)");
+    }
+
+    private static void report(String label, long nanos, long bytes) {
+        System.out.printf("%-28s%12.3f ms%12.2f MB%n", label, nanos / 1e6, bytes / (1024.0 * 1024.0));
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,220 @@
+package lab_4.WeightedGraph;
+
+import lab_3.Bipartite.BipartiteGraphGenerator;
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.Graph.Graph;
+import lab_3.KRegular.KRegularGraphGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingWeightedGraphBuilder {
+    public static void main(String[] args) {
+        // complete graphs as in the lab_4/lab_5 Mains, then sparse random ones (with parallel edges and loops)
+        for (boolean isDirected : new boolean[]{false, true}) {
+            String kind = isDirected ? "directed" : "undirected";
+
+            System.out.println("Complete " + kind + " graphs:");
+            for (int n : new int[]{200, 500, 1000, 1500}) {
+                int m = isDirected ? n * (n - 1) : n * (n - 1) / 2;
+                int[] from = new int[m];
+                int[] to = new int[m];
+                int position = 0;
+                for (int u = 0; u < n; u++) {
+                    for (int v = isDirected ? 0 : u + 1; v < n; v++) {
+                        if (u != v) {
+                            from[position] = u;
+                            to[position++] = v;
+                        }
+                    }
+                }
+                compare(n, from, to, isDirected, false);
+            }
+
+            System.out.println("\nRandom " + kind + " graphs, 10 edges per vertex:");
+            Random random = new Random(42);
+            for (int n : new int[]{10_000, 100_000, 200_000}) {
+                int m = 10 * n;
+                int[] from = new int[m];
+                int[] to = new int[m];
+                for (int e = 0; e < m; e++) {
+                    from[e] = random.nextInt(n);
+                    to[e] = random.nextInt(n);
+                }
+                compare(n, from, to, isDirected, false);
+            }
+
+            // few vertices for many edges, so most edges have parallel copies with other weights
+            System.out.println("\nRandom " + kind + " graphs with parallel edges, deduplicated:");
+            for (int n : new int[]{100, 1000, 10_000}) {
+                int m = 50 * n;
+                int[] from = new int[m];
+                int[] to = new int[m];
+                for (int e = 0; e < m; e++) {
+                    from[e] = random.nextInt(n);
+                    to[e] = random.nextInt(Math.min(n, 20));
+                }
+                compare(n, from, to, isDirected, true);
+            }
+            System.out.println();
+        }
+
+        // the old converter called addEdge from both endpoints of an undirected edge, so its lists
+        // held every such edge twice; the builder's lists must be the input lists, with one weight per edge
+        System.out.println("Converter against the input graphs:");
+        checkConverter("Directed dense", DirectedUndirectedGraphGenerator.generateStringLabelGraph(500, 500 * 499 * 7 / 10, true));
+        checkConverter("Directed sparse", DirectedUndirectedGraphGenerator.generateStringLabelGraph(2000, 20_000, true));
+        checkConverter("Undirected dense", DirectedUndirectedGraphGenerator.generateStringLabelGraph(500, 500 * 499 * 7 / 20, false));
+        checkConverter("Undirected sparse", DirectedUndirectedGraphGenerator.generateStringLabelGraph(2000, 20_000, false));
+        checkConverter("Bipartite", BipartiteGraphGenerator.generateStringLabelBipartiteGraph(1000, 100_000, 500));
+        checkConverter("3-regular", KRegularGraphGenerator.generateStringLabelKRegularGraph(2000, 3));
+    }
+
+    /**
+     * Builds the same edges with addEdge, the builder and the CSR-only build, prints the times and
+     * checks that the three give every vertex the same (target, weight) pairs. With deduplicate,
+     * the addEdge lists are reduced to the smallest weight per target before comparing.
+     */
+    private static void compare(int n, int[] from, int[] to, boolean isDirected, boolean deduplicate) {
+        Random random = new Random(7);
+        double[] weights = new double[from.length];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = 1 + random.nextInt(100);
+        }
+        List<Integer> vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+        }
+
+        long startTime = System.nanoTime();
+        WeightedGraph<Integer> graph = new WeightedGraph<>(isDirected);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < from.length; e++) {
+            graph.addEdge(from[e], to[e], weights[e]);
+        }
+        long addEdgeTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        WeightedGraphBuilder builder = new WeightedGraphBuilder(n, isDirected, deduplicate);
+        builder.addEdges(from, to, weights);
+        WeightedGraph<Integer> built = builder.buildWeightedGraph(vertices, ForkJoinPool.commonPool());
+        long builderTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        IndexedWeightedGraph<Integer> indexed = builder.buildIndexed(vertices, ForkJoinPool.commonPool());
+        long indexedTime = System.nanoTime() - startTime;
+
+        long[][] expected = canonical(graph, n);
+        if (deduplicate) {
+            for (int v = 0; v < n; v++) {
+                expected[v] = smallestPerTarget(expected[v]);
+            }
+        }
+        boolean matches = Arrays.deepEquals(expected, canonical(built, n))
+                && Arrays.deepEquals(expected, canonical(indexed))
+                && built.isDirected() == isDirected && indexed.isDirected() == isDirected;
+        System.out.printf("n = %-8d m = %-9d addEdge %9.2f ms   builder %9.2f ms   CSR only %9.2f ms%s%n",
+                n, from.length, addEdgeTime / 1e6, builderTime / 1e6, indexedTime / 1e6,
+                matches ? "" : "   MISMATCH");
+    }
+
+    private static <V> void checkConverter(String family, Graph<V> graph) {
+        WeightedGraph<V> weighted = convertToWeightedGraph(graph);
+        List<V> vertices = new ArrayList<>(graph.getVertices());
+        Map<V, List<V>> adjacencyList = graph.getAdjacencyList();
+
+        boolean matches = weighted.isDirected() == graph.isDirected()
+                && weighted.getVertices().size() == vertices.size();
+        int edges = 0;
+        for (V vertex : vertices) {
+            List<String> expected = new ArrayList<>();
+            for (V target : adjacencyList.get(vertex)) {
+                expected.add(String.valueOf(target));
+            }
+            List<String> actual = new ArrayList<>();
+            for (WeightedEdge<V> edge : weighted.getNeighbors(vertex)) {
+                actual.add(String.valueOf(edge.target));
+                matches &= edge.weight >= 1 && edge.weight <= 100;
+                // both directions of an undirected edge carry the same weight
+                if (!graph.isDirected()) {
+                    matches &= weightOf(weighted, edge.target, vertex) == edge.weight;
+                }
+            }
+            expected.sort(null);
+            actual.sort(null);
+            matches &= expected.equals(actual);
+            edges += actual.size();
+        }
+        System.out.printf("%-20s n = %-6d arcs = %-9d%s%n", family, vertices.size(), edges,
+                matches ? "same lists" : "MISMATCH");
+    }
+
+    private static <V> double weightOf(WeightedGraph<V> graph, V from, V to) {
+        for (WeightedEdge<V> edge : graph.getNeighbors(from)) {
+            if (edge.target.equals(to)) {
+                return edge.weight;
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return The (target, weight) pairs of every vertex, as target << 32 | weight, sorted
+     */
+    private static long[][] canonical(WeightedGraph<Integer> graph, int n) {
+        long[][] lists = new long[n][];
+        for (int v = 0; v < n; v++) {
+            List<WeightedEdge<Integer>> edges = graph.getNeighbors(v);
+            lists[v] = new long[edges.size()];
+            for (int i = 0; i < edges.size(); i++) {
+                lists[v][i] = pair(edges.get(i).target, edges.get(i).weight);
+            }
+            Arrays.sort(lists[v]);
+        }
+        return lists;
+    }
+
+    private static long[][] canonical(IndexedWeightedGraph<Integer> graph) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        long[][] lists = new long[graph.vertexCount()][];
+        for (int v = 0; v < lists.length; v++) {
+            // ids are the labels here, but go through them in case the build reordered anything
+            int label = graph.vertexAt(v);
+            lists[label] = new long[offsets[v + 1] - offsets[v]];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                lists[label][e - offsets[v]] = pair(graph.vertexAt(targets[e]), weights[e]);
+            }
+            Arrays.sort(lists[label]);
+        }
+        return lists;
+    }
+
+    private static long pair(int target, double weight) {
+        return (long) target << 32 | (int) weight;
+    }
+
+    /**
+     * @param sorted Pairs sorted by target, then weight
+     * @return The first pair of every target, the one with the smallest weight
+     */
+    private static long[] smallestPerTarget(long[] sorted) {
+        long[] kept = new long[sorted.length];
+        int count = 0;
+        for (long pair : sorted) {
+            if (count == 0 || (kept[count - 1] >>> 32) != (pair >>> 32)) {
+                kept[count++] = pair;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+}
@@ -1,36 +1,123 @@
 package lab_4.WeightedGraph;
 
+import lab_3.Graph.CopyOnWriteList;
+
 import java.util.*;
 
+/**
+ * Copies are copy-on-write snapshots, as for Graph: the copy constructor and copy() share the
+ * adjacency map with the original in O(1), the first access that could modify it (anything but
+ * hasVertex, isDirected and printGraph) gives the graph its own map in O(V), and an edge list is
+ * only copied when it is written.
+ *
+ * @param <V> Type of vertices
+ */
 public class WeightedGraph<V> {
-    private final Map<V, List<WeightedEdge<V>>> adjacencyList;
+    private Map<V, List<WeightedEdge<V>>> adjacencyList;
     private final boolean isDirected;
+    // bumped by every change made through this class, lets algorithms cache derived structures
+    private int modificationCount;
+    // true while adjacencyList may be read by another graph
+    private volatile boolean sharesAdjacency;
 
     public WeightedGraph(boolean isDirected) {
         this.adjacencyList = new HashMap<>();
         this.isDirected = isDirected;
     }
 
+    /**
+     * Adopts an adjacency map built elsewhere (see WeightedGraphBuilder).
+     */
+    WeightedGraph(boolean isDirected, Map<V, List<WeightedEdge<V>>> adjacencyList) {
+        this.adjacencyList = adjacencyList;
+        this.isDirected = isDirected;
+    }
+
+    /**
+     * Snapshot of other in O(1), later changes to either graph are not seen by the other.
+     */
+    public WeightedGraph(WeightedGraph<V> other) {
+        this.isDirected = other.isDirected();
+        this.adjacencyList = other.shareAdjacency();
+        this.sharesAdjacency = true;
+    }
+
+    private synchronized Map<V, List<WeightedEdge<V>>> shareAdjacency() {
+        sharesAdjacency = true;
+        return adjacencyList;
+    }
+
+    /**
+     * @return The adjacency map, after giving the graph its own copy of it if it was shared
+     */
+    private Map<V, List<WeightedEdge<V>>> adjacency() {
+        if (sharesAdjacency) {
+            unshareAdjacency();
+        }
+        return adjacencyList;
+    }
+
+    private synchronized void unshareAdjacency() {
+        if (!sharesAdjacency) {
+            return;
+        }
+        Map<V, List<WeightedEdge<V>>> own = new HashMap<>(Math.max(16, (int) (adjacencyList.size() / 0.75f) + 1));
+        for (Map.Entry<V, List<WeightedEdge<V>>> entry : adjacencyList.entrySet()) {
+            List<WeightedEdge<V>> edges = entry.getValue();
+            own.put(entry.getKey(), edges instanceof CopyOnWriteList<WeightedEdge<V>> list
+                    ? list.share() : new CopyOnWriteList<>(edges));
+        }
+        adjacencyList = own;
+        sharesAdjacency = false;
+    }
+
     public void addVertex(V vertex) {
-        adjacencyList.putIfAbsent(vertex, new ArrayList<>());
+        Map<V, List<WeightedEdge<V>>> adjacency = adjacency();
+        if (!adjacency.containsKey(vertex)) {
+            adjacency.put(vertex, new CopyOnWriteList<>());
+            modificationCount++;
+        }
     }
 
     public void addEdge(V from, V to, double weight) {
-        adjacencyList.putIfAbsent(from, new ArrayList<>());
-        adjacencyList.putIfAbsent(to, new ArrayList<>());
+        Map<V, List<WeightedEdge<V>>> adjacency = adjacency();
+        List<WeightedEdge<V>> fromEdges = adjacency.computeIfAbsent(from, v -> new CopyOnWriteList<>());
+        List<WeightedEdge<V>> toEdges = adjacency.computeIfAbsent(to, v -> new CopyOnWriteList<>());
+
+        fromEdges.add(new WeightedEdge<>(to, weight));
+        if (!isDirected) {
+            toEdges.add(new WeightedEdge<>(from, weight));
+        }
+        modificationCount++;
+    }
 
-        adjacencyList.get(from).add(new WeightedEdge<>(to, weight));
+    /**
+     * Removes every edge from -> to (and to -> from if the graph is undirected).
+     *
+     * @return true if at least one edge was removed
+     */
+    public boolean removeEdge(V from, V to) {
+        boolean removed = removeEdges(from, to);
         if (!isDirected) {
-            adjacencyList.get(to).add(new WeightedEdge<>(from, weight));
+            removed |= removeEdges(to, from);
+        }
+        if (removed) {
+            modificationCount++;
         }
+        return removed;
+    }
+
+    private boolean removeEdges(V from, V to) {
+        List<WeightedEdge<V>> edges = adjacency().get(from);
+        return edges != null && edges.removeIf(edge -> Objects.equals(edge.target, to));
     }
 
     public List<WeightedEdge<V>> getNeighbors(V vertex) {
-        return adjacencyList.getOrDefault(vertex, new ArrayList<>());
+        return adjacency().getOrDefault(vertex, new ArrayList<>());
     }
 
     public Set<V> getVertices() {
-        return adjacencyList.keySet();
+        return adjacency().keySet();
     }
 
     public void printGraph() {
@@ -61,27 +148,29 @@ public class WeightedGraph<V> {
         return adjacencyList.containsKey(vertex);
     }
 
+    /**
+     * @return A counter that changes whenever a vertex or an edge is added or removed through this class.
+     * Changes made directly on the map returned by getAdjacencyList() are not counted.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * @return The adjacency map itself, not a copy. Writes through it (or through the lists of
+     * getNeighbors) do not change getModificationCount(), so snapshots and caches keyed on the
+     * count, such as IndexedWeightedGraph.isSnapshotOf and APSPQueryService, do not see them.
+     */
     public Map<V, List<WeightedEdge<V>>> getAdjacencyList() {
-        return adjacencyList;
+        return adjacency();
     }
 
+    /**
+     * @return A copy-on-write snapshot of the graph, O(1), with the same edges: an undirected edge
+     * is stored once in each direction, as in this graph
+     */
     public WeightedGraph<V> copy() {
-        WeightedGraph<V> copy = new WeightedGraph<>(this.isDirected);
-
-        // Copy all vertices
-        for (V vertex : this.adjacencyList.keySet()) {
-            copy.addVertex(vertex);
-        }
-
-        // Copy all edges (with weights)
-        for (Map.Entry<V, List<WeightedEdge<V>>> entry : this.adjacencyList.entrySet()) {
-            V from = entry.getKey();
-            for (WeightedEdge<V> edge : entry.getValue()) {
-                copy.addEdge(from, edge.getTarget(), edge.getWeight());
-            }
-        }
-
-        return copy;
+        return new WeightedGraph<>(this);
     }
 }
 
@@ -0,0 +1,329 @@
+package lab_4.WeightedGraph;
+
+import lab_3.Graph.CopyOnWriteList;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds a weighted graph over ids 0..n-1 from primitive edge arrays, without the per-edge
+ * map lookups and list growth of WeightedGraph.addEdge. Edges are appended all at once or in
+ * chunks; build sorts them by source into CSR arrays with a counting sort that runs on a
+ * ForkJoinPool: every chunk of edges counts its sources into its own histogram, a prefix sum
+ * over (vertex, chunk) gives every chunk its own positions, and the chunks scatter their edges
+ * in parallel. The sort is stable, so the edges of a vertex keep the order they were added in,
+ * which is also the order addEdge would give.
+ *
+ * An undirected graph stores every edge in both directions, as WeightedGraph.addEdge does.
+ * With deduplicate set, parallel edges (the same source and target) are merged into one
+ * with the smallest weight.
+ */
+public class WeightedGraphBuilder {
+    // edges per chunk below which a chunk is not worth a task
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private final int vertexCount;
+    private final boolean isDirected;
+    private final boolean deduplicate;
+    private int[] sources;
+    private int[] targets;
+    private double[] weights;
+    private int edgeCount;
+
+    /**
+     * @param vertexCount Number of vertices n, edges use the ids 0..n-1
+     * @param isDirected Whether the graph is directed, an undirected edge is stored in both directions
+     * @param deduplicate Whether parallel edges are merged into the one with the smallest weight
+     */
+    public WeightedGraphBuilder(int vertexCount, boolean isDirected, boolean deduplicate) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        this.vertexCount = vertexCount;
+        this.isDirected = isDirected;
+        this.deduplicate = deduplicate;
+        this.sources = new int[16];
+        this.targets = new int[16];
+        this.weights = new double[16];
+    }
+
+    public void addEdge(int from, int to, double weight) {
+        checkVertex(from);
+        checkVertex(to);
+        ensureCapacity(edgeCount + 1);
+        sources[edgeCount] = from;
+        targets[edgeCount] = to;
+        weights[edgeCount++] = weight;
+    }
+
+    public void addEdges(int[] from, int[] to, double[] weights) {
+        if (from.length != to.length || from.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        addEdges(from, to, weights, 0, from.length);
+    }
+
+    /**
+     * Appends a chunk of edges: from[i] -> to[i] with weight weights[i], for i in offset .. offset + length - 1.
+     */
+    public void addEdges(int[] from, int[] to, double[] weights, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, from.length);
+        Objects.checkFromIndexSize(offset, length, to.length);
+        Objects.checkFromIndexSize(offset, length, weights.length);
+        for (int i = offset; i < offset + length; i++) {
+            checkVertex(from[i]);
+            checkVertex(to[i]);
+        }
+        ensureCapacity(edgeCount + length);
+        System.arraycopy(from, offset, sources, edgeCount, length);
+        System.arraycopy(to, offset, targets, edgeCount, length);
+        System.arraycopy(weights, offset, this.weights, edgeCount, length);
+        edgeCount += length;
+    }
+
+    /**
+     * @return Number of edges added so far (an undirected edge counts once)
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public <V> IndexedWeightedGraph<V> buildIndexed(List<V> vertices) {
+        return buildIndexed(vertices, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param vertices Vertex labels, the label of id i is vertices.get(i)
+     * @param pool The pool the sort runs on
+     * @return The frozen CSR graph
+     */
+    public <V> IndexedWeightedGraph<V> buildIndexed(List<V> vertices, ForkJoinPool pool) {
+        checkLabels(vertices);
+        Csr csr = sort(pool);
+        return new IndexedWeightedGraph<>(new ArrayList<>(vertices), csr.offsets, csr.targets, csr.weights, isDirected);
+    }
+
+    public <V> WeightedGraph<V> buildWeightedGraph(List<V> vertices) {
+        return buildWeightedGraph(vertices, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds a WeightedGraph whose maps and lists are allocated at their final size.
+     *
+     * @param vertices Vertex labels, the label of id i is vertices.get(i); they must be distinct
+     * @param pool The pool the sort and the edge lists are built on
+     * @return The graph, every vertex is present even without edges
+     */
+    public <V> WeightedGraph<V> buildWeightedGraph(List<V> vertices, ForkJoinPool pool) {
+        checkLabels(vertices);
+        Csr csr = sort(pool);
+        List<V> labels = vertices instanceof RandomAccess ? vertices : new ArrayList<>(vertices);
+
+        // set() on a pre-sized list only writes its slot, so the chunks can fill it side by side
+        List<List<WeightedEdge<V>>> lists = new ArrayList<>(Collections.nCopies(vertexCount, null));
+        runChunks(pool, vertexCount, chunkCount(pool, csr.targets.length), (chunk, start, end) -> {
+            for (int v = start; v < end; v++) {
+                CopyOnWriteList<WeightedEdge<V>> edges = new CopyOnWriteList<>(csr.offsets[v + 1] - csr.offsets[v]);
+                for (int e = csr.offsets[v]; e < csr.offsets[v + 1]; e++) {
+                    edges.add(new WeightedEdge<>(labels.get(csr.targets[e]), csr.weights[e]));
+                }
+                lists.set(v, edges);
+            }
+        });
+
+        Map<V, List<WeightedEdge<V>>> adjacencyList = new HashMap<>(Math.max(16, (int) (vertexCount / 0.75f) + 1));
+        for (int v = 0; v < vertexCount; v++) {
+            adjacencyList.put(labels.get(v), lists.get(v));
+        }
+        if (adjacencyList.size() != vertexCount) {
+            throw new IllegalArgumentException("Vertex labels must be distinct");
+        }
+        return new WeightedGraph<>(isDirected, adjacencyList);
+    }
+
+    private static class Csr {
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+
+        Csr(int[] offsets, int[] targets, double[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * Counting sort of the arcs by source. Arc 2i is edge i and arc 2i + 1 its reverse in an
+     * undirected graph (arc i is edge i in a directed one), so sorting by arc number stably
+     * gives the order of addEdge.
+     */
+    private Csr sort(ForkJoinPool pool) {
+        int n = vertexCount;
+        int arcCount = isDirected ? edgeCount : 2 * edgeCount;
+        if (arcCount < 0) {
+            throw new IllegalArgumentException("Too many edges for an undirected graph");
+        }
+        int chunks = chunkCount(pool, arcCount);
+
+        // one histogram per chunk, which is why there are no more chunks than threads
+        int[][] counts = new int[chunks][n];
+        runChunks(pool, arcCount, chunks, (chunk, start, end) -> {
+            int[] count = counts[chunk];
+            for (int arc = start; arc < end; arc++) {
+                count[arcSource(arc)]++;
+            }
+        });
+
+        int[] offsets = new int[n + 1];
+        int position = 0;
+        for (int v = 0; v < n; v++) {
+            offsets[v] = position;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int count = counts[chunk][v];
+                counts[chunk][v] = position;
+                position += count;
+            }
+        }
+        offsets[n] = position;
+
+        int[] sortedTargets = new int[arcCount];
+        double[] sortedWeights = new double[arcCount];
+        runChunks(pool, arcCount, chunks, (chunk, start, end) -> {
+            int[] next = counts[chunk];
+            for (int arc = start; arc < end; arc++) {
+                int slot = next[arcSource(arc)]++;
+                sortedTargets[slot] = arcTarget(arc);
+                sortedWeights[slot] = weights[isDirected ? arc : arc >> 1];
+            }
+        });
+
+        Csr csr = new Csr(offsets, sortedTargets, sortedWeights);
+        return deduplicate ? deduplicate(csr, pool, chunks) : csr;
+    }
+
+    /**
+     * Keeps the first arc to every target of a vertex, with the smallest weight among the
+     * parallel arcs, then compacts the arrays.
+     */
+    private Csr deduplicate(Csr csr, ForkJoinPool pool, int chunks) {
+        int n = vertexCount;
+        int[] offsets = csr.offsets;
+        int[] targets = csr.targets;
+        double[] weights = csr.weights;
+        int[] degrees = new int[n];
+
+        runChunks(pool, n, chunks, (chunk, start, end) -> {
+            // owner[t] = v + 1 if v already kept an arc to t, at position kept[t]
+            int[] owner = new int[n];
+            int[] kept = new int[n];
+            for (int v = start; v < end; v++) {
+                int write = offsets[v];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int t = targets[e];
+                    if (owner[t] == v + 1) {
+                        weights[kept[t]] = Math.min(weights[kept[t]], weights[e]);
+                    } else {
+                        owner[t] = v + 1;
+                        kept[t] = write;
+                        targets[write] = t;
+                        weights[write++] = weights[e];
+                    }
+                }
+                degrees[v] = write - offsets[v];
+            }
+        });
+
+        int[] compactOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            compactOffsets[v + 1] = compactOffsets[v] + degrees[v];
+        }
+        if (compactOffsets[n] == targets.length) {
+            return csr;
+        }
+
+        int[] compactTargets = new int[compactOffsets[n]];
+        double[] compactWeights = new double[compactOffsets[n]];
+        runChunks(pool, n, chunks, (chunk, start, end) -> {
+            for (int v = start; v < end; v++) {
+                System.arraycopy(targets, offsets[v], compactTargets, compactOffsets[v], degrees[v]);
+                System.arraycopy(weights, offsets[v], compactWeights, compactOffsets[v], degrees[v]);
+            }
+        });
+        return new Csr(compactOffsets, compactTargets, compactWeights);
+    }
+
+    private int arcSource(int arc) {
+        if (isDirected) {
+            return sources[arc];
+        }
+        return (arc & 1) == 0 ? sources[arc >> 1] : targets[arc >> 1];
+    }
+
+    private int arcTarget(int arc) {
+        if (isDirected) {
+            return targets[arc];
+        }
+        return (arc & 1) == 0 ? targets[arc >> 1] : sources[arc >> 1];
+    }
+
+    private static int chunkCount(ForkJoinPool pool, int work) {
+        return Math.max(1, Math.min(pool.getParallelism(), work / SEQUENTIAL_THRESHOLD));
+    }
+
+    private interface ChunkBody {
+        void run(int chunk, int start, int end);
+    }
+
+    /**
+     * Splits 0..count-1 into the given number of ranges and runs body on each, on the pool if there is more than one.
+     */
+    private static void runChunks(ForkJoinPool pool, int count, int chunks, ChunkBody body) {
+        if (chunks == 1) {
+            body.run(0, 0, count);
+            return;
+        }
+
+        List<RecursiveAction> tasks = new ArrayList<>(chunks);
+        int size = (count + chunks - 1) / chunks;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            int start = Math.min(count, chunk * size);
+            int end = Math.min(count, start + size);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.run(index, start, end);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > sources.length) {
+            int newCapacity = Math.max(capacity, 2 * sources.length);
+            sources = Arrays.copyOf(sources, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex id " + vertex + " is not in 0.." + (vertexCount - 1));
+        }
+    }
+
+    private void checkLabels(List<?> vertices) {
+        if (vertices.size() != vertexCount) {
+            throw new IllegalArgumentException("Expected " + vertexCount + " vertex labels, got " + vertices.size());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package lab_5.Algorithms;
+
+import lab_4.Dijkstra.IntMinHeap;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Prim's and Kruskal's algorithms reading an IndexedWeightedGraph in place.
+ *
+ * Unlike MinimumSpanningTreeGraph nothing is copied into a new graph: the engines only allocate
+ * a few arrays of n (Prim) or m (Kruskal) primitives, undirected edges are told apart by
+ * comparing ids instead of vertex strings, and the tree comes back as an MSTResult.
+ */
+public class IndexedMST {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Prim's algorithm with a decrease-key heap, spanning the component of start.
+     *
+     * @param graph The snapshot to read
+     * @param start Id of the start vertex
+     * @return The tree of the component of start; other vertices keep parent -1
+     */
+    public static <V> MSTResult<V> prim(IndexedWeightedGraph<V> graph, int start) {
+        int n = graph.vertexCount();
+        if (start < 0 || start >= n) {
+            throw new IllegalArgumentException("Start vertex not found in the graph");
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        int[] parents = new int[n];
+        double[] parentWeights = new double[n];
+        double[] best = new double[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(parents, -1);
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+
+        IntMinHeap heap = new IntMinHeap(n);
+        best[start] = 0;
+        heap.insertOrDecrease(start, 0);
+        double totalCost = 0;
+        int edgeCount = 0;
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            inTree[u] = true;
+            if (u != start) {
+                parentWeights[u] = best[u];
+                totalCost += best[u];
+                edgeCount++;
+            }
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (!inTree[v] && weights[e] < best[v]) {
+                    best[v] = weights[e];
+                    parents[v] = u;
+                    heap.insertOrDecrease(v, weights[e]);
+                }
+            }
+        }
+
+        return new MSTResult<>(graph, parents, parentWeights, totalCost, edgeCount);
+    }
+
+    public static <V> MSTResult<V> prim(WeightedGraph<V> graph, V start) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        return prim(snapshot, snapshot.indexOf(start));
+    }
+
+    /**
+     * Kruskal's algorithm with an array union-find. Integer weights (the converter's) are
+     * ordered with a counting sort when their range is not larger than the edge count.
+     *
+     * @param graph The snapshot to read
+     * @return The minimum spanning forest
+     */
+    public static <V> MSTResult<V> kruskal(IndexedWeightedGraph<V> graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        boolean directed = graph.isDirected();
+
+        // the edges of an undirected graph are stored at both endpoints, keep the u < v copy
+        int[] sources = new int[targets.length];
+        int[] edges = new int[targets.length];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (directed ? u != v : u < v) {
+                    sources[e] = u;
+                    edges[m++] = e;
+                }
+            }
+        }
+        sortByWeight(graph, edges, m);
+
+        int[] sets = new int[n];
+        int[] sizes = new int[n];
+        for (int v = 0; v < n; v++) {
+            sets[v] = v;
+            sizes[v] = 1;
+        }
+
+        int[] chosen = new int[Math.max(0, n - 1)];
+        int edgeCount = 0;
+        double totalCost = 0;
+        for (int i = 0; i < m && edgeCount < n - 1; i++) {
+            int e = edges[i];
+            int a = find(sets, sources[e]);
+            int b = find(sets, targets[e]);
+            if (a != b) {
+                if (sizes[a] < sizes[b]) {
+                    int swap = a;
+                    a = b;
+                    b = swap;
+                }
+                sets[b] = a;
+                sizes[a] += sizes[b];
+                chosen[edgeCount++] = e;
+                totalCost += weights[e];
+            }
+        }
+
+        return toParentForm(graph, sources, chosen, edgeCount, totalCost);
+    }
+
+    public static <V> MSTResult<V> kruskal(WeightedGraph<V> graph) {
+        return kruskal(IndexedWeightedGraph.of(graph));
+    }
+
+    private static int find(int[] sets, int x) {
+        while (sets[x] != x) {
+            sets[x] = sets[sets[x]];
+            x = sets[x];
+        }
+        return x;
+    }
+
+    /**
+     * Roots every tree of the chosen edges at its smallest id and records the parents.
+     */
+    private static <V> MSTResult<V> toParentForm(IndexedWeightedGraph<V> graph, int[] sources, int[] chosen,
+                                                 int edgeCount, double totalCost) {
+        int n = graph.vertexCount();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        // CSR of the forest, every chosen edge in both directions
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[chosen[i]] + 1]++;
+            offsets[targets[chosen[i]] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] treeEdges = new int[2 * edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            treeEdges[fill[sources[chosen[i]]]++] = chosen[i];
+            treeEdges[fill[targets[chosen[i]]]++] = chosen[i];
+        }
+
+        int[] parents = new int[n];
+        double[] parentWeights = new double[n];
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        Arrays.fill(parents, -1);
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            visited[root] = true;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int e = treeEdges[i];
+                    int v = sources[e] == u ? targets[e] : sources[e];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        parents[v] = u;
+                        parentWeights[v] = weights[e];
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+
+        return new MSTResult<>(graph, parents, parentWeights, totalCost, edgeCount);
+    }
+
+    /**
+     * Sorts the first m entries of edges, ids of CSR entries, by weight.
+     */
+    static void sortByWeight(IndexedWeightedGraph<?> graph, int[] edges, int m) {
+        int[] integerWeights = graph.getIntegerWeights();
+        if (integerWeights != null) {
+            int maxWeight = 0;
+            for (int i = 0; i < m; i++) {
+                maxWeight = Math.max(maxWeight, integerWeights[edges[i]]);
+            }
+            if (maxWeight <= m) {
+                countingSort(integerWeights, edges, m, maxWeight);
+                return;
+            }
+        }
+
+        double[] keys = new double[m];
+        double[] weights = graph.getWeights();
+        for (int i = 0; i < m; i++) {
+            keys[i] = weights[edges[i]];
+        }
+        quickSort(keys, edges, 0, m - 1);
+    }
+
+    private static void countingSort(int[] weights, int[] edges, int m, int maxWeight) {
+        int[] starts = new int[maxWeight + 2];
+        for (int i = 0; i < m; i++) {
+            starts[weights[edges[i]] + 1]++;
+        }
+        for (int w = 0; w <= maxWeight; w++) {
+            starts[w + 1] += starts[w];
+        }
+        int[] sorted = new int[m];
+        for (int i = 0; i < m; i++) {
+            sorted[starts[weights[edges[i]]]++] = edges[i];
+        }
+        System.arraycopy(sorted, 0, edges, 0, m);
+    }
+
+    /**
+     * Sorts keys[lo..hi] ascending and moves items along with them.
+     */
+    private static void quickSort(double[] keys, int[] items, int lo, int hi) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            // median of three as the pivot
+            if (keys[mid] < keys[lo]) swap(keys, items, mid, lo);
+            if (keys[hi] < keys[lo]) swap(keys, items, hi, lo);
+            if (keys[hi] < keys[mid]) swap(keys, items, hi, mid);
+            double pivot = keys[mid];
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    swap(keys, items, i++, j--);
+                }
+            }
+
+            // recurse into the smaller part, loop on the larger one
+            if (j - lo < hi - i) {
+                quickSort(keys, items, lo, j);
+                lo = i;
+            } else {
+                quickSort(keys, items, i, hi);
+                hi = j;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = keys[i];
+            int item = items[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            items[j + 1] = item;
+        }
+    }
+
+    private static void swap(double[] keys, int[] items, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+}
@@ -0,0 +1,82 @@
+package lab_5.Algorithms;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+import lab_4.WeightedGraph.WeightedGraph;
+
+/**
+ * Minimum spanning tree (or forest) over the ids of an IndexedWeightedGraph, in parent form:
+ * the tree edge of vertex v joins it to parents[v] with weight parentWeights[v], and roots
+ * have parent -1. The tree as a WeightedGraph is only built when asked for, then kept.
+ *
+ * @param <V> Type of vertices of the original graph
+ */
+public class MSTResult<V> {
+    private final IndexedWeightedGraph<V> graph;
+    private final int[] parents;
+    private final double[] parentWeights;
+    private final double totalCost;
+    private final int edgeCount;
+    private WeightedGraph<V> mstGraph;
+
+    MSTResult(IndexedWeightedGraph<V> graph, int[] parents, double[] parentWeights, double totalCost, int edgeCount) {
+        this.graph = graph;
+        this.parents = parents;
+        this.parentWeights = parentWeights;
+        this.totalCost = totalCost;
+        this.edgeCount = edgeCount;
+    }
+
+    public IndexedWeightedGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return Parent id of every vertex, -1 for the roots (and for vertices Prim did not reach)
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * @return Weight of the edge from every vertex to its parent, 0 for the roots
+     */
+    public double[] getParentWeights() {
+        return parentWeights;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return true if the tree spans every vertex of the graph
+     */
+    public boolean isSpanningTree() {
+        return edgeCount == Math.max(0, graph.vertexCount() - 1);
+    }
+
+    /**
+     * Builds the tree as a WeightedGraph on the first call, in O(n).
+     *
+     * @return A graph with every vertex of the original graph and only the tree edges
+     */
+    public WeightedGraph<V> asGraph() {
+        if (mstGraph == null) {
+            WeightedGraph<V> result = new WeightedGraph<>(graph.isDirected());
+            for (int v = 0; v < parents.length; v++) {
+                result.addVertex(graph.vertexAt(v));
+            }
+            for (int v = 0; v < parents.length; v++) {
+                if (parents[v] >= 0) {
+                    result.addEdge(graph.vertexAt(parents[v]), graph.vertexAt(v), parentWeights[v]);
+                }
+            }
+            mstGraph = result;
+        }
+        return mstGraph;
+    }
+}
@@ -0,0 +1,421 @@
+package lab_5.Algorithms;
+
+import lab_4.WeightedGraph.IndexedWeightedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimum spanning arborescence (directed MST) of the vertices reachable from a root, with
+ * Tarjan's O(m log n) version of Chu-Liu/Edmonds as refined by Gabow, Galil, Spencer and Tarjan.
+ *
+ * Every vertex keeps its incoming edges in a skew heap whose keys carry a lazy offset. Walking
+ * from a vertex, each one takes its cheapest incoming edge until the walk meets the root's
+ * tree or closes a cycle. A cycle is contracted: the heaps of its vertices are merged after
+ * each was lowered by the weight of the edge it chose, and a union-find joins the vertices
+ * into one super-vertex. Contractions are undone in reverse order at the end (the union-find
+ * keeps a rollback history instead of compressing paths) to find the edge every original
+ * vertex keeps.
+ */
+public class MinimumArborescence {
+    private final int n;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+
+    // skew heap over edge ids
+    private final int[] heapLeft;
+    private final int[] heapRight;
+    private final double[] heapKey;
+    private final double[] heapDelta;
+    private final int[] mergeStack;
+
+    // union-find with union by size and rollback
+    private final int[] sets;
+    private final int[] history;
+    private int historySize;
+
+    private MinimumArborescence(int n, int[] edgeSources, int[] edgeTargets, double[] weights) {
+        int m = edgeSources.length;
+        this.n = n;
+        this.edgeSources = edgeSources;
+        this.edgeTargets = edgeTargets;
+        this.heapLeft = new int[m];
+        this.heapRight = new int[m];
+        this.heapKey = weights.clone();
+        this.heapDelta = new double[m];
+        this.mergeStack = new int[m];
+        Arrays.fill(heapLeft, -1);
+        Arrays.fill(heapRight, -1);
+
+        this.sets = new int[n];
+        this.history = new int[4 * n];
+        Arrays.fill(sets, -1);
+    }
+
+    /**
+     * Computes the minimum arborescence rooted at root that spans every vertex reachable from it.
+     *
+     * @param graph A directed snapshot; for an undirected one every edge counts in both directions
+     * @param root Id of the root
+     * @return The arborescence in parent form, vertices not reachable from root keep parent -1
+     */
+    public static <V> MSTResult<V> compute(IndexedWeightedGraph<V> graph, int root) {
+        int n = graph.vertexCount();
+        if (root < 0 || root >= n) {
+            throw new IllegalArgumentException("Root vertex not found in the graph");
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        // edge ids are positions in the CSR arrays; keep the edges between reachable vertices,
+        // except self-loops and edges into the root
+        boolean[] reachable = reachableFrom(graph, root);
+        int[] sources = new int[targets.length];
+        int[] edges = new int[targets.length];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                sources[e] = u;
+                if (reachable[u] && targets[e] != u && targets[e] != root) {
+                    edges[m++] = e;
+                }
+            }
+        }
+
+        MinimumArborescence engine = new MinimumArborescence(n, sources, targets, weights);
+        int[] incoming = engine.solve(root, reachable, engine.initialHeaps(graph, edges, m));
+
+        int[] parents = new int[n];
+        double[] parentWeights = new double[n];
+        double totalCost = 0;
+        int edgeCount = 0;
+        Arrays.fill(parents, -1);
+        for (int v = 0; v < n; v++) {
+            int e = incoming[v];
+            if (e >= 0) {
+                parents[v] = sources[e];
+                parentWeights[v] = weights[e];
+                totalCost += weights[e];
+                edgeCount++;
+            }
+        }
+
+        return new MSTResult<>(graph, parents, parentWeights, totalCost, edgeCount);
+    }
+
+    /**
+     * Puts the incoming edges of every vertex in its heap. Sorted by weight and chained through
+     * the left children they already form a skew heap with one-node right spines, which costs
+     * one sort instead of m merges.
+     */
+    private int[] initialHeaps(IndexedWeightedGraph<?> graph, int[] edges, int m) {
+        IndexedMST.sortByWeight(graph, edges, m);
+
+        // stable bucketing by target keeps every bucket sorted
+        int[] starts = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            starts[edgeTargets[edges[i]] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            starts[v + 1] += starts[v];
+        }
+        int[] byTarget = new int[m];
+        int[] fill = Arrays.copyOf(starts, n);
+        for (int i = 0; i < m; i++) {
+            byTarget[fill[edgeTargets[edges[i]]]++] = edges[i];
+        }
+
+        int[] heaps = new int[n];
+        Arrays.fill(heaps, -1);
+        for (int v = 0; v < n; v++) {
+            if (starts[v] < starts[v + 1]) {
+                heaps[v] = byTarget[starts[v]];
+                for (int i = starts[v]; i + 1 < starts[v + 1]; i++) {
+                    heapLeft[byTarget[i]] = byTarget[i + 1];
+                }
+            }
+        }
+        return heaps;
+    }
+
+    private static boolean[] reachableFrom(IndexedWeightedGraph<?> graph, int root) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        boolean[] reachable = new boolean[graph.vertexCount()];
+        int[] stack = new int[graph.vertexCount()];
+        int size = 0;
+        stack[size++] = root;
+        reachable[root] = true;
+        while (size > 0) {
+            int u = stack[--size];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (!reachable[targets[e]]) {
+                    reachable[targets[e]] = true;
+                    stack[size++] = targets[e];
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * @return The chosen incoming edge of every vertex, -1 for the root and unreachable vertices
+     */
+    private int[] solve(int root, boolean[] reachable, int[] heaps) {
+
+        int[] seen = new int[n];
+        int[] path = new int[n];
+        int[] pathEdges = new int[n];
+        int[] incoming = new int[n];
+        Arrays.fill(seen, -1);
+        Arrays.fill(incoming, -1);
+        seen[root] = root;
+
+        // contracted cycles in contraction order: super-vertex, union-find time, edges of the cycle
+        List<int[]> cycles = new ArrayList<>();
+
+        for (int s = 0; s < n; s++) {
+            if (!reachable[s]) {
+                continue;
+            }
+            int u = s;
+            int length = 0;
+            while (seen[u] < 0) {
+                // every reachable vertex but the root has an edge coming from a reachable one
+                int e = top(heaps[u]);
+                double key = heapKey[e];
+                heapDelta[heaps[u]] -= key;
+                heaps[u] = pop(heaps[u]);
+
+                pathEdges[length] = e;
+                path[length++] = u;
+                seen[u] = s;
+                u = find(edgeSources[e]);
+
+                if (seen[u] == s) {
+                    // the walk closed a cycle: contract it into one super-vertex
+                    int cycleHeap = -1;
+                    int end = length;
+                    int time = historySize;
+                    int w;
+                    do {
+                        w = path[--length];
+                        cycleHeap = merge(cycleHeap, heaps[w]);
+                    } while (union(u, w));
+
+                    u = find(u);
+                    heaps[u] = cycleHeap;
+                    seen[u] = -1;
+
+                    int[] cycle = new int[end - length + 2];
+                    cycle[0] = u;
+                    cycle[1] = time;
+                    System.arraycopy(pathEdges, length, cycle, 2, end - length);
+                    cycles.add(cycle);
+                }
+            }
+            for (int i = 0; i < length; i++) {
+                incoming[find(edgeTargets[pathEdges[i]])] = pathEdges[i];
+            }
+        }
+
+        // expand the cycles: inside a cycle every vertex keeps its cycle edge, except the one the
+        // edge entering the whole cycle points to
+        for (int c = cycles.size() - 1; c >= 0; c--) {
+            int[] cycle = cycles.get(c);
+            int superVertex = cycle[0];
+            rollback(cycle[1]);
+            int entering = incoming[superVertex];
+            for (int i = 2; i < cycle.length; i++) {
+                incoming[find(edgeTargets[cycle[i]])] = cycle[i];
+            }
+            incoming[find(edgeTargets[entering])] = entering;
+        }
+
+        return incoming;
+    }
+
+    private void push(int x) {
+        double delta = heapDelta[x];
+        if (delta != 0) {
+            heapKey[x] += delta;
+            if (heapLeft[x] >= 0) {
+                heapDelta[heapLeft[x]] += delta;
+            }
+            if (heapRight[x] >= 0) {
+                heapDelta[heapRight[x]] += delta;
+            }
+            heapDelta[x] = 0;
+        }
+    }
+
+    private int top(int heap) {
+        push(heap);
+        return heap;
+    }
+
+    private int pop(int heap) {
+        push(heap);
+        return merge(heapLeft[heap], heapRight[heap]);
+    }
+
+    /**
+     * Skew heap merge along the right spines, without recursion: the merged spine is collected
+     * top-down, then every node on it takes the merged rest as its right child and swaps children.
+     */
+    private int merge(int a, int b) {
+        int size = 0;
+        while (a >= 0 && b >= 0) {
+            push(a);
+            push(b);
+            if (heapKey[a] > heapKey[b]) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            mergeStack[size++] = a;
+            a = heapRight[a];
+        }
+
+        int rest = a >= 0 ? a : b;
+        while (size > 0) {
+            int x = mergeStack[--size];
+            heapRight[x] = heapLeft[x];
+            heapLeft[x] = rest;
+            rest = x;
+        }
+        return rest;
+    }
+
+    private int find(int x) {
+        while (sets[x] >= 0) {
+            x = sets[x];
+        }
+        return x;
+    }
+
+    private boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) {
+            return false;
+        }
+        if (sets[a] > sets[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        // a is the larger set; remember both entries before changing them
+        history[historySize++] = b;
+        history[historySize++] = sets[b];
+        history[historySize++] = a;
+        history[historySize++] = sets[a];
+        sets[a] += sets[b];
+        sets[b] = a;
+        return true;
+    }
+
+    private void rollback(int time) {
+        while (historySize > time) {
+            int value = history[--historySize];
+            int index = history[--historySize];
+            sets[index] = value;
+        }
+    }
+
+    /**
+     * The textbook O(nm) Chu-Liu/Edmonds contraction, cost only. Kept as a baseline for the
+     * benchmarks and as a check of compute().
+     *
+     * @return The cost of the minimum arborescence of the vertices reachable from root
+     */
+    public static double chuLiuEdmondsCost(IndexedWeightedGraph<?> graph, int root) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        boolean[] reachable = reachableFrom(graph, root);
+
+        // relabel the reachable vertices 0..count-1 and list their edges
+        int[] label = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            label[v] = reachable[v] ? count++ : -1;
+        }
+        List<double[]> edgeList = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            if (reachable[u]) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (targets[e] != u) {
+                        edgeList.add(new double[]{label[u], label[targets[e]], weights[e]});
+                    }
+                }
+            }
+        }
+        int m = edgeList.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] cost = new double[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = (int) edgeList.get(i)[0];
+            to[i] = (int) edgeList.get(i)[1];
+            cost[i] = edgeList.get(i)[2];
+        }
+
+        int r = label[root];
+        double total = 0;
+        double[] in = new double[count];
+        int[] pre = new int[count];
+        int[] id = new int[count];
+        int[] visit = new int[count];
+        while (true) {
+            Arrays.fill(in, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < m; i++) {
+                if (from[i] != to[i] && cost[i] < in[to[i]]) {
+                    in[to[i]] = cost[i];
+                    pre[to[i]] = from[i];
+                }
+            }
+
+            int cycleCount = 0;
+            Arrays.fill(id, -1);
+            Arrays.fill(visit, -1);
+            in[r] = 0;
+            for (int v = 0; v < count; v++) {
+                total += in[v];
+                int x = v;
+                while (visit[x] != v && id[x] == -1 && x != r) {
+                    visit[x] = v;
+                    x = pre[x];
+                }
+                if (x != r && id[x] == -1) {
+                    for (int y = pre[x]; y != x; y = pre[y]) {
+                        id[y] = cycleCount;
+                    }
+                    id[x] = cycleCount++;
+                }
+            }
+            if (cycleCount == 0) {
+                return total;
+            }
+
+            for (int v = 0; v < count; v++) {
+                if (id[v] == -1) {
+                    id[v] = cycleCount++;
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                int v = to[i];
+                from[i] = id[from[i]];
+                to[i] = id[to[i]];
+                if (from[i] != to[i]) {
+                    cost[i] -= in[v];
+                }
+            }
+            count = cycleCount;
+            r = id[r];
+        }
+    }
+}
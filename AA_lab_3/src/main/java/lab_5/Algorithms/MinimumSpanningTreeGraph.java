@@ -2,8 +2,10 @@ package lab_5.Algorithms;
 
 import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
 import lab_3.Graph.Graph;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedEdge;
 import lab_4.WeightedGraph.WeightedGraph;
+import lab_5.DynamicMST.DynamicMST;
 
 import java.util.*;
 
@@ -12,12 +14,19 @@ import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeighte
 /**
  * Extension of WeightedGraph that includes minimum spanning tree functionality
  * using Prim's algorithm
+ *
+ * In dynamic mode (enableDynamicMST) the MST is a DynamicMST that follows every addEdge,
+ * removeEdge and updateEdgeWeight, so mstTotalCost and getMSTAsGraph stay current without
+ * running Prim or Kruskal again.
  */
 public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
     // Additional fields for the MST
     private final Map<V, List<WeightedEdge<V>>> mstAdjacencyList;
     private double mstTotalCost;
     private boolean mstComputed;
+    // non-null in dynamic mode; mstAdjacencyList is then refreshed from it when read
+    private DynamicMST<V> dynamicMST;
+    private boolean mstAdjacencyStale;
 
     /**
      * Class used for priority queue entries in Prim's algorithm
@@ -40,35 +49,22 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
     }
 
     /**
-     * Constructor for MinimumSpanningTreeGraph that creates it from an existing WeightedGraph
+     * Constructor for MinimumSpanningTreeGraph that creates it from an existing WeightedGraph.
+     * The vertices and edges are a copy-on-write snapshot of the graph, so creating it is O(1)
      *
      * @param graph the WeightedGraph to convert to a MinimumSpanningTreeGraph
      */
     public MinimumSpanningTreeGraph(WeightedGraph<V> graph) {
-        super(graph.isDirected());
+        super(graph);
         this.mstAdjacencyList = new HashMap<>();
         this.mstTotalCost = 0;
         this.mstComputed = false;
-
-        // Copy all vertices and edges from the original graph
-        for (V vertex : graph.getVertices()) {
-            addVertex(vertex);
-        }
-
-        // Copy all edges
-        for (V source : graph.getVertices()) {
-            for (WeightedEdge<V> edge : graph.getNeighbors(source)) {
-                // To avoid duplicate edges in undirected graphs
-                if (!graph.isDirected() && source.toString().compareTo(edge.target.toString()) > 0) {
-                    continue;
-                }
-                addEdge(source, edge.target, edge.weight);
-            }
-        }
     }
 
     /**
-     * Computes the minimum spanning tree starting from the given vertex
+     * Computes the minimum spanning tree starting from the given vertex. Prim's algorithm is
+     * only correct for undirected graphs, so a directed graph gets the minimum arborescence
+     * rooted at startVertex instead (see computeMinimumArborescence)
      *
      * @param startVertex the vertex to start the MST computation from
      * @return the total cost of the MST
@@ -78,6 +74,10 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
         if (!hasVertex(startVertex)) {
             throw new IllegalArgumentException("Start vertex not found in the graph");
         }
+        if (isDirected()) {
+            return computeMinimumArborescence(startVertex);
+        }
+        dynamicMST = null;
         mstAdjacencyList.clear();
         mstTotalCost = 0;
 
@@ -131,6 +131,45 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
         return mstTotalCost;
     }
 
+    /**
+     * Computes the minimum spanning arborescence (directed MST) rooted at the given vertex with
+     * MinimumArborescence: every other vertex reachable from the root gets exactly one incoming
+     * tree edge, for the smallest total cost
+     *
+     * @param root the root of the arborescence
+     * @return the total cost of the arborescence
+     * @throws IllegalArgumentException if the root is not in the graph
+     */
+    public double computeMinimumArborescence(V root) {
+        if (!hasVertex(root)) {
+            throw new IllegalArgumentException("Root vertex not found in the graph");
+        }
+        dynamicMST = null;
+        mstAdjacencyList.clear();
+
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(this);
+        MSTResult<V> arborescence = MinimumArborescence.compute(snapshot, snapshot.indexOf(root));
+
+        for (V vertex : getVertices()) {
+            mstAdjacencyList.put(vertex, new ArrayList<>());
+        }
+        int[] parents = arborescence.getParents();
+        double[] parentWeights = arborescence.getParentWeights();
+        for (int v = 0; v < parents.length; v++) {
+            if (parents[v] >= 0) {
+                mstAdjacencyList.get(snapshot.vertexAt(parents[v]))
+                        .add(new WeightedEdge<>(snapshot.vertexAt(v), parentWeights[v]));
+            }
+        }
+        mstTotalCost = arborescence.getTotalCost();
+
+        if (!arborescence.isSpanningTree()) {
+            System.out.println("Warning: Not every vertex is reachable from the root. The arborescence does not span all vertices.");
+        }
+        mstComputed = true;
+        return mstTotalCost;
+    }
+
     /**
      * Prints the minimum spanning tree
      *
@@ -140,6 +179,7 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
         if (!mstComputed) {
             throw new IllegalStateException("MST has not been computed yet");
         }
+        refreshDynamicMST();
 
         System.out.println("Minimum Spanning Tree:");
         for (V vertex : mstAdjacencyList.keySet()) {
@@ -158,6 +198,7 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
         if (!mstComputed) {
             throw new IllegalStateException("MST has not been computed yet");
         }
+        refreshDynamicMST();
 
         WeightedGraph<V> mstGraph = new WeightedGraph<>(isDirected());
 
@@ -166,22 +207,19 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
             mstGraph.addVertex(vertex);
         }
 
-        // Add all edges, avoiding duplicates in undirected graphs
-        Set<String> addedEdges = new HashSet<>();
+        // Add all edges, avoiding duplicates in undirected graphs: an undirected tree edge is
+        // listed at both endpoints, it is added from the endpoint visited first
+        Set<V> visited = new HashSet<>();
         for (V source : mstAdjacencyList.keySet()) {
             for (WeightedEdge<V> edge : mstAdjacencyList.get(source)) {
                 V destination = edge.target;
                 double weight = edge.weight;
 
-                // For undirected graphs, ensure we don't add the same edge twice
-                String edgeStr = source.toString().compareTo(destination.toString()) < 0 ?
-                        source + "-" + destination : destination + "-" + source;
-
-                if (isDirected() || !addedEdges.contains(edgeStr)) {
+                if (isDirected() || !visited.contains(destination)) {
                     mstGraph.addEdge(source, destination, weight);
-                    addedEdges.add(edgeStr);
                 }
             }
+            visited.add(source);
         }
 
         return mstGraph;
@@ -196,6 +234,115 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
         return mstComputed;
     }
 
+    /**
+     * Switches to dynamic mode: computes the minimum spanning forest (the MST of every
+     * connected component) and keeps it current through the later edge changes. Calling
+     * computePrimMST or computeKruskalMST leaves dynamic mode.
+     *
+     * @return the total cost of the minimum spanning forest
+     * @throws IllegalStateException if the graph is directed
+     */
+    public double enableDynamicMST() {
+        if (isDirected()) {
+            throw new IllegalStateException("Dynamic MST mode requires an undirected graph");
+        }
+        dynamicMST = new DynamicMST<>(this);
+        mstTotalCost = dynamicMST.getTotalCost();
+        mstAdjacencyStale = true;
+        mstComputed = true;
+        return mstTotalCost;
+    }
+
+    /**
+     * @return true if the MST is kept current under edge changes
+     */
+    public boolean isDynamicMST() {
+        return dynamicMST != null;
+    }
+
+    /**
+     * @return the total cost of the last computed MST, current after every change in dynamic mode
+     * @throws IllegalStateException if the MST has not been computed yet
+     */
+    public double getMSTTotalCost() {
+        if (!mstComputed) {
+            throw new IllegalStateException("MST has not been computed yet");
+        }
+        return mstTotalCost;
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        super.addVertex(vertex);
+        if (dynamicMST != null) {
+            dynamicMST.addVertex(vertex);
+            mstAdjacencyStale = true;
+        }
+    }
+
+    @Override
+    public void addEdge(V from, V to, double weight) {
+        super.addEdge(from, to, weight);
+        if (dynamicMST != null) {
+            dynamicMST.insertEdge(from, to, weight);
+            dynamicChanged();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(V from, V to) {
+        boolean removed = super.removeEdge(from, to);
+        if (removed && dynamicMST != null) {
+            dynamicMST.deleteEdge(from, to);
+            dynamicChanged();
+        }
+        return removed;
+    }
+
+    /**
+     * Sets the weight of the edge between two vertices, replacing any parallel edges between them
+     *
+     * @param from one endpoint of the edge
+     * @param to the other endpoint of the edge
+     * @param weight the new weight
+     * @throws IllegalArgumentException if there is no such edge
+     */
+    public void updateEdgeWeight(V from, V to, double weight) {
+        boolean found = false;
+        for (WeightedEdge<V> edge : getNeighbors(from)) {
+            if (Objects.equals(edge.target, to)) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("Edge not found in the graph");
+        }
+
+        super.removeEdge(from, to);
+        super.addEdge(from, to, weight);
+        if (dynamicMST != null) {
+            dynamicMST.updateWeight(from, to, weight);
+            dynamicChanged();
+        }
+    }
+
+    private void dynamicChanged() {
+        mstTotalCost = dynamicMST.getTotalCost();
+        mstAdjacencyStale = true;
+    }
+
+    /**
+     * Rebuilds mstAdjacencyList from the dynamic forest if an update happened since the last read
+     */
+    private void refreshDynamicMST() {
+        if (dynamicMST != null && mstAdjacencyStale) {
+            mstAdjacencyList.clear();
+            mstAdjacencyList.putAll(dynamicMST.getForest());
+            mstAdjacencyStale = false;
+        }
+    }
+
 
 
 
@@ -209,6 +356,7 @@ public class MinimumSpanningTreeGraph<V> extends WeightedGraph<V> {
      * @return the total cost of the MST
      */
     public double computeKruskalMST() {
+        dynamicMST = null;
         mstAdjacencyList.clear();
         mstTotalCost = 0;
 
@@ -0,0 +1,403 @@
+package lab_5.DynamicMST;
+
+import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * Minimum spanning forest of an undirected graph kept up to date under edge insertions,
+ * deletions and weight changes.
+ *
+ * The forest is stored in a LinkCutTree where every tree edge is a node of its own, placed
+ * between its two endpoints and valued by its weight, so the heaviest edge on the tree path
+ * between two vertices is one pathMax query:
+ *  - inserting (u, v, w): if u and v are in different trees the edge joins them; otherwise it
+ *    closes a cycle and replaces the heaviest edge on the u-v path if that one is heavier than w.
+ *    A weight decrease of a non-tree edge is the same test. O(log n) amortized.
+ *  - lowering the weight of a tree edge only updates its node. O(log n) amortized.
+ *  - deleting a tree edge, or raising its weight, splits its tree in two. The cheapest non-tree
+ *    edge across the cut reconnects it (cut property). Both sides are explored in lockstep
+ *    over tree edges, so only the smaller side is walked to the end, and the candidates are the
+ *    non-tree edges incident to that side. This step costs the smaller side and its incident
+ *    edges rather than O(log n).
+ * Deleting a non-tree edge, or raising its weight, never changes the forest.
+ *
+ * The forest always has the total weight of the one Kruskal finds; with equal weights the
+ * chosen edges can differ.
+ */
+public class DynamicMST<V> {
+    private final Map<V, Integer> ids = new HashMap<>();
+    private final List<V> vertices = new ArrayList<>();
+    // every edge at a vertex, and the forest edges only
+    private final List<Set<Edge>> incident = new ArrayList<>();
+    private final List<Set<Edge>> treeIncident = new ArrayList<>();
+    private final Map<Long, List<Edge>> edgesByPair = new HashMap<>();
+
+    // vertex i is node 2i of the link-cut tree, edge nodes take the odd ids
+    private final LinkCutTree forest;
+    private Edge[] nodeEdges;
+    private int[] freeNodes;
+    private int freeCount;
+
+    private double totalCost;
+    private int treeEdgeCount;
+    private long replacementScans;
+
+    // scratch space of the replacement search
+    private int[] marks = new int[0];
+    private int markEpoch;
+    private int[] sideA = new int[0];
+    private int[] sideB = new int[0];
+
+    private static final class Edge {
+        final int u;
+        final int v;
+        double weight;
+        // link-cut tree node while the edge is in the forest, -1 otherwise
+        int node = -1;
+
+        Edge(int u, int v, double weight) {
+            this.u = u;
+            this.v = v;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Builds the minimum spanning forest of the graph with Kruskal's algorithm.
+     *
+     * @param graph An undirected weighted graph
+     * @throws IllegalArgumentException if the graph is directed
+     */
+    public DynamicMST(WeightedGraph<V> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("A minimum spanning tree needs an undirected graph");
+        }
+
+        int n = graph.getVertices().size();
+        this.forest = new LinkCutTree(2 * n);
+        this.nodeEdges = new Edge[0];
+        this.freeNodes = new int[0];
+        for (V vertex : graph.getVertices()) {
+            addVertex(vertex);
+        }
+
+        // each undirected edge is listed at both endpoints, keep it from the smaller id
+        List<Edge> edges = new ArrayList<>();
+        for (V source : graph.getVertices()) {
+            int u = ids.get(source);
+            for (WeightedEdge<V> edge : graph.getNeighbors(source)) {
+                int v = ids.get(edge.target);
+                if (u < v) {
+                    Edge e = new Edge(u, v, edge.weight);
+                    register(e);
+                    edges.add(e);
+                }
+            }
+        }
+
+        edges.sort(Comparator.comparingDouble(e -> e.weight));
+        int[] sets = new int[n];
+        for (int i = 0; i < n; i++) {
+            sets[i] = i;
+        }
+        for (Edge e : edges) {
+            int a = find(sets, e.u);
+            int b = find(sets, e.v);
+            if (a != b) {
+                sets[a] = b;
+                linkTree(e);
+            }
+        }
+    }
+
+    private static int find(int[] sets, int x) {
+        while (sets[x] != x) {
+            sets[x] = sets[sets[x]];
+            x = sets[x];
+        }
+        return x;
+    }
+
+    /**
+     * Adds an isolated vertex, does nothing if the vertex is already present.
+     */
+    public void addVertex(V vertex) {
+        if (ids.containsKey(vertex)) {
+            return;
+        }
+        int id = vertices.size();
+        ids.put(vertex, id);
+        vertices.add(vertex);
+        incident.add(new HashSet<>());
+        treeIncident.add(new HashSet<>());
+
+        forest.ensureCapacity(2 * id + 2);
+        if (nodeEdges.length < 2 * id + 2) {
+            nodeEdges = Arrays.copyOf(nodeEdges, Math.max(2 * id + 2, nodeEdges.length * 2));
+        }
+        if (freeNodes.length <= id) {
+            freeNodes = Arrays.copyOf(freeNodes, Math.max(id + 1, freeNodes.length * 2));
+        }
+        // one more vertex allows one more forest edge
+        freeNodes[freeCount++] = 2 * id + 1;
+    }
+
+    /**
+     * Adds the edge u - v and updates the forest. Missing endpoints are added.
+     */
+    public void insertEdge(V from, V to, double weight) {
+        addVertex(from);
+        addVertex(to);
+        int u = ids.get(from);
+        int v = ids.get(to);
+        if (u == v) {
+            // a self-loop is never part of a spanning tree
+            return;
+        }
+
+        Edge e = new Edge(Math.min(u, v), Math.max(u, v), weight);
+        register(e);
+        offer(e);
+    }
+
+    /**
+     * Removes every edge between the two vertices and reconnects the forest if needed.
+     *
+     * @return true if at least one edge was removed
+     */
+    public boolean deleteEdge(V from, V to) {
+        Integer u = ids.get(from);
+        Integer v = ids.get(to);
+        if (u == null || v == null) {
+            return false;
+        }
+
+        List<Edge> edges = edgesByPair.remove(pairKey(u, v));
+        if (edges == null) {
+            return false;
+        }
+        // unregister all of them first, so none is picked to replace another
+        for (Edge e : edges) {
+            incident.get(e.u).remove(e);
+            incident.get(e.v).remove(e);
+        }
+        for (Edge e : edges) {
+            if (e.node >= 0) {
+                cutTree(e);
+                reconnect(e.u, e.v);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the weight of the edge between the two vertices. Parallel edges between them are
+     * merged into this one, as when the edge is removed and added again.
+     *
+     * @throws IllegalArgumentException if there is no edge between the vertices
+     */
+    public void updateWeight(V from, V to, double weight) {
+        Integer u = ids.get(from);
+        Integer v = ids.get(to);
+        if (u != null && u.equals(v)) {
+            // self-loops are not tracked
+            return;
+        }
+        List<Edge> edges = u == null || v == null ? null : edgesByPair.get(pairKey(u, v));
+        if (edges == null) {
+            throw new IllegalArgumentException("No edge between " + from + " and " + to);
+        }
+        while (edges.size() > 1) {
+            delete(edges.remove(edges.size() - 1));
+        }
+
+        Edge e = edges.get(0);
+        double oldWeight = e.weight;
+        if (e.node >= 0) {
+            if (weight <= oldWeight) {
+                e.weight = weight;
+                forest.setValue(e.node, weight);
+                totalCost += weight - oldWeight;
+            } else {
+                // the edge may no longer be the cheapest across its cut, it competes again
+                cutTree(e);
+                e.weight = weight;
+                reconnect(e.u, e.v);
+            }
+        } else {
+            e.weight = weight;
+            if (weight < oldWeight) {
+                offer(e);
+            }
+        }
+    }
+
+    /**
+     * @return The total weight of the minimum spanning forest
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int getTreeEdgeCount() {
+        return treeEdgeCount;
+    }
+
+    /**
+     * @return Number of edges looked at by the replacement searches so far
+     */
+    public long getReplacementScans() {
+        return replacementScans;
+    }
+
+    /**
+     * Builds the adjacency lists of the forest, both directions of every edge, in O(n).
+     *
+     * @return Map from every vertex to its forest edges
+     */
+    public Map<V, List<WeightedEdge<V>>> getForest() {
+        Map<V, List<WeightedEdge<V>>> result = new HashMap<>();
+        for (int x = 0; x < vertices.size(); x++) {
+            List<WeightedEdge<V>> edges = new ArrayList<>(treeIncident.get(x).size());
+            for (Edge e : treeIncident.get(x)) {
+                edges.add(new WeightedEdge<>(vertices.get(e.u == x ? e.v : e.u), e.weight));
+            }
+            result.put(vertices.get(x), edges);
+        }
+        return result;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    private void register(Edge e) {
+        incident.get(e.u).add(e);
+        incident.get(e.v).add(e);
+        edgesByPair.computeIfAbsent(pairKey(e.u, e.v), key -> new ArrayList<>(1)).add(e);
+    }
+
+    private void delete(Edge e) {
+        incident.get(e.u).remove(e);
+        incident.get(e.v).remove(e);
+        if (e.node >= 0) {
+            cutTree(e);
+            reconnect(e.u, e.v);
+        }
+    }
+
+    /**
+     * Puts a non-tree edge into the forest if it joins two trees or is lighter than the
+     * heaviest edge of the cycle it closes.
+     */
+    private void offer(Edge e) {
+        int a = 2 * e.u;
+        int b = 2 * e.v;
+        if (!forest.connected(a, b)) {
+            linkTree(e);
+            return;
+        }
+
+        // vertex nodes are valued -infinity, so the maximum is an edge node
+        Edge heaviest = nodeEdges[forest.pathMax(a, b)];
+        if (heaviest.weight > e.weight) {
+            cutTree(heaviest);
+            linkTree(e);
+        }
+    }
+
+    private void linkTree(Edge e) {
+        int node = freeNodes[--freeCount];
+        e.node = node;
+        nodeEdges[node] = e;
+        forest.setValue(node, e.weight);
+        forest.link(2 * e.u, node);
+        forest.link(node, 2 * e.v);
+
+        treeIncident.get(e.u).add(e);
+        treeIncident.get(e.v).add(e);
+        totalCost += e.weight;
+        treeEdgeCount++;
+    }
+
+    private void cutTree(Edge e) {
+        int node = e.node;
+        forest.cut(2 * e.u, node);
+        forest.cut(node, 2 * e.v);
+        nodeEdges[node] = null;
+        freeNodes[freeCount++] = node;
+        e.node = -1;
+
+        treeIncident.get(e.u).remove(e);
+        treeIncident.get(e.v).remove(e);
+        totalCost -= e.weight;
+        treeEdgeCount--;
+    }
+
+    /**
+     * After a forest edge between a and b was cut, links the cheapest edge across the cut.
+     * Every non-tree edge has both endpoints in one tree, so an edge leaving the smaller side
+     * always ends on the other side.
+     */
+    private void reconnect(int a, int b) {
+        int n = vertices.size();
+        if (marks.length < n) {
+            marks = new int[n];
+            sideA = new int[n];
+            sideB = new int[n];
+            markEpoch = 0;
+        }
+        if (markEpoch > Integer.MAX_VALUE - 2) {
+            Arrays.fill(marks, 0);
+            markEpoch = 0;
+        }
+        int markA = ++markEpoch;
+        int markB = ++markEpoch;
+
+        // grow both sides one vertex at a time until one of them is complete
+        int sizeA = 0, headA = 0, sizeB = 0, headB = 0;
+        sideA[sizeA++] = a;
+        marks[a] = markA;
+        sideB[sizeB++] = b;
+        marks[b] = markB;
+        while (headA < sizeA && headB < sizeB) {
+            sizeA = expand(sideA[headA++], sideA, sizeA, markA);
+            sizeB = expand(sideB[headB++], sideB, sizeB, markB);
+        }
+
+        boolean aComplete = headA == sizeA;
+        int[] side = aComplete ? sideA : sideB;
+        int size = aComplete ? sizeA : sizeB;
+        int mark = aComplete ? markA : markB;
+        // vertices of the other side not reached yet are unmarked, anything but the
+        // complete side's mark is the other side
+        Edge best = null;
+        for (int i = 0; i < size; i++) {
+            int x = side[i];
+            for (Edge e : incident.get(x)) {
+                replacementScans++;
+                if (e.node < 0 && marks[e.u == x ? e.v : e.u] != mark
+                        && (best == null || e.weight < best.weight)) {
+                    best = e;
+                }
+            }
+        }
+
+        if (best != null) {
+            linkTree(best);
+        }
+    }
+
+    private int expand(int x, int[] side, int size, int mark) {
+        for (Edge e : treeIncident.get(x)) {
+            int y = e.u == x ? e.v : e.u;
+            if (marks[y] != mark) {
+                marks[y] = mark;
+                side[size++] = y;
+            }
+        }
+        return size;
+    }
+}
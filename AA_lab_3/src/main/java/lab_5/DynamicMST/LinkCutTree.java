@@ -0,0 +1,235 @@
+package lab_5.DynamicMST;
+
+import java.util.Arrays;
+
+/**
+ * Link-cut tree (Sleator-Tarjan) over node ids 0..capacity-1 with a value per node and
+ * path-maximum queries.
+ *
+ * Every tree of the forest is split into preferred paths, each kept in a splay tree ordered
+ * by depth. Subtrees carry the node of maximum value, and a lazy flag reverses a path when a
+ * node becomes the root of its tree. link, cut, connected, findRoot and pathMax all run in
+ * O(log n) amortized time. Nodes live in parallel int arrays, -1 stands for "no node".
+ */
+public class LinkCutTree {
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private double[] values;
+    private int[] maxNode;
+    private int[] stack;
+
+    public LinkCutTree(int capacity) {
+        left = new int[0];
+        right = new int[0];
+        parent = new int[0];
+        reversed = new boolean[0];
+        values = new double[0];
+        maxNode = new int[0];
+        stack = new int[0];
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Grows the node arrays; new nodes are single-node trees with value -infinity.
+     */
+    public void ensureCapacity(int capacity) {
+        int old = left.length;
+        if (capacity <= old) {
+            return;
+        }
+        capacity = Math.max(capacity, old * 2);
+
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        reversed = Arrays.copyOf(reversed, capacity);
+        values = Arrays.copyOf(values, capacity);
+        maxNode = Arrays.copyOf(maxNode, capacity);
+        stack = new int[capacity];
+        for (int x = old; x < capacity; x++) {
+            left[x] = -1;
+            right[x] = -1;
+            parent[x] = -1;
+            values[x] = Double.NEGATIVE_INFINITY;
+            maxNode[x] = x;
+        }
+    }
+
+    public double getValue(int x) {
+        return values[x];
+    }
+
+    public void setValue(int x, double value) {
+        // after access x is the root of the splay tree of its whole root path
+        access(x);
+        values[x] = value;
+        update(x);
+    }
+
+    /**
+     * Joins the tree of x to y by making x a child of y.
+     *
+     * @throws IllegalArgumentException if x and y are already in the same tree
+     */
+    public void link(int x, int y) {
+        makeRoot(x);
+        if (findRoot(y) == x) {
+            throw new IllegalArgumentException("Nodes " + x + " and " + y + " are already connected");
+        }
+        parent[x] = y;
+    }
+
+    /**
+     * Removes the tree edge between x and y.
+     *
+     * @throws IllegalArgumentException if x and y are not adjacent
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // the root path of y is x, y: x must be the only node left of y
+        if (left[y] == x) {
+            push(x);
+        }
+        if (left[y] != x || right[x] != -1) {
+            throw new IllegalArgumentException("Nodes " + x + " and " + y + " are not adjacent");
+        }
+        left[y] = -1;
+        parent[x] = -1;
+        update(y);
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * @return The root of the tree containing x
+     */
+    public int findRoot(int x) {
+        access(x);
+        int root = x;
+        push(root);
+        while (left[root] != -1) {
+            root = left[root];
+            push(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    /**
+     * @return The node of maximum value on the path between x and y (both must be connected)
+     */
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    public void makeRoot(int x) {
+        access(x);
+        reversed[x] = !reversed[x];
+    }
+
+    /**
+     * Makes the path from the root to x preferred and splays x to the top of it.
+     */
+    private void access(int x) {
+        int last = -1;
+        for (int y = x; y != -1; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == -1 || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int l = left[x];
+            left[x] = right[x];
+            right[x] = l;
+            if (left[x] != -1) {
+                reversed[left[x]] = !reversed[left[x]];
+            }
+            if (right[x] != -1) {
+                reversed[right[x]] = !reversed[right[x]];
+            }
+            reversed[x] = false;
+        }
+    }
+
+    private void update(int x) {
+        int best = x;
+        int l = left[x];
+        int r = right[x];
+        if (l != -1 && values[maxNode[l]] > values[best]) {
+            best = maxNode[l];
+        }
+        if (r != -1 && values[maxNode[r]] > values[best]) {
+            best = maxNode[r];
+        }
+        maxNode[x] = best;
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        parent[x] = g;
+
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != -1) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != -1) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+
+        update(p);
+        update(x);
+    }
+
+    private void splay(int x) {
+        // push the pending reversals from the top of the splay tree down to x
+        int size = 0;
+        stack[size++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[size++] = parent[y];
+        }
+        while (size > 0) {
+            push(stack[--size]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                rotate((left[g] == p) == (left[p] == x) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+}
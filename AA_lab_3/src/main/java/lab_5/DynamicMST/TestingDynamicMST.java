@@ -0,0 +1,147 @@
+package lab_5.DynamicMST;
+
+import lab_3.Bipartite.BipartiteGraphGenerator;
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.KRegular.KRegularGraphGenerator;
+import lab_4.WeightedGraph.WeightedEdge;
+import lab_4.WeightedGraph.WeightedGraph;
+import lab_5.Algorithms.IndexedMST;
+import lab_5.Algorithms.MinimumSpanningTreeGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+public class TestingDynamicMST {
+    // updates timed in dynamic mode, and the (much slower) recompute-after-every-update runs
+    private static final int DYNAMIC_UPDATES = 20000;
+    private static final int RECOMPUTE_UPDATES = 20;
+    // updates of the correctness run, each one followed by a fresh Kruskal
+    private static final int VERIFIED_UPDATES = 500;
+
+    public static void main(String[] args) {
+        int small = 200;
+        int half = small / 2;
+        System.out.println("Cost after every one of " + VERIFIED_UPDATES + " updates against a fresh Kruskal:");
+        verify("Undirected sparse", convertToWeightedGraph(
+                DirectedUndirectedGraphGenerator.generateStringLabelGraph(small, (int) (small * (small - 1) * 0.3 / 2), false)));
+        verify("Undirected dense", convertToWeightedGraph(
+                DirectedUndirectedGraphGenerator.generateStringLabelGraph(small, (int) (small * (small - 1) * 0.7 / 2), false)));
+        // few cycles, so deletions often find no replacement and split the forest
+        verify("Undirected near-tree", convertToWeightedGraph(
+                DirectedUndirectedGraphGenerator.generateStringLabelGraph(small, small + small / 10, false)));
+        verify("Bipartite sparse (equal sets)", convertToWeightedGraph(
+                BipartiteGraphGenerator.generateStringLabelBipartiteGraph(small, (int) (0.3 * half * (small - half)), half)));
+        verify("3-regular", convertToWeightedGraph(
+                KRegularGraphGenerator.generateStringLabelKRegularGraph(small, 3)));
+
+        System.out.println();
+        System.out.printf("%-34s%8s%10s%18s%18s%10s%n", "Family", "n", "m",
+                "dynamic (upd/s)", "Kruskal (upd/s)", "speedup");
+
+        for (int n : new int[]{500, 1000, 2000}) {
+            int sparseEdges = (int) Math.max(n - 1, n * (n - 1) * 0.3 / 2);
+            benchmark("Undirected sparse", n, convertToWeightedGraph(
+                    DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, sparseEdges, false)));
+
+            int denseEdges = (int) (n * (n - 1) * 0.7 / 2);
+            benchmark("Undirected dense", n, convertToWeightedGraph(
+                    DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, denseEdges, false)));
+
+            int u = n / 2;
+            benchmark("Bipartite sparse (equal sets)", n, convertToWeightedGraph(
+                    BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, (int) (0.3 * u * (n - u)), u)));
+
+            benchmark("3-regular", n, convertToWeightedGraph(
+                    KRegularGraphGenerator.generateStringLabelKRegularGraph(n, 3)));
+        }
+    }
+
+    /**
+     * Applies random updates in dynamic mode and compares the maintained cost with Kruskal on
+     * the current graph after each one, so a wrong replacement edge is caught at the update
+     * that chose it instead of being averaged out by later ones.
+     */
+    private static void verify(String family, WeightedGraph<String> graph) {
+        List<String> vertices = new ArrayList<>(graph.getVertices());
+        MinimumSpanningTreeGraph<String> dynamic = new MinimumSpanningTreeGraph<>(graph);
+        dynamic.enableDynamicMST();
+        Random random = new Random(vertices.size());
+
+        int mismatches = 0;
+        int firstMismatch = -1;
+        for (int i = 0; i < VERIFIED_UPDATES; i++) {
+            randomUpdate(dynamic, vertices, random);
+            double expected = IndexedMST.kruskal(dynamic).getTotalCost();
+            if (Math.abs(dynamic.getMSTTotalCost() - expected) > 1e-6) {
+                if (mismatches++ == 0) {
+                    firstMismatch = i;
+                }
+            }
+        }
+
+        System.out.printf("%-34s%s%n", family, mismatches == 0 ? "ok"
+                : mismatches + " MISMATCHES, first after update " + firstMismatch);
+    }
+
+    /**
+     * Times the same kind of random updates (a third insertions, a third deletions of existing
+     * edges, a third weight changes) with the MST kept current by DynamicMST and with
+     * computeKruskalMST after every update, and checks that both report the same cost.
+     */
+    private static void benchmark(String family, int n, WeightedGraph<String> graph) {
+        List<String> vertices = new ArrayList<>(graph.getVertices());
+        int edges = 0;
+        for (String vertex : vertices) {
+            edges += graph.getNeighbors(vertex).size();
+        }
+
+        MinimumSpanningTreeGraph<String> dynamic = new MinimumSpanningTreeGraph<>(graph);
+        dynamic.enableDynamicMST();
+        Random random = new Random(n);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < DYNAMIC_UPDATES; i++) {
+            randomUpdate(dynamic, vertices, random);
+        }
+        double dynamicRate = DYNAMIC_UPDATES / ((System.nanoTime() - startTime) / 1e9);
+
+        MinimumSpanningTreeGraph<String> recomputed = new MinimumSpanningTreeGraph<>(graph);
+        random = new Random(n);
+        startTime = System.nanoTime();
+        for (int i = 0; i < RECOMPUTE_UPDATES; i++) {
+            randomUpdate(recomputed, vertices, random);
+            recomputed.computeKruskalMST();
+        }
+        double recomputeRate = RECOMPUTE_UPDATES / ((System.nanoTime() - startTime) / 1e9);
+
+        // replay the dynamic run's updates from the start and compare against one recompute
+        MinimumSpanningTreeGraph<String> check = new MinimumSpanningTreeGraph<>(graph);
+        check.enableDynamicMST();
+        random = new Random(n);
+        for (int i = 0; i < RECOMPUTE_UPDATES; i++) {
+            randomUpdate(check, vertices, random);
+        }
+        boolean matches = Math.abs(check.getMSTTotalCost() - recomputed.getMSTTotalCost()) < 1e-6;
+
+        System.out.printf("%-34s%8d%10d%18.0f%18.1f%9.0fx%s%n", family, n, edges / 2,
+                dynamicRate, recomputeRate, dynamicRate / recomputeRate, matches ? "" : "   MISMATCH");
+    }
+
+    private static void randomUpdate(MinimumSpanningTreeGraph<String> graph, List<String> vertices, Random random) {
+        String from = vertices.get(random.nextInt(vertices.size()));
+        List<WeightedEdge<String>> neighbors = graph.getNeighbors(from);
+        int kind = random.nextInt(3);
+
+        if (kind == 0 || neighbors.isEmpty()) {
+            String to = vertices.get(random.nextInt(vertices.size()));
+            graph.addEdge(from, to, 1 + random.nextInt(100));
+        } else if (kind == 1) {
+            graph.removeEdge(from, neighbors.get(random.nextInt(neighbors.size())).target);
+        } else {
+            graph.updateEdgeWeight(from, neighbors.get(random.nextInt(neighbors.size())).target,
+                    1 + random.nextInt(100));
+        }
+    }
+}
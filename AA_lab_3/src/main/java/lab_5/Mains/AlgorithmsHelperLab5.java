@@ -1,20 +1,92 @@
 package lab_5.Mains;
 
+import lab_4.Assignment.AssignmentProblem;
+import lab_4.Assignment.AuctionAlgorithm;
+import lab_4.Assignment.HungarianAlgorithm;
+import lab_4.WeightedGraph.IndexedWeightedGraph;
 import lab_4.WeightedGraph.WeightedGraph;
-import lab_5.Algorithms.MinimumSpanningTreeGraph;
+import lab_5.Algorithms.IndexedMST;
+import lab_5.Algorithms.MinimumArborescence;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class AlgorithmsHelperLab5 {
-    public static Integer runPrim(WeightedGraph<String> weightedGraph, String dummyNode) {
-        MinimumSpanningTreeGraph<String> mstGraph = new MinimumSpanningTreeGraph<>(weightedGraph);
-        String startVertex = mstGraph.getVertices().iterator().next();
+    // id snapshots are built together with the graphs, so the timed runs only measure the algorithm
+    private static final Map<WeightedGraph<?>, IndexedWeightedGraph<?>> snapshots = new WeakHashMap<>();
+    // keyed by the graph, not by its snapshot: a problem holds its snapshot, which would keep a snapshot key alive
+    private static final Map<WeightedGraph<?>, AssignmentProblem<?>> assignmentProblems = new WeakHashMap<>();
+
+    /**
+     * Builds and remembers the id snapshot of a generated graph.
+     */
+    public static <V> IndexedWeightedGraph<V> prepareSnapshot(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = IndexedWeightedGraph.of(graph);
+        snapshots.put(graph, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * @return The remembered snapshot, rebuilt if the graph changed since it was taken
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> IndexedWeightedGraph<V> getSnapshot(WeightedGraph<V> graph) {
+        IndexedWeightedGraph<V> snapshot = (IndexedWeightedGraph<V>) snapshots.get(graph);
+        return snapshot != null && snapshot.isSnapshotOf(graph) ? snapshot : prepareSnapshot(graph);
+    }
 
-        return (int) mstGraph.computePrimMST(startVertex);
+    /**
+     * Builds and remembers the assignment problem of a generated bipartite graph, with its
+     * two-coloring and its Hopcroft-Karp feasibility check, so the timed assignment runs only
+     * measure the solvers.
+     */
+    public static <V> AssignmentProblem<V> prepareAssignmentProblem(WeightedGraph<V> graph) {
+        AssignmentProblem<V> problem = AssignmentProblem.of(getSnapshot(graph));
+        problem.hasCompleteAssignment();
+        assignmentProblems.put(graph, problem);
+        return problem;
+    }
+
+    public static Integer runPrim(WeightedGraph<String> weightedGraph, String dummyNode) {
+        // starts from the first vertex, as computePrimMST did on the copied graph
+        return (int) IndexedMST.prim(getSnapshot(weightedGraph), 0).getTotalCost();
     }
 
     public static Integer runKruskal(WeightedGraph<String> weightedGraph, String dummyNode) {
-        MinimumSpanningTreeGraph<String> mstGraph = new MinimumSpanningTreeGraph<>(weightedGraph);
-        String startVertex = mstGraph.getVertices().iterator().next();
+        return (int) IndexedMST.kruskal(getSnapshot(weightedGraph)).getTotalCost();
+    }
+
+    public static Integer runArborescence(WeightedGraph<String> weightedGraph, String dummyNode) {
+        // rooted at the first vertex, like runPrim
+        return (int) MinimumArborescence.compute(getSnapshot(weightedGraph), 0).getTotalCost();
+    }
+
+    public static Integer runChuLiuEdmonds(WeightedGraph<String> weightedGraph, String dummyNode) {
+        return (int) MinimumArborescence.chuLiuEdmondsCost(getSnapshot(weightedGraph), 0);
+    }
+
+    // the assignment runs return the minimum cost of assigning the smaller side, -1 if there is no such assignment
+
+    public static Integer runHungarian(WeightedGraph<String> weightedGraph, String dummyNode) {
+        AssignmentProblem<String> problem = getAssignmentProblem(weightedGraph);
+        return problem.hasCompleteAssignment() ? (int) HungarianAlgorithm.solve(problem).getTotalCost() : -1;
+    }
+
+    public static Integer runAuction(WeightedGraph<String> weightedGraph, String dummyNode) {
+        AssignmentProblem<String> problem = getAssignmentProblem(weightedGraph);
+        return problem.hasCompleteAssignment() ? (int) AuctionAlgorithm.solve(problem).getTotalCost() : -1;
+    }
+
+    public static Integer runParallelAuction(WeightedGraph<String> weightedGraph, String dummyNode) {
+        AssignmentProblem<String> problem = getAssignmentProblem(weightedGraph);
+        return problem.hasCompleteAssignment()
+                ? (int) AuctionAlgorithm.solve(problem, ForkJoinPool.commonPool()).getTotalCost() : -1;
+    }
 
-        return (int) mstGraph.computeKruskalMST();
+    @SuppressWarnings("unchecked")
+    private static <V> AssignmentProblem<V> getAssignmentProblem(WeightedGraph<V> graph) {
+        AssignmentProblem<V> problem = (AssignmentProblem<V>) assignmentProblems.get(graph);
+        return problem != null && problem.getGraph() == getSnapshot(graph) ? problem : prepareAssignmentProblem(graph);
     }
 }
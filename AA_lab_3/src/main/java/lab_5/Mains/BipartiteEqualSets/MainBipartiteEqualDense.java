@@ -30,12 +30,18 @@ public class MainBipartiteEqualDense {
         List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
         functions.add(AlgorithmsHelperLab5::runPrim);
         functions.add(AlgorithmsHelperLab5::runKruskal);
+        functions.add(AlgorithmsHelperLab5::runHungarian);
+        functions.add(AlgorithmsHelperLab5::runAuction);
+        functions.add(AlgorithmsHelperLab5::runParallelAuction);
 
         List<String> functNames = new ArrayList<>();
         functNames.add("Prim");
         functNames.add("Kruskal");
+        functNames.add("Hungarian");
+        functNames.add("Auction");
+        functNames.add("Par. auction");
 
-        int functionNamesSpace = 10;
+        int functionNamesSpace = 14;
         int cellsSpace = 10;
 
         int[] nValues = {5, 10, 30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200, 1600}; //fast
@@ -57,6 +63,8 @@ public class MainBipartiteEqualDense {
             Graph<String> unweightedGraph = BipartiteGraphGenerator.generateStringLabelBipartiteGraph(n, m, n/2);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelperLab5.prepareSnapshot(weightedGraph);
+            AlgorithmsHelperLab5.prepareAssignmentProblem(weightedGraph);
         }
 
         doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
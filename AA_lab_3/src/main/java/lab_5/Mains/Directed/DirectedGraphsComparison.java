@@ -0,0 +1,222 @@
+package lab_5.Mains.Directed;
+
+import lab_3.DirectedAndUndirected.DirectedUndirectedGraphGenerator;
+import lab_3.Graph.Graph;
+import lab_4.DirectedAndUndirectedWeighted.DirectedAndUndirectedWeightedVisualizer;
+import lab_4.WeightedGraph.WeightedGraph;
+import lab_5.Algorithms.MinimumSpanningTreeGraph;
+import lab_5.Mains.AlgorithmsHelperLab5;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.BiFunction;
+
+import static lab_4.WeightedGraph.GraphToWeightedGraphConverter.convertToWeightedGraph;
+
+/**
+ * Menu and algorithms comparison shared by MainDirectedDense and MainDirectedSparse, which
+ * only differ in the density of the generated graphs and in their n values.
+ */
+public class DirectedGraphsComparison {
+    /**
+     * @param category Name of the graph family, used in the table and plot titles
+     * @param density Fraction of the n * (n - 1) possible edges that the graphs get
+     * @param nValues Number of vertices of every graph
+     */
+    public static void run(String category, double density, int[] nValues) {
+        List<BiFunction<WeightedGraph<String>, String, Integer>> functions = new ArrayList<>();
+        functions.add(AlgorithmsHelperLab5::runArborescence);
+        functions.add(AlgorithmsHelperLab5::runChuLiuEdmonds);
+
+        List<String> functNames = new ArrayList<>();
+        functNames.add("Tarjan (heaps)");
+        functNames.add("Chu-Liu/Edmonds");
+
+        int functionNamesSpace = 17;
+        int cellsSpace = 10;
+
+        Scanner scanner = new Scanner(System.in);
+        int choice = 0;
+        int lines = nValues.length;
+
+        WeightedGraph<String>[] graphs = new WeightedGraph[lines];
+
+        for (int i = 0; i < lines; i++) {
+            int n = nValues[i];
+            float mFloat = (float) ((n * (n-1) * density));
+            int m = (int) Math.min(Math.max(mFloat, n-1), n*(n-1));
+
+            Graph<String> unweightedGraph = DirectedUndirectedGraphGenerator.generateStringLabelGraph(n, m, true);
+            WeightedGraph<String> weightedGraph = convertToWeightedGraph(unweightedGraph);
+            graphs[i] = weightedGraph;
+            AlgorithmsHelperLab5.prepareSnapshot(weightedGraph);
+        }
+
+        doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
+
+        do {
+            System.out.println("\n\nOptions:");
+            System.out.println("\t1. Show a particular graph");
+            System.out.println("\t2. Redo algorithms comparison again");
+            System.out.println("\t0. Exit");
+            System.out.print("Enter your choice: ");
+
+            choice = scanner.nextInt();
+
+            switch (choice) {
+                case 1:
+                    readGraphPosition(scanner, choice, graphs);
+                    break;
+                case 2:
+                    doAlgorithmsComparison(functions, functNames, nValues, category, functionNamesSpace, cellsSpace, graphs);
+                    break;
+                case 0:
+                    break;
+                default:
+                    System.out.println("Invalid choice. Please try again.");
+            }
+
+        } while (choice != 0);
+
+        scanner.close();
+    }
+
+    public static void readGraphPosition(Scanner scanner, int choice, WeightedGraph<String>[] graphs) {
+        int r;
+
+        System.out.print("Enter the graph index (1 to " + graphs.length + "): ");
+        r = scanner.nextInt() - 1;
+
+        WeightedGraph<String> graph = graphs[r];
+
+        graphOptions(scanner, choice, graph);
+    }
+
+    public static void graphOptions(Scanner scanner, int choice, WeightedGraph<String> graph) {
+        do {
+            System.out.println("\n\nFor the given graph:");
+            System.out.println("\t1. Print adjacency list");
+            System.out.println("\t2. Show the graph (Visual)");
+            System.out.println("\t3. Print and show the minimum arborescence (Visual)");
+            System.out.println("\t0. Exit graph options");
+            System.out.print("Enter your choice: ");
+
+            choice = scanner.nextInt();
+
+            switch (choice) {
+                case 1:
+                    System.out.println("\nGraph adjacency list:");
+                    graph.printGraph();
+                    break;
+                case 2:
+                    SwingUtilities.invokeLater(() -> new DirectedAndUndirectedWeightedVisualizer(graph));
+                    break;
+                case 3:
+                    MinimumSpanningTreeGraph<String> mstGraph = new MinimumSpanningTreeGraph<>(graph);
+                    String root = mstGraph.getVertices().iterator().next();
+                    mstGraph.computeMinimumArborescence(root);
+                    System.out.println("\nMinimum arborescence rooted at " + root + ":");
+                    mstGraph.printMST();
+                    lab_4.WeightedGraph.Visualizer.visualizeDirectedAndUndirected(mstGraph.getMSTAsGraph());
+                    break;
+                case 0:
+                    break;
+                default:
+                    System.out.println("Invalid choice. Please try again.");
+            }
+
+        } while (choice != 0);
+    }
+
+
+    public static void doAlgorithmsComparison(List<BiFunction<WeightedGraph<String>, String, Integer>> functions,
+                                              List<String> funcNames,
+                                              int[] nValues,
+                                              String category,
+                                              int functionNamesSpace,
+                                              int cellsSpace,
+                                              WeightedGraph<String>[] graphs) {
+        double[] executionTimes = new double[nValues.length];
+
+        if (functions.size() != funcNames.size()) {
+            System.out.println("Error: Number of functions does not match the number of function names.");
+            return;
+        }
+
+        if(funcNames.size() == 2){
+            System.out.println("\n\n" + funcNames.get(0) + " vs " + funcNames.get(1) + " analysis on " + category);
+
+        }
+
+        System.out.println("Execution time (ms):");
+        System.out.printf("%" + functionNamesSpace + "s", "n values:");
+
+        for (int nValue : nValues) {
+            System.out.printf("%" + cellsSpace + "s", nValue);
+        }
+        System.out.println("\n");
+
+        // Prepare series for plotting
+        XYSeriesCollection dataset = new XYSeriesCollection();
+
+        for (int j = 0; j < functions.size(); j++) {
+            BiFunction<WeightedGraph<String>, String, Integer> func = functions.get(j);
+            String funcName = funcNames.get(j);
+
+            XYSeries series = new XYSeries(funcName);
+
+            for (int i = 0; i < nValues.length; i++) {
+                WeightedGraph<String> graph = graphs[i];
+
+                long startTime = System.nanoTime();
+                func.apply(graph, "A");
+                long endTime = System.nanoTime();
+
+                long elapsedTime = (endTime - startTime) / 1_000_000;
+                executionTimes[i] = elapsedTime;
+
+                series.add(nValues[i], elapsedTime);
+            }
+
+            dataset.addSeries(series);
+
+            System.out.printf("%" + functionNamesSpace + "s", funcName);
+            for (int i = 0; i < executionTimes.length; i++) {
+                System.out.printf("%" + cellsSpace + ".2f", executionTimes[i]);
+            }
+            System.out.println();
+        }
+
+        // Plot only execution time
+        SwingUtilities.invokeLater(() -> plotExecutionTime(dataset, category));
+    }
+
+    public static void plotExecutionTime(XYSeriesCollection dataset, String category) {
+        JFreeChart chart = ChartFactory.createXYLineChart(
+                "Execution Time Comparison for " + category, // Chart title
+                "Graph size (nodes)",        // X-axis label
+                "Execution Time (ms)",       // Y-axis label
+                dataset,                     // Data
+                PlotOrientation.VERTICAL,
+                true,  // legend
+                true,  // tooltips
+                false  // URLs
+        );
+
+        JFrame frame = new JFrame("Execution Time Plot for" + category);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.getContentPane().add(new ChartPanel(chart));
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+}
+
@@ -0,0 +1,10 @@
+package lab_5.Mains.Directed;
+
+public class MainDirectedDense {
+    public static void main(String[] args) {
+        int[] nValues = {5, 10, 30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200}; //fast
+        //int[] nValues = {5, 10, 30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200, 1600, 2000, 2400}; //slow
+
+        DirectedGraphsComparison.run("Directed dense graphs", 0.7, nValues);
+    }
+}
@@ -0,0 +1,10 @@
+package lab_5.Mains.Directed;
+
+public class MainDirectedSparse {
+    public static void main(String[] args) {
+        int[] nValues = {5, 10, 30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200, 1600}; //fast
+        //int[] nValues = {5, 10, 30, 75, 150, 300, 400, 500, 600, 800, 1000, 1200, 1600, 2000, 2400, 3200}; //slow
+
+        DirectedGraphsComparison.run("Directed sparse graphs", 0.3, nValues);
+    }
+}
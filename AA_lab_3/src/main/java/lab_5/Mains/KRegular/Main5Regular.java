@@ -53,6 +53,7 @@ public class Main5Regular {
             Graph<String> graph = KRegularGraphGenerator.generateStringLabelKRegularGraph(nValues[i], k);
             WeightedGraph<String> weightedGraph = convertToWeightedGraph(graph);
             graphs[i] = weightedGraph;
+            AlgorithmsHelperLab5.prepareSnapshot(weightedGraph);
             System.out.println(nValues[i]);
         }
 